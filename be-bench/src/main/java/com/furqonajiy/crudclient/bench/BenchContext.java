@@ -0,0 +1,87 @@
+package com.furqonajiy.crudclient.bench;
+
+import com.furqonajiy.crudclient.MainApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The be-java application context on a private in-memory H2 database (PostgreSQL mode, schema from the
+ * entity mappings): without the web layer for JMH, or with it for the load test.
+ */
+public final class BenchContext {
+
+    private static final int SEED_BATCH = 10_000;
+    private static final String[] QUIET = {"--logging.level.root=WARN", "--logging.level.org.springframework=WARN",
+            "--logging.level.org.hibernate=WARN", "--logging.level.com.furqonajiy=WARN"};
+
+    private BenchContext() {
+    }
+
+    public static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(MainApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run(args(true));
+    }
+
+    /**
+     * The full application with its web server on a random port ({@code local.server.port}). On H2 unless
+     * {@code h2} is false, in which case application.yml's PostgreSQL settings (DB_URL etc.) apply.
+     */
+    public static ConfigurableApplicationContext startServer(boolean h2) {
+        var args = new ArrayList<>(List.of(args(h2)));
+        args.add("--server.port=0");
+        return new SpringApplicationBuilder(MainApplication.class)
+                .logStartupInfo(false)
+                .run(args.toArray(String[]::new));
+    }
+
+    /** Command-line arguments override the PostgreSQL settings in application.yml. */
+    private static String[] args(boolean h2) {
+        if (!h2) {
+            return QUIET;
+        }
+        var args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID()
+                        + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.flyway.enabled=false"));
+        args.addAll(List.of(QUIET));
+        return args.toArray(String[]::new);
+    }
+
+    /** Inserts {@code rows} clients with plain JDBC batches and moves the id sequence past them. */
+    public static void seed(ConfigurableApplicationContext ctx, int rows) {
+        var jdbc = ctx.getBean(JdbcTemplate.class);
+        var batch = new ArrayList<Object[]>(SEED_BATCH);
+        for (int i = 1; i <= rows; i++) {
+            batch.add(row(i));
+            if (batch.size() == SEED_BATCH || i == rows) {
+                insert(jdbc, batch);
+                batch.clear();
+            }
+        }
+        jdbc.execute("alter sequence public.clients_seq restart with " + (rows + 1));
+    }
+
+    private static Object[] row(int i) {
+        return new Object[]{(long) i, "Client Number " + i, "Client " + i, "client" + i + "@example.com",
+                "Seeded row " + i + " for benchmarks", i % 2 == 0, "City " + (i % 100), i % 3 == 0 ? "Germany" : "Netherlands"};
+    }
+
+    private static void insert(JdbcTemplate jdbc, List<Object[]> batch) {
+        jdbc.batchUpdate("""
+                insert into public.clients (id, full_name, display_name, email, details, active, location, country, version)
+                values (?, ?, ?, ?, ?, ?, ?, ?, 0)
+                """, batch);
+    }
+}
@@ -0,0 +1,109 @@
+package com.furqonajiy.crudclient.bench;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.furqonajiy.crudclient.model.ClientDto;
+import com.furqonajiy.crudclient.model.ClientResponse;
+import com.furqonajiy.crudclient.model.CreateClientRequest;
+import com.furqonajiy.crudclient.service.WireFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Jackson encoding and decoding of the {@code GET /api/v1/clients} body and a {@code POST /bulk} body,
+ * with the application's mapper settings, in each {@link WireFormat}. Payload sizes, raw and gzipped,
+ * are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+    private static final TypeReference<List<CreateClientRequest>> BULK = new TypeReference<>() {};
+
+    @Param({"1000", "100000"})
+    int rows;
+
+    @Param({"json", "cbor", "smile"})
+    String format;
+
+    private ObjectMapper mapper;
+    private ClientResponse response;
+    private List<CreateClientRequest> bulk;
+    private byte[] responseBytes;
+    private byte[] bulkBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        // spring.jackson.default-property-inclusion: non_null
+        var json = Jackson2ObjectMapperBuilder.json().serializationInclusion(JsonInclude.Include.NON_NULL).build();
+        var wire = WireFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        mapper = wire.mapper(json);
+        var clients = new ArrayList<ClientDto>(rows);
+        bulk = new ArrayList<>(rows);
+        for (long i = 1; i <= rows; i++) {
+            var details = i % 4 == 0 ? null : "Some details about client " + i;
+            clients.add(new ClientDto(i, "Client Number " + i, "Client " + i, "client" + i + "@example.com",
+                    details, i % 2 == 0, "City " + (i % 100), "Netherlands"));
+            var req = new CreateClientRequest();
+            req.setFullName("Client Number " + i); req.setDisplayName("Client " + i);
+            req.setEmail("client" + i + "@example.com"); req.setDetails(details);
+            req.setActive(i % 2 == 0); req.setLocation("City " + (i % 100)); req.setCountry("Netherlands");
+            bulk.add(req);
+        }
+        response = new ClientResponse(clients);
+        responseBytes = mapper.writeValueAsBytes(response);
+        bulkBytes = mapper.writeValueAsBytes(bulk);
+        System.out.printf("%n%s, %d rows: list %d bytes (%d gzipped), bulk %d bytes (%d gzipped)%n",
+                wire, rows, responseBytes.length, gzipSize(responseBytes), bulkBytes.length, gzipSize(bulkBytes));
+    }
+
+    private static int gzipSize(byte[] bytes) throws IOException {
+        var out = new ByteArrayOutputStream(bytes.length / 4);
+        try (var gz = new GZIPOutputStream(out)) {
+            gz.write(bytes);
+        }
+        return out.size();
+    }
+
+    @Benchmark
+    public byte[] writeClientResponse() throws Exception {
+        return mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public ClientResponse readClientResponse() throws Exception {
+        return mapper.readValue(responseBytes, ClientResponse.class);
+    }
+
+    @Benchmark
+    public byte[] writeBulkRequest() throws Exception {
+        return mapper.writeValueAsBytes(bulk);
+    }
+
+    @Benchmark
+    public List<CreateClientRequest> readBulkRequest() throws Exception {
+        return mapper.readValue(bulkBytes, BULK);
+    }
+}
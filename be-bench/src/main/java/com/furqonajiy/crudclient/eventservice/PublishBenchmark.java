@@ -0,0 +1,91 @@
+package com.furqonajiy.crudclient.eventservice;
+
+import com.furqonajiy.crudclient.config.ClientProperties;
+import com.furqonajiy.crudclient.model.ClientDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * {@link ClientEventService#publish} fanning out to 1, 100 and 1000 subscribers, with coalescing off so every
+ * call broadcasts. Subscribers drain on their virtual threads into emitters that build each frame and drop it,
+ * so this measures the publisher's cost and not a network.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PublishBenchmark {
+
+    @Param({"1", "100", "1000"})
+    int emitters;
+
+    private ClientEventService service;
+    private final LongAdder sent = new LongAdder();
+    private ClientEvent event;
+
+    @Setup
+    public void setUp() {
+        var props = new ClientProperties();
+        props.getEvents().setCoalesceWindow(Duration.ZERO);
+        props.getEvents().setHeartbeatInterval(Duration.ZERO);
+        service = new ClientEventService(props, new ClientEventBus() {
+            @Override
+            public void publish(ClientEvent e) {
+            }
+
+            @Override
+            public void listen(Consumer<ClientEvent> handler) {
+            }
+        }, new SimpleMeterRegistry());
+        for (int i = 0; i < emitters; i++) {
+            service.register(new DiscardingEmitter(sent), null);
+        }
+        event = ClientEvent.updated(new ClientDto(42L, "Client Number 42", "Client 42", "client42@example.com",
+                "details", true, "Amsterdam", "Netherlands"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        service.shutdown();
+    }
+
+    @Benchmark
+    public void publish() {
+        service.publish(event);
+    }
+
+    /** Builds every frame like a real emitter would, then discards it. */
+    static final class DiscardingEmitter extends SseEmitter {
+        private final LongAdder sent;
+
+        DiscardingEmitter(LongAdder sent) {
+            super(0L);
+            this.sent = sent;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            builder.build();
+            sent.increment();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.furqonajiy.crudclient.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation latency histograms, in microseconds. Failed requests are counted, but their latency is
+ * left out of the histograms.
+ */
+final class LatencyReport {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private long startMillis;
+
+    LatencyReport() {
+        for (var op : Operation.values()) {
+            recorders.put(op, new Recorder(3));
+            errors.put(op, new LongAdder());
+        }
+    }
+
+    /** Marks the end of the warmup: everything recorded so far is dropped. */
+    void reset() {
+        recorders.values().forEach(Recorder::reset);
+        errors.values().forEach(LongAdder::reset);
+        startMillis = System.currentTimeMillis();
+    }
+
+    void record(Operation op, long nanos, boolean failed) {
+        if (failed) {
+            errors.get(op).increment();
+        } else {
+            recorders.get(op).recordValue(Math.max(1, nanos / 1000));
+        }
+    }
+
+    /**
+     * Prints the summary table and writes {@code summary.txt}, one {@code <operation>.hgrm} percentile
+     * distribution per operation, and {@code latency.hlog} (HdrHistogram log, one tagged entry per operation).
+     */
+    void write(Path dir, Duration measured, SseClients sse) throws IOException {
+        var endMillis = System.currentTimeMillis();
+        var histograms = new EnumMap<Operation, Histogram>(Operation.class);
+        recorders.forEach((op, r) -> histograms.put(op, r.getIntervalHistogram()));
+
+        Files.createDirectories(dir);
+        var table = new StringBuilder();
+        var seconds = measured.toMillis() / 1000.0;
+        table.append(String.format(Locale.ROOT, "%-8s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "op", "count", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms"));
+        var total = new Histogram(3);
+        long totalErrors = 0;
+        for (var e : histograms.entrySet()) {
+            var h = e.getValue();
+            var err = errors.get(e.getKey()).sum();
+            if (h.getTotalCount() == 0 && err == 0) {
+                continue;
+            }
+            total.add(h);
+            totalErrors += err;
+            row(table, e.getKey().name().toLowerCase(Locale.ROOT), h, err, seconds);
+            try (var out = new PrintStream(dir.resolve(e.getKey().name().toLowerCase(Locale.ROOT) + ".hgrm").toFile())) {
+                h.outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+        row(table, "total", total, totalErrors, seconds);
+        table.append(String.format(Locale.ROOT, "sse: %d of %d connections open, %d events received%n",
+                sse.connected(), sse.requested(), sse.events()));
+
+        System.out.print(table);
+        Files.writeString(dir.resolve("summary.txt"), table);
+        try (var log = new PrintStream(dir.resolve("latency.hlog").toFile())) {
+            var writer = new HistogramLogWriter(log);
+            writer.outputComment("Latency per operation in microseconds");
+            writer.outputLogFormatVersion();
+            writer.outputStartTime(startMillis);
+            writer.outputLegend();
+            histograms.forEach((op, h) -> {
+                h.setTag(op.name().toLowerCase(Locale.ROOT));
+                h.setStartTimeStamp(startMillis);
+                h.setEndTimeStamp(endMillis);
+                writer.outputIntervalHistogram(h);
+            });
+        }
+    }
+
+    private static void row(StringBuilder table, String name, Histogram h, long errors, double seconds) {
+        table.append(String.format(Locale.ROOT, "%-8s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, h.getTotalCount(), errors, (h.getTotalCount() + errors) / seconds,
+                ms(h, 50), ms(h, 95), ms(h, 99), ms(h, 99.9), h.getMaxValue() / MICROS_PER_MILLI));
+    }
+
+    private static double ms(Histogram h, double percentile) {
+        return h.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+}
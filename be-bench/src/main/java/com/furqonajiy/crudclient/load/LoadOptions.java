@@ -0,0 +1,76 @@
+package com.furqonajiy.crudclient.load;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Command-line options of {@link LoadTest}, each given as {@code --name=value}.
+ *
+ * @param target      base URL of a running instance; null boots be-java in this JVM
+ * @param h2          when booting, use in-memory H2 instead of application.yml's PostgreSQL ({@code --db=h2|postgres})
+ * @param seed        clients created through the API before the run
+ * @param concurrency request loops, one virtual thread each
+ * @param rate        total requests per second for an open-loop run; 0 runs closed-loop as fast as possible
+ * @param sse         SSE connections held open during the run
+ * @param warmup      time whose samples are discarded
+ * @param duration    measured time after the warmup
+ * @param mix         relative weight of each operation ({@code --mix=get:50,create:10,...})
+ * @param out         directory for the summary and histogram files
+ */
+record LoadOptions(URI target, boolean h2, int seed, int concurrency, double rate, int sse,
+                   Duration warmup, Duration duration, Map<Operation, Integer> mix, Path out) {
+
+    static final String DEFAULT_MIX = "list:5,page:25,search:20,get:20,create:10,update:10,patch:5,delete:5";
+
+    static LoadOptions parse(String[] args) {
+        var kv = new HashMap<String, String>();
+        for (var arg : args) {
+            var eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            kv.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        var target = kv.remove("target");
+        var options = new LoadOptions(
+                target == null || target.isBlank() ? null : URI.create(target.endsWith("/") ? target : target + "/"),
+                !"postgres".equalsIgnoreCase(kv.getOrDefault("db", "h2").trim()),
+                Integer.parseInt(kv.getOrDefault("seed", "10000")),
+                Integer.parseInt(kv.getOrDefault("concurrency", "64")),
+                Double.parseDouble(kv.getOrDefault("rate", "0")),
+                Integer.parseInt(kv.getOrDefault("sse", "100")),
+                Duration.parse("PT" + kv.getOrDefault("warmup", "10s")),
+                Duration.parse("PT" + kv.getOrDefault("duration", "30s")),
+                parseMix(kv.getOrDefault("mix", DEFAULT_MIX)),
+                Path.of(kv.getOrDefault("out", "target/load")));
+        kv.keySet().removeAll(Set.of("db", "seed", "concurrency", "rate", "sse", "warmup", "duration", "mix", "out"));
+        if (!kv.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + kv.keySet());
+        }
+        return options;
+    }
+
+    static Map<Operation, Integer> parseMix(String mix) {
+        var out = new EnumMap<Operation, Integer>(Operation.class);
+        for (var part : mix.split(",")) {
+            var p = part.trim().split(":");
+            if (p.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight in --mix, got: " + part);
+            }
+            var weight = Integer.parseInt(p[1].trim());
+            if (weight > 0) {
+                out.put(Operation.valueOf(p[0].trim().toUpperCase(Locale.ROOT)), weight);
+            }
+        }
+        if (out.isEmpty()) {
+            throw new IllegalArgumentException("--mix selects no operation: " + mix);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,175 @@
+package com.furqonajiy.crudclient.load;
+
+import com.furqonajiy.crudclient.bench.BenchContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Pattern;
+
+/**
+ * HTTP load generator for {@code /api/v1/clients}. It boots be-java in this JVM, or targets a running
+ * instance with {@code --target}, then seeds clients through the API and opens the SSE connections.
+ * After that, {@code --concurrency} virtual threads replay the {@code --mix} of operations until the
+ * warmup and the measured duration have passed.
+ * <p>
+ * With {@code --rate} each loop sends on a fixed schedule and latency is measured from the scheduled
+ * start. A stalled server then shows up in the percentiles, instead of just slowing the senders down
+ * (coordinated omission). Without {@code --rate} the loops send back to back.
+ * <p>
+ * Run with {@code mvn -B -pl be-bench -am -DskipTests -Pload verify "-Dload.args=--duration=60s --sse=500"}.
+ */
+@Slf4j
+public final class LoadTest {
+
+    private static final int SEED_CHUNK = 1000;
+    /** Operations whose first failure was logged; later ones are only counted. */
+    private static final Set<Operation> FIRST_FAILURES = ConcurrentHashMap.newKeySet();
+    private static final Pattern ROW_ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        var opt = LoadOptions.parse(args);
+        ConfigurableApplicationContext ctx = null;
+        var base = opt.target();
+        if (base == null) {
+            ctx = BenchContext.startServer(opt.h2());
+            base = URI.create("http://localhost:" + ctx.getEnvironment().getProperty("local.server.port") + "/");
+        }
+        try (var http = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build()) {
+            var workload = new Workload(base);
+            seed(http, workload, opt.seed());
+            try (var sse = new SseClients(http, workload.uri("events"), opt.sse())) {
+                sse.open();
+                var report = run(http, workload, opt);
+                report.write(opt.out(), opt.duration(), sse);
+            }
+        } finally {
+            if (ctx != null) {
+                ctx.close();
+            }
+        }
+        System.exit(0);
+    }
+
+    /** Creates {@code rows} clients in bulk requests; with 0, reuses the first page of what is there. */
+    private static void seed(HttpClient http, Workload w, int rows) throws IOException, InterruptedException {
+        var ids = new ArrayList<Long>(rows);
+        if (rows == 0) {
+            var body = http.send(w.get("page?size=500"), BodyHandlers.ofString()).body();
+            ROW_ID.matcher(body).results().forEach(m -> ids.add(Long.parseLong(m.group(1))));
+        }
+        for (int done = 0; done < rows; done += SEED_CHUNK) {
+            var batch = new StringBuilder("[");
+            for (int i = 0; i < Math.min(SEED_CHUNK, rows - done); i++) {
+                batch.append(i == 0 ? "" : ",").append(w.newClientJson());
+            }
+            var req = w.builder("bulk")
+                    .header("Content-Type", "application/json")
+                    .header("Prefer", "return=minimal")
+                    .POST(BodyPublishers.ofString(batch.append(']').toString()))
+                    .build();
+            var res = http.send(req, BodyHandlers.ofString());
+            if (res.statusCode() != 200 && res.statusCode() != 201) {
+                throw new IllegalStateException("Seeding failed with " + res.statusCode() + ": " + res.body());
+            }
+            for (var id : Workload.ids(res.body())) {
+                ids.add(id);
+            }
+        }
+        w.seeded(ids.stream().mapToLong(Long::longValue).toArray());
+        log.info("Load test against {} with {} clients", w.api(), ids.size());
+    }
+
+    private static LatencyReport run(HttpClient http, Workload w, LoadOptions opt) throws InterruptedException {
+        var report = new LatencyReport();
+        var ops = picker(opt.mix());
+        var start = System.nanoTime();
+        var measureFrom = start + opt.warmup().toNanos();
+        var end = measureFrom + opt.duration().toNanos();
+        var interval = opt.rate() > 0 ? (long) (opt.concurrency() * 1e9 / opt.rate()) : 0L;
+
+        var resetter = Thread.ofVirtual().start(() -> {
+            LockSupport.parkNanos(measureFrom - System.nanoTime());
+            report.reset();
+        });
+        try (var loops = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < opt.concurrency(); i++) {
+                loops.submit(() -> loop(http, w, ops, report, interval, measureFrom, end));
+            }
+        }
+        resetter.join();
+        return report;
+    }
+
+    private static Void loop(HttpClient http, Workload w, Operation[] ops, LatencyReport report,
+                             long interval, long measureFrom, long end) throws InterruptedException {
+        var random = ThreadLocalRandom.current();
+        var next = System.nanoTime() + (interval > 0 ? random.nextLong(interval) : 0);
+        while (true) {
+            long scheduled;
+            if (interval > 0) {
+                LockSupport.parkNanos(next - System.nanoTime());
+                scheduled = next;
+                next += interval;
+            } else {
+                scheduled = System.nanoTime();
+            }
+            if (scheduled >= end) {
+                return null;
+            }
+            var op = ops[random.nextInt(ops.length)];
+            var req = op.request(w);
+            if (req == null) {
+                continue;
+            }
+            int status;
+            String body;
+            try {
+                var res = http.send(req, BodyHandlers.ofString());
+                status = res.statusCode();
+                body = res.body();
+            } catch (IOException e) {
+                status = -1;
+                body = "";
+            }
+            var latency = System.nanoTime() - scheduled;
+            op.completed(w, status, body);
+            var failed = status < 0 || op.isError(status);
+            if (failed && FIRST_FAILURES.add(op)) {
+                log.warn("{} failed with {}: {}", op, status, body.length() > 300 ? body.substring(0, 300) : body);
+            }
+            if (scheduled >= measureFrom) {
+                report.record(op, latency, failed);
+            }
+        }
+    }
+
+    /** Each operation repeated by its weight, so a uniform pick follows the mix. */
+    private static Operation[] picker(Map<Operation, Integer> mix) {
+        var out = new ArrayList<Operation>();
+        mix.forEach((op, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                out.add(op);
+            }
+        });
+        return out.toArray(Operation[]::new);
+    }
+}
@@ -0,0 +1,85 @@
+package com.furqonajiy.crudclient.load;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One kind of request against {@code /api/v1/clients}. Writes ask for {@code Prefer: return=minimal}, so
+ * their latency is the write itself and not a snapshot of the whole table.
+ */
+enum Operation {
+
+    LIST {
+        @Override
+        HttpRequest request(Workload w) {
+            return w.get("");
+        }
+    },
+    PAGE {
+        @Override
+        HttpRequest request(Workload w) {
+            return w.get("page?size=50&country=" + w.randomCountry());
+        }
+    },
+    SEARCH {
+        @Override
+        HttpRequest request(Workload w) {
+            return w.get("search?size=20&q=client+" + ThreadLocalRandom.current().nextInt(1, 1000));
+        }
+    },
+    GET {
+        @Override
+        HttpRequest request(Workload w) {
+            return w.get(Long.toString(w.randomId()));
+        }
+    },
+    CREATE {
+        @Override
+        HttpRequest request(Workload w) {
+            return w.json("", "POST", w.newClientJson());
+        }
+
+        @Override
+        void completed(Workload w, int status, String body) {
+            if (status == 200 || status == 201) {
+                w.created(body);
+            }
+        }
+    },
+    UPDATE {
+        @Override
+        HttpRequest request(Workload w) {
+            return w.json("", "PUT", "{\"id\":" + w.randomId() + ",\"location\":\"" + w.randomCity() + "\"}");
+        }
+    },
+    PATCH {
+        @Override
+        HttpRequest request(Workload w) {
+            return w.builder(Long.toString(w.randomId()))
+                    .header("Content-Type", "application/merge-patch+json")
+                    .method("PATCH", BodyPublishers.ofString("{\"active\":" + ThreadLocalRandom.current().nextBoolean() + "}"))
+                    .build();
+        }
+    },
+    /** Deletes a client this run created, so the seeded rows that reads hit stay put. */
+    DELETE {
+        @Override
+        HttpRequest request(Workload w) {
+            var id = w.takeCreated();
+            return id == null ? null : w.json("", "DELETE", "{\"ids\":[" + id + "]}");
+        }
+    };
+
+    /** The request to send, or null when the operation has nothing to work on right now. */
+    abstract HttpRequest request(Workload w);
+
+    /** Called with every response, so writes can update the workload's view of the data. */
+    void completed(Workload w, int status, String body) {
+    }
+
+    /** A 404 on a row deleted meanwhile, or a 409/412 on a concurrent write, is expected under load. */
+    boolean isError(int status) {
+        return status >= 500 || (status >= 400 && status != 404 && status != 409 && status != 412);
+    }
+}
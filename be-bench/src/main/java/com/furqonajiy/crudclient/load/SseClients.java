@@ -0,0 +1,82 @@
+package com.furqonajiy.crudclient.load;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/** Holds SSE connections to {@code /events} open for the whole run and counts the events they receive. */
+@Slf4j
+final class SseClients implements AutoCloseable {
+
+    private final HttpClient http;
+    private final URI events;
+    private final int count;
+    private final LongAdder connected = new LongAdder();
+    private final LongAdder received = new LongAdder();
+    private final List<Stream<String>> streams = new CopyOnWriteArrayList<>();
+    private final List<Thread> readers = new CopyOnWriteArrayList<>();
+    private volatile boolean closed;
+
+    SseClients(HttpClient http, URI events, int count) {
+        this.http = http;
+        this.events = events;
+        this.count = count;
+    }
+
+    void open() {
+        for (int i = 0; i < count; i++) {
+            readers.add(Thread.ofVirtual().name("sse-client-" + i).start(this::read));
+        }
+    }
+
+    private void read() {
+        var req = HttpRequest.newBuilder(events).header("Accept", "text/event-stream").GET().build();
+        try {
+            var res = http.send(req, HttpResponse.BodyHandlers.ofLines());
+            if (res.statusCode() != 200) {
+                log.warn("SSE connection refused with {}", res.statusCode());
+                return;
+            }
+            connected.increment();
+            streams.add(res.body());
+            res.body().forEach(line -> {
+                if (line.startsWith("event:")) {
+                    received.increment();
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            if (!closed) {
+                log.warn("SSE connection failed: {}", e.toString());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    int requested() {
+        return count;
+    }
+
+    long connected() {
+        return connected.sum();
+    }
+
+    long events() {
+        return received.sum();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        streams.forEach(Stream::close);
+        readers.forEach(Thread::interrupt);
+    }
+}
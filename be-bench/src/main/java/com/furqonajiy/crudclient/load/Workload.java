@@ -0,0 +1,103 @@
+package com.furqonajiy.crudclient.load;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/** What the request loops share: the API base URL, the seeded id range and the ids this run created. */
+final class Workload {
+
+    private static final List<String> COUNTRIES = List.of("Netherlands", "Germany", "Belgium", "France");
+    private static final Pattern IDS = Pattern.compile("\"ids\"\\s*:\\s*\\[(\\d+)");
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI api;
+    /** Distinguishes emails from earlier runs against the same database. */
+    private final String runTag = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentLinkedQueue<Long> created = new ConcurrentLinkedQueue<>();
+    private volatile long[] seededIds = new long[0];
+
+    Workload(URI base) {
+        this.api = base.resolve("api/v1/clients");
+    }
+
+    URI api() {
+        return api;
+    }
+
+    void seeded(long[] ids) {
+        this.seededIds = ids;
+    }
+
+    /** {@code /api/v1/clients} itself for an empty path, else {@code /api/v1/clients/<path>}. */
+    URI uri(String path) {
+        return path.isEmpty() ? api : URI.create(api + "/" + path);
+    }
+
+    HttpRequest.Builder builder(String path) {
+        return HttpRequest.newBuilder(uri(path)).timeout(TIMEOUT);
+    }
+
+    HttpRequest get(String path) {
+        return builder(path).GET().build();
+    }
+
+    HttpRequest json(String path, String method, String body) {
+        return builder(path)
+                .header("Content-Type", "application/json")
+                .header("Prefer", "return=minimal")
+                .method(method, BodyPublishers.ofString(body))
+                .build();
+    }
+
+    String newClientJson() {
+        var n = sequence.incrementAndGet();
+        return "{\"fullName\":\"Load Client " + n + "\",\"displayName\":\"Load " + n + "\",\"email\":\"load-" + runTag + "-" + n
+                + "@example.com\",\"active\":true,\"location\":\"" + randomCity() + "\",\"country\":\"" + randomCountry() + "\"}";
+    }
+
+    long randomId() {
+        var ids = seededIds;
+        return ids.length == 0 ? 1 : ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    String randomCountry() {
+        return COUNTRIES.get(ThreadLocalRandom.current().nextInt(COUNTRIES.size()));
+    }
+
+    String randomCity() {
+        return "City " + ThreadLocalRandom.current().nextInt(100);
+    }
+
+    /** Remembers the id from a {@code return=minimal} create response. */
+    void created(String body) {
+        var m = IDS.matcher(body);
+        if (m.find()) {
+            created.add(Long.parseLong(m.group(1)));
+        }
+    }
+
+    Long takeCreated() {
+        return created.poll();
+    }
+
+    /** Ids in a {@code {"ids":[...]}} response body. */
+    static long[] ids(String body) {
+        var start = body.indexOf('[');
+        var end = body.indexOf(']', start);
+        if (start < 0 || end <= start + 1) {
+            return new long[0];
+        }
+        return Arrays.stream(body.substring(start + 1, end).split(","))
+                .mapToLong(s -> Long.parseLong(s.trim()))
+                .toArray();
+    }
+}
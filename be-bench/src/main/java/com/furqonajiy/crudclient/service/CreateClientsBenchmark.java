@@ -0,0 +1,71 @@
+package com.furqonajiy.crudclient.service;
+
+import com.furqonajiy.crudclient.bench.BenchContext;
+import com.furqonajiy.crudclient.model.ClientDto;
+import com.furqonajiy.crudclient.model.CreateClientRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The insert path of {@code POST /api/v1/clients/bulk}: {@code createClientsAndReturn}, with validation,
+ * email normalization, pooled ids, JDBC batching and the change event. The snapshot that the default
+ * response mode appends is measured by {@link SnapshotBenchmark}, since here it would grow with every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class CreateClientsBenchmark {
+
+    @Param({"100", "1000"})
+    int batchSize;
+
+    private ConfigurableApplicationContext ctx;
+    private ClientService service;
+    private long next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ctx = BenchContext.start();
+        service = ctx.getBean(ClientService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ctx.close();
+    }
+
+    @Benchmark
+    public List<ClientDto> createClients() {
+        var reqs = new ArrayList<CreateClientRequest>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            long n = next++;
+            var r = new CreateClientRequest();
+            r.setFullName("Bench Client " + n);
+            r.setDisplayName("Bench " + n);
+            r.setEmail("bench" + n + "@example.com");
+            r.setActive(true);
+            r.setCountry("Netherlands");
+            reqs.add(r);
+        }
+        return service.createClientsAndReturn(reqs);
+    }
+}
@@ -0,0 +1,68 @@
+package com.furqonajiy.crudclient.service;
+
+import com.furqonajiy.crudclient.bench.BenchContext;
+import com.furqonajiy.crudclient.model.ClientDto;
+import com.furqonajiy.crudclient.model.ClientResponse;
+import com.furqonajiy.crudclient.repository.ClientEntity;
+import com.furqonajiy.crudclient.repository.ClientRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The full-list read behind {@code GET /api/v1/clients}: {@code getAllClients()} loads every entity and maps it
+ * with {@link ClientService#toDto}. {@code toDto} is also measured on its own, over entities loaded once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class SnapshotBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    int rows;
+
+    private ConfigurableApplicationContext ctx;
+    private ClientService service;
+    private List<ClientEntity> entities;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ctx = BenchContext.start();
+        BenchContext.seed(ctx, rows);
+        service = ctx.getBean(ClientService.class);
+        entities = ctx.getBean(ClientRepository.class).findAll(Sort.by("id"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ctx.close();
+    }
+
+    @Benchmark
+    public ClientResponse snapshot() {
+        return service.getAllClients();
+    }
+
+    @Benchmark
+    public List<ClientDto> toDto() {
+        return entities.stream().map(ClientService::toDto).toList();
+    }
+}
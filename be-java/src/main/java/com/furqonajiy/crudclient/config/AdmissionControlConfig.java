@@ -0,0 +1,54 @@
+package com.furqonajiy.crudclient.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Puts an {@link AdmissionControlDataSource} in front of the application's DataSource when
+ * {@code clients.db-admission.enabled} is true (by default whenever virtual threads are on).
+ * <p>
+ * Meters go to Micrometer's global registry, which Spring Boot links to its own registry. Injecting the
+ * registry here would create a cycle, because the registry's DataSource pool metrics depend on this bean.
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "clients.db-admission", name = "enabled", havingValue = "true")
+public class AdmissionControlConfig {
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    static BeanPostProcessor admissionControlDataSourcePostProcessor(Environment env) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource ds) || bean instanceof AdmissionControlDataSource) {
+                    return bean;
+                }
+                var cfg = Binder.get(env).bind("clients.db-admission", ClientProperties.DbAdmission.class)
+                        .orElseGet(ClientProperties.DbAdmission::new);
+                int permits = cfg.getMaxConcurrent() > 0 ? cfg.getMaxConcurrent() : poolSize(ds);
+                log.info("Database admission control on '{}': {} concurrent connections, max wait {}",
+                        beanName, permits, cfg.getMaxWait());
+                return new AdmissionControlDataSource(ds, permits, cfg.getMaxWait(), Metrics.globalRegistry);
+            }
+        };
+    }
+
+    /** Hikari leaves an unset maximum at -1 until the pool starts, then applies its default of 10. */
+    private static int poolSize(DataSource ds) {
+        if (ds instanceof HikariDataSource hikari && hikari.getMaximumPoolSize() > 0) {
+            return hikari.getMaximumPoolSize();
+        }
+        return DEFAULT_POOL_SIZE;
+    }
+}
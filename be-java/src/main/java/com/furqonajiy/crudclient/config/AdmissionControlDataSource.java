@@ -0,0 +1,138 @@
+package com.furqonajiy.crudclient.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lets at most {@code permits} connections out of the wrapped pool at a time. Further callers wait in a
+ * fair (FIFO) queue for up to {@code maxWait}, then get a {@link SQLTransientConnectionException}.
+ * <p>
+ * With virtual threads thousands of requests can reach the database layer at once. Parked on this
+ * semaphore they cost almost nothing, instead of all spinning on the pool's hand-off queue and timing
+ * out together. The permit is returned when the connection is closed.
+ * <p>
+ * Meters: {@code clients.db.admission.wait} (time spent waiting for a permit, including timeouts,
+ * tagged {@code outcome}), {@code clients.db.admission.waiting} and {@code clients.db.admission.active}.
+ */
+public class AdmissionControlDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxPermits;
+    private final long maxWaitNanos;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Timer acquired;
+    private final Timer timedOut;
+
+    public AdmissionControlDataSource(DataSource target, int permits, Duration maxWait, MeterRegistry registry) {
+        super(target);
+        if (permits <= 0) {
+            throw new IllegalArgumentException("permits must be positive: " + permits);
+        }
+        this.permits = new Semaphore(permits, true);
+        this.maxPermits = permits;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.acquired = waitTimer(registry, "acquired");
+        this.timedOut = waitTimer(registry, "timeout");
+        Gauge.builder("clients.db.admission.waiting", waiting, AtomicInteger::get)
+                .description("Callers queued for a database connection slot")
+                .register(registry);
+        Gauge.builder("clients.db.admission.active", this, ds -> ds.maxPermits - ds.permits.availablePermits())
+                .description("Database connections currently handed out")
+                .register(registry);
+    }
+
+    private static Timer waitTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("clients.db.admission.wait")
+                .description("Time spent waiting for a database connection slot")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return releaseOnClose(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return releaseOnClose(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    private void acquire() throws SQLException {
+        long start = System.nanoTime();
+        waiting.incrementAndGet();
+        boolean ok;
+        try {
+            ok = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection slot", e);
+        } finally {
+            waiting.decrementAndGet();
+        }
+        long waited = System.nanoTime() - start;
+        if (!ok) {
+            timedOut.record(waited, TimeUnit.NANOSECONDS);
+            throw new SQLTransientConnectionException("No database connection slot free after "
+                    + TimeUnit.NANOSECONDS.toMillis(waited) + " ms (" + maxPermits + " in use)");
+        }
+        acquired.record(waited, TimeUnit.NANOSECONDS);
+    }
+
+    /** Wraps {@code con} so that its first {@code close()} hands the permit back. */
+    private Connection releaseOnClose(Connection con) {
+        var released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && method.getParameterCount() == 0) {
+                        try {
+                            con.close();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                permits.release();
+                            }
+                        }
+                        return null;
+                    }
+                    if (method.getName().equals("unwrap") && args[0] == Connection.class) {
+                        return proxy;
+                    }
+                    try {
+                        return method.invoke(con, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
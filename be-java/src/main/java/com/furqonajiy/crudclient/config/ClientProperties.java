@@ -0,0 +1,95 @@
+package com.furqonajiy.crudclient.config;
+
+import com.furqonajiy.crudclient.eventservice.SlowConsumerPolicy;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/** Tunables under the {@code clients.*} prefix. */
+@Data
+@ConfigurationProperties(prefix = "clients")
+public class ClientProperties {
+
+    private Page page = new Page();
+    private BulkImport bulkImport = new BulkImport();
+    private BulkUpdate bulkUpdate = new BulkUpdate();
+    private BulkDelete bulkDelete = new BulkDelete();
+    private Upsert upsert = new Upsert();
+    private Events events = new Events();
+    private Search search = new Search();
+    private DbAdmission dbAdmission = new DbAdmission();
+
+    @Data
+    public static class Page {
+        /** Page size used when the caller does not ask for one. */
+        private int defaultSize = 50;
+        /** Upper bound for a requested page size. */
+        private int maxSize = 500;
+    }
+
+    @Data
+    public static class BulkImport {
+        /** Rows committed per transaction during a file import. */
+        private int chunkSize = 500;
+        /** Row errors listed in the report; further failures are only counted. */
+        private int maxReportedErrors = 1000;
+        /** Largest uncompressed XLSX shared-strings part accepted; POI holds that part in memory while reading. */
+        private long maxSharedStringsBytes = 64L * 1024 * 1024;
+    }
+
+    @Data
+    public static class BulkUpdate {
+        /** Items accepted by one {@code PUT /bulk} request. */
+        private int maxItems = 50_000;
+        /** Items setting identical values are written with one set-based UPDATE from this many on. */
+        private int setBasedMinRows = 20;
+    }
+
+    @Data
+    public static class BulkDelete {
+        /** Rows removed per transaction by a filtered delete; bounds how long row locks are held. */
+        private int chunkSize = 1000;
+    }
+
+    @Data
+    public static class Upsert {
+        /** Rows per INSERT ... ON CONFLICT statement (8 bind parameters each; PostgreSQL allows 65535). */
+        private int batchSize = 500;
+    }
+
+    @Data
+    public static class Events {
+        /** Frames buffered per SSE subscriber before the slow-consumer policy kicks in. */
+        private int queueCapacity = 256;
+        private SlowConsumerPolicy slowConsumerPolicy = SlowConsumerPolicy.DROP_OLDEST;
+        /** Comment frame sent on idle connections to detect dead ones; 0 disables. */
+        private Duration heartbeatInterval = Duration.ofSeconds(15);
+        /** Recent events kept for Last-Event-ID replay; older gaps get a RESYNC instead. */
+        private int replayBufferSize = 1024;
+        /** Events published within this window go out as one BATCH frame; 0 sends each immediately. */
+        private Duration coalesceWindow = Duration.ofMillis(25);
+        /** How events reach other nodes: in-process (single node) or postgres (LISTEN/NOTIFY). */
+        private Bus bus = Bus.IN_PROCESS;
+    }
+
+    @Data
+    public static class Search {
+        /** Leading characters of {@code details} put into the in-memory search index; 0 leaves details out. */
+        private int detailsMaxChars = 256;
+    }
+
+    @Data
+    public static class DbAdmission {
+        /** Queue callers for a connection slot in front of the pool; see {@code AdmissionControlDataSource}. */
+        private boolean enabled = false;
+        /** Connections handed out at once; 0 means the Hikari maximum pool size. */
+        private int maxConcurrent = 0;
+        /** How long a caller may queue before the request fails with 503. */
+        private Duration maxWait = Duration.ofSeconds(30);
+    }
+
+    public enum Bus {
+        IN_PROCESS, POSTGRES
+    }
+}
@@ -1,11 +1,25 @@
 package com.furqonajiy.crudclient.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.furqonajiy.crudclient.service.WireFormat;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
+    private final ObjectMapper objectMapper;
+
+    public WebConfig(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/api/**")
@@ -13,6 +27,24 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
                 .allowCredentials(true)
-                .exposedHeaders("Content-Type");
+                .exposedHeaders("Content-Type", "ETag", "Preference-Applied");
+    }
+
+    /**
+     * CBOR and Smile bodies in and out of every endpoint. Spring's default converters for them build
+     * their own mappers and miss the application's Jackson settings, so they are swapped for ones
+     * derived from the JSON mapper and placed right after it; JSON stays the default.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(c -> c instanceof MappingJackson2CborHttpMessageConverter
+                || c instanceof MappingJackson2SmileHttpMessageConverter);
+        int json = 0;
+        while (json < converters.size() && !(converters.get(json) instanceof MappingJackson2HttpMessageConverter)) {
+            json++;
+        }
+        int at = Math.min(json + 1, converters.size());
+        converters.add(at, new MappingJackson2SmileHttpMessageConverter(WireFormat.SMILE.mapper(objectMapper)));
+        converters.add(at, new MappingJackson2CborHttpMessageConverter(WireFormat.CBOR.mapper(objectMapper)));
     }
-}
\ No newline at end of file
+}
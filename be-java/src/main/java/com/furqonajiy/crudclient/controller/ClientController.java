@@ -1,77 +1,314 @@
 package com.furqonajiy.crudclient.controller;
 
-import com.furqonajiy.crudclient.eventservice.ClientEvent;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.furqonajiy.crudclient.eventservice.ClientEventService;
 import com.furqonajiy.crudclient.model.*;
+import com.furqonajiy.crudclient.service.ClientExportService;
+import com.furqonajiy.crudclient.service.ClientImportService;
 import com.furqonajiy.crudclient.service.ClientService;
+import com.furqonajiy.crudclient.service.ClientSnapshotCache;
+import com.furqonajiy.crudclient.service.ExportFormat;
+import com.furqonajiy.crudclient.service.WireFormat;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.util.List;
+import java.util.Locale;
 
 @Slf4j
 @RestController
 @RequestMapping("/api/v1/clients")
 public class ClientController {
+    private static final String PREFER = "Prefer";
+    private static final String PREFERENCE_APPLIED = "Preference-Applied";
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
     private final ClientService service;
     private final ClientEventService eventService;
+    private final ClientSnapshotCache snapshotCache;
+    private final ClientExportService exportService;
+    private final ClientImportService importService;
 
-    public ClientController(ClientService service, ClientEventService eventService) {
+    public ClientController(ClientService service, ClientEventService eventService, ClientSnapshotCache snapshotCache,
+                            ClientExportService exportService, ClientImportService importService) {
         this.service = service;
         this.eventService = eventService;
+        this.snapshotCache = snapshotCache;
+        this.exportService = exportService;
+        this.importService = importService;
     }
 
+    /**
+     * Full list, served from the pre-serialized snapshot cache. Repeat polls with a matching
+     * {@code If-None-Match} get {@code 304} without touching the database. {@code fields} limits
+     * the columns read and returned, e.g. {@code fields=id,fullName,email,country}. {@code Accept:
+     * application/cbor} or {@code application/x-jackson-smile} gets the same body in that encoding.
+     * The gzip copy carries its own {@code ETag}.
+     */
     @GetMapping
-    public ClientResponse getAll() {
-        log.debug("Start Get All Clients API");
-        return service.getAllClients();
+    public ResponseEntity<byte[]> getAll(@RequestParam(name = "fields", required = false) String fields,
+                                         @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                         @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+                                         @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        var format = WireFormat.negotiate(accept);
+        log.debug("Start Get All Clients API ({}, {})", fields, format);
+        var snap = snapshotCache.get(fields, format);
+        var gzip = acceptsGzip(acceptEncoding);
+        if (snap.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snap.etag(gzip))
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        var res = ResponseEntity.ok()
+                .eTag(snap.etag(gzip))
+                .contentType(format.mediaType())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return res.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snap.gzip());
+        }
+        return res.body(snap.body());
+    }
+
+    /** Whether {@code Accept-Encoding} allows gzip: listed (or {@code *} without gzip listed) with q above 0. */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return false;
+        }
+        Double gzipQ = null;
+        Double anyQ = null;
+        for (var element : acceptEncoding.split(",")) {
+            var parts = element.split(";");
+            var coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1;
+            for (int i = 1; i < parts.length; i++) {
+                var param = parts[i].trim();
+                if (param.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        q = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzipQ = q;
+            } else if (coding.equals("*")) {
+                anyQ = q;
+            }
+        }
+        var q = gzipQ != null ? gzipQ : anyQ;
+        return q != null && q > 0;
+    }
+
+    @GetMapping("/page")
+    public ClientPageResponse getPage(@RequestParam(name = "cursor", required = false) String cursor,
+                                      @RequestParam(name = "size", required = false) Integer size,
+                                      @RequestParam(name = "country", required = false) String country,
+                                      @RequestParam(name = "active", required = false) Boolean active) {
+        log.debug("Start Get Clients Page API");
+        return service.getClientsPage(cursor, size, country, active);
+    }
+
+    /**
+     * Server-side filter/sort/page, so the browser no longer downloads the whole table to filter it.
+     * Parameters: country, active, q, prefix, match (prefix|contains), sort (field[,desc]), fields, page, size.
+     */
+    @GetMapping("/search")
+    public ClientSearchResponse search(@ModelAttribute ClientSearchRequest req) {
+        log.debug("Start Search Clients API ({})", req);
+        return service.searchClients(req);
+    }
+
+    /** One client; the {@code ETag} is its row version, for use as {@code If-Match} on PATCH. */
+    @GetMapping("/{id}")
+    public ResponseEntity<ClientDto> getOne(@PathVariable("id") long id,
+                                            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.debug("Start Get Client API ({})", id);
+        var found = service.getClient(id);
+        if (found.etag().equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(found.etag()).build();
+        }
+        return ResponseEntity.ok().eTag(found.etag()).body(found.client());
+    }
+
+    /**
+     * JSON Merge Patch of one client. With {@code If-Match} the patch only applies to that version
+     * ({@code 412} otherwise); a concurrent write that wins the race yields {@code 409}.
+     */
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ClientDto> patch(@PathVariable("id") long id,
+                                           @RequestBody JsonNode patch,
+                                           @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.debug("Start Patch Client API ({}, If-Match={})", id, ifMatch);
+        var patched = service.patchClient(id, patch, expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(patched.etag()).body(patched.client());
+    }
+
+    /** Version named by a single strong {@code If-Match} tag; null for none or {@code *}. */
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        var tag = ifMatch.trim();
+        // weak tags never match under If-Match's strong comparison
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // falls through to 412
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "If-Match does not name a client version: " + ifMatch);
+    }
+
+    /** Streams every client as NDJSON (default) or CSV without materializing the list. */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(name = "format", defaultValue = "ndjson") String format) {
+        log.debug("Start Export Clients API ({})", format);
+        var fmt = ExportFormat.from(format);
+        StreamingResponseBody body = out -> exportService.export(fmt, out);
+        return ResponseEntity.ok()
+                .contentType(fmt.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"clients." + fmt.extension() + "\"")
+                .body(body);
     }
 
     @PostMapping
-    @ResponseStatus(HttpStatus.CREATED)
-    public ClientResponse create(@Valid @RequestBody CreateClientRequest req) {
+    public ResponseEntity<Object> create(@Valid @RequestBody CreateClientRequest req,
+                                         @RequestHeader(name = PREFER, required = false) String prefer,
+                                         @RequestParam(name = "return", required = false) String returnMode) {
         log.debug("Start Create Client API");
-        ClientResponse res = service.createClient(req);
-        eventService.publish(ClientEvent.created(null, req.getDisplayName()));
-        return res;
+        var mode = ReturnPreference.resolve(prefer, returnMode);
+        Object res = switch (mode) {
+            case SNAPSHOT -> service.createClient(req);
+            case REPRESENTATION -> new ClientResponse(List.of(service.createClientAndReturn(req)));
+            case MINIMAL -> new ClientIdsResponse(List.of(service.createClientAndReturn(req).getId()));
+        };
+        return respond(HttpStatus.CREATED, mode, res);
     }
 
     @PostMapping("/bulk")
-    @ResponseStatus(HttpStatus.CREATED)
-    public ClientResponse bulkCreate(@Valid @RequestBody List<@Valid CreateClientRequest> reqs) {
+    public ResponseEntity<Object> bulkCreate(@Valid @RequestBody List<@Valid CreateClientRequest> reqs,
+                                             @RequestHeader(name = PREFER, required = false) String prefer,
+                                             @RequestParam(name = "return", required = false) String returnMode) {
         log.debug("Start Bulk Create Client API ({} items)", reqs.size());
-        var res = service.createClients(reqs);
+        var mode = ReturnPreference.resolve(prefer, returnMode);
+        Object res = switch (mode) {
+            case SNAPSHOT -> service.createClients(reqs);
+            case REPRESENTATION -> new ClientResponse(service.createClientsAndReturn(reqs));
+            case MINIMAL -> new ClientIdsResponse(ids(service.createClientsAndReturn(reqs)));
+        };
+        return respond(HttpStatus.CREATED, mode, res);
+    }
+
+    /**
+     * Creates or updates by email in batched {@code INSERT ... ON CONFLICT} statements; an existing email
+     * updates that client instead of failing the request. Returns inserted/updated/unchanged counts.
+     */
+    @PostMapping("/upsert")
+    public UpsertReport upsert(@Valid @RequestBody List<@Valid CreateClientRequest> reqs) {
+        log.debug("Start Upsert Clients API ({} items)", reqs.size());
+        return service.upsertClients(reqs);
+    }
 
-        eventService.publish(ClientEvent.created(null, reqs.getFirst().getDisplayName()));
-        return res;
+    /**
+     * Server-side import of a CSV or XLSX upload (same columns as the Angular template).
+     * Valid rows are committed in chunks; invalid ones are listed in the report. The part is moved to a
+     * temp file, which for an upload the container already spooled to disk is a rename rather than a copy.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ImportReport importFile(@RequestPart("file") MultipartFile file) throws IOException {
+        log.debug("Start Import Clients API ({}, {} bytes)", file.getOriginalFilename(), file.getSize());
+        var tmp = Files.createTempFile("client-import-", ".upload");
+        try {
+            file.transferTo(tmp.toFile());
+            return importService.importClients(file.getOriginalFilename(), tmp);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
     }
 
     @PutMapping
-    public ClientResponse update(@Valid @RequestBody UpdateClientRequest req) {
+    public ResponseEntity<Object> update(@Valid @RequestBody UpdateClientRequest req,
+                                         @RequestHeader(name = PREFER, required = false) String prefer,
+                                         @RequestParam(name = "return", required = false) String returnMode) {
         log.debug("Start Update Client API");
-        ClientResponse res = service.updateClient(req);
-        eventService.publish(ClientEvent.updated(req.getId(), req.getDisplayName()));
-        return res;
+        var mode = ReturnPreference.resolve(prefer, returnMode);
+        Object res = switch (mode) {
+            case SNAPSHOT -> service.updateClient(req);
+            case REPRESENTATION -> new ClientResponse(List.of(service.updateClientAndReturn(req)));
+            case MINIMAL -> new ClientIdsResponse(List.of(service.updateClientAndReturn(req).getId()));
+        };
+        return respond(HttpStatus.OK, mode, res);
     }
 
+    /**
+     * Partial updates of many clients in one transaction; null fields are left unchanged.
+     * Returns a per-id result instead of a snapshot.
+     */
+    @PutMapping("/bulk")
+    public BulkUpdateReport bulkUpdate(@Valid @RequestBody List<@Valid UpdateClientRequest> reqs) {
+        log.debug("Start Bulk Update Client API ({} items)", reqs.size());
+        return service.updateClients(reqs);
+    }
+
+    /**
+     * Deletes the listed ids, or, without a body, every client matching {@code country} and/or
+     * {@code active}; the latter answers with the deleted count only.
+     */
     @DeleteMapping
-    public ClientResponse deleteMany(@Valid @RequestBody DeleteMultipleClientRequest req) {
+    public ResponseEntity<Object> deleteMany(@Valid @RequestBody(required = false) DeleteMultipleClientRequest req,
+                                             @RequestParam(name = "country", required = false) String country,
+                                             @RequestParam(name = "active", required = false) Boolean active,
+                                             @RequestHeader(name = PREFER, required = false) String prefer,
+                                             @RequestParam(name = "return", required = false) String returnMode) {
+        if (req == null) {
+            log.debug("Start Delete Clients By Filter API (country={}, active={})", country, active);
+            return ResponseEntity.ok(new DeletedCountResponse(service.deleteClientsMatching(country, active)));
+        }
+        if (country != null || active != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Send either ids or filters, not both");
+        }
         log.debug("Start Delete Many Clients API");
-        ClientResponse res = service.deleteMultipleClients(req);
-        if (req.getIds() != null) {
-            req.getIds().forEach(id -> eventService.publish(ClientEvent.deleted(id)));
+        var mode = ReturnPreference.resolve(prefer, returnMode);
+        Object res = mode == ReturnPreference.SNAPSHOT
+                ? service.deleteMultipleClients(req)
+                : new ClientIdsResponse(service.deleteMultipleClientsAndReturnIds(req));
+        return respond(HttpStatus.OK, mode, res);
+    }
+
+    private static ResponseEntity<Object> respond(HttpStatus status, ReturnPreference mode, Object body) {
+        // the body's shape depends on Prefer
+        var res = ResponseEntity.status(status).header(HttpHeaders.VARY, PREFER);
+        if (mode.applied() != null) {
+            res.header(PREFERENCE_APPLIED, mode.applied());
         }
-        return res;
+        return res.body(body);
+    }
+
+    private static List<Long> ids(List<ClientDto> dtos) {
+        return dtos.stream().map(ClientDto::getId).toList();
     }
 
     // ===== SSE endpoint =====
     @CrossOrigin(origins = "http://localhost:4200")
     @GetMapping(value = "/events")
-    public SseEmitter events() {
-        log.debug("Event");
-        return eventService.subscribe();
+    public SseEmitter events(@RequestHeader(name = "Last-Event-ID", required = false) String lastEventId,
+                             @RequestParam(name = "lastEventId", required = false) String lastEventIdParam) {
+        log.debug("Event (Last-Event-ID={})", lastEventId != null ? lastEventId : lastEventIdParam);
+        // EventSource sends the header on its own reconnects; the param covers manual reconnects
+        return eventService.subscribe(lastEventId != null ? lastEventId : lastEventIdParam);
     }
 }
@@ -0,0 +1,55 @@
+package com.furqonajiy.crudclient.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Locale;
+
+/**
+ * What a mutation endpoint sends back. Chosen by {@code ?return=} or the {@code Prefer: return=...}
+ * header (RFC 7240); the query param wins. Without either, the legacy full snapshot is returned.
+ * An unknown query param value is a {@code 400}; an unknown {@code Prefer} value is ignored, as RFC 7240
+ * allows, and then nothing is echoed in {@code Preference-Applied}.
+ */
+enum ReturnPreference {
+    /** Full table snapshot, as the Angular UI expects. */
+    SNAPSHOT,
+    /** Only the created/updated rows, or the deleted ids. */
+    REPRESENTATION,
+    /** Only the affected ids. */
+    MINIMAL;
+
+    static ReturnPreference resolve(String preferHeader, String returnParam) {
+        if (returnParam != null && !returnParam.isBlank()) {
+            var mode = parse(returnParam.trim());
+            if (mode == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "return must be minimal or representation, got: " + returnParam);
+            }
+            return mode;
+        }
+        if (preferHeader != null) {
+            for (String token : preferHeader.split("[,;]")) {
+                var pref = token.trim().toLowerCase(Locale.ROOT);
+                if (pref.startsWith("return=")) {
+                    var mode = parse(pref.substring("return=".length()));
+                    return mode == null ? SNAPSHOT : mode;
+                }
+            }
+        }
+        return SNAPSHOT;
+    }
+
+    /** Value for the {@code Preference-Applied} response header, or null for the legacy mode. */
+    String applied() {
+        return this == SNAPSHOT ? null : "return=" + name().toLowerCase(Locale.ROOT);
+    }
+
+    private static ReturnPreference parse(String value) {
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "minimal" -> MINIMAL;
+            case "representation" -> REPRESENTATION;
+            default -> null;
+        };
+    }
+}
@@ -1,16 +1,27 @@
 package com.furqonajiy.crudclient.eventservice;
 
+import com.furqonajiy.crudclient.model.ClientDto;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
 
+/**
+ * A committed change to the clients table. Created and updated events carry the persisted row,
+ * so subscribers can patch their copy instead of re-reading the list.
+ */
 @Data
+@NoArgsConstructor
 public class ClientEvent {
     private ClientEventType type;
     private Long clientId;         // optional
     private String displayName;    // optional
     private String message;        // optional
     private Instant at = Instant.now();
+    private ClientDto client;      // CREATED / UPDATED: the row as committed
+    private List<ClientEvent> changes; // BATCH only
 
     public ClientEvent(ClientEventType type, Long clientId, String displayName, String message) {
         this.type = type;
@@ -23,11 +34,38 @@ public class ClientEvent {
         return new ClientEvent(ClientEventType.CREATED, id, name, null);
     }
 
+    public static ClientEvent created(ClientDto client) {
+        return withClient(ClientEventType.CREATED, client);
+    }
+
     public static ClientEvent updated(Long id, String name) {
         return new ClientEvent(ClientEventType.UPDATED, id, name, null);
     }
 
+    public static ClientEvent updated(ClientDto client) {
+        return withClient(ClientEventType.UPDATED, client);
+    }
+
     public static ClientEvent deleted(Long id) {
         return new ClientEvent(ClientEventType.DELETED, id, null, null);
     }
+
+    /** One frame for many changes; nested batches are flattened and a single change is returned as is. */
+    public static ClientEvent batch(List<ClientEvent> changes) {
+        var flat = changes.stream()
+                .flatMap(c -> c.getType() == ClientEventType.BATCH ? c.getChanges().stream() : Stream.of(c))
+                .toList();
+        if (flat.size() == 1) {
+            return flat.getFirst();
+        }
+        var batch = new ClientEvent(ClientEventType.BATCH, null, null, null);
+        batch.changes = flat;
+        return batch;
+    }
+
+    private static ClientEvent withClient(ClientEventType type, ClientDto client) {
+        var event = new ClientEvent(type, client.getId(), client.getDisplayName(), null);
+        event.client = client;
+        return event;
+    }
 }
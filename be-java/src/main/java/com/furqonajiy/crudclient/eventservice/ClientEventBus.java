@@ -0,0 +1,17 @@
+package com.furqonajiy.crudclient.eventservice;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries committed {@link ClientEvent}s to every node. Each node registers its own consumers
+ * (SSE fan-out, snapshot cache) and only ever delivers to them; selected with
+ * {@code clients.events.bus}.
+ */
+public interface ClientEventBus {
+
+    /** Sends an event to all nodes, this one included. */
+    void publish(ClientEvent event);
+
+    /** Registers a node-local consumer for events from any node. */
+    void listen(Consumer<ClientEvent> handler);
+}
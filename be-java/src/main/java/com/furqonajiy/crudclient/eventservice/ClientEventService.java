@@ -1,40 +1,211 @@
 package com.furqonajiy.crudclient.eventservice;
 
+import com.furqonajiy.crudclient.config.ClientProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * SSE fan-out. {@link #publish} only enqueues onto each subscriber's bounded queue; delivery happens
+ * on the subscriber's own virtual thread, and a full queue is handled by the configured
+ * {@link SlowConsumerPolicy}. Idle connections get heartbeat comments so dead ones are found.
+ * <p>
+ * Every broadcast gets an id and is kept in a ring buffer of {@code clients.events.replay-buffer-size},
+ * so a reconnecting client that sends {@code Last-Event-ID} receives only what it missed. Ids are
+ * {@code <node epoch>-<sequence>}: one issued by another node or an earlier run always gets a RESYNC.
+ * <p>
+ * Events arrive through the {@link ClientEventBus}, so subscribers on this node also see writes
+ * committed on other nodes.
+ * <p>
+ * With a non-zero {@code clients.events.coalesce-window}, events published within that window are
+ * merged into one {@link ClientEventType#BATCH} frame, so bursts cost one write per subscriber.
+ * <p>
+ * Meters: {@code clients.sse.subscribers}, the deepest and the total subscriber queue
+ * ({@code clients.sse.queue.depth.max}, {@code clients.sse.queue.frames}), and the counters of {@link SseMetrics}.
+ */
 @Service
 public class ClientEventService {
 
-    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final ClientProperties.Events cfg;
+    private final List<SseSubscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService scheduler;
+    /** Serialises id assignment, history and fan-out against subscriber registration. */
+    private final ReentrantLock publishLock = new ReentrantLock();
+    private final EventRingBuffer history;
+    private final SseMetrics metrics;
+    /** Prefix of every event id issued by this instance. */
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final long coalesceNanos;
+    private final ReentrantLock coalesceLock = new ReentrantLock();
+    private List<ClientEvent> pending = new ArrayList<>();
 
-    /** Subscribe to the stream (no timeout). */
-    public SseEmitter subscribe() {
+    public ClientEventService(ClientProperties props, ClientEventBus bus, MeterRegistry meters) {
+        this.cfg = props.getEvents();
+        this.history = new EventRingBuffer(cfg.getReplayBufferSize(), 0);
+        this.metrics = new SseMetrics(meters, cfg.getSlowConsumerPolicy());
+        Gauge.builder("clients.sse.subscribers", subscribers, List::size)
+                .description("Open SSE connections on this node")
+                .register(meters);
+        Gauge.builder("clients.sse.queue.depth.max", this, ClientEventService::maxQueueDepth)
+                .description("Frames queued for the furthest-behind subscriber")
+                .register(meters);
+        Gauge.builder("clients.sse.queue.frames", this, ClientEventService::queuedFrames)
+                .description("Frames queued across all subscribers")
+                .register(meters);
+        this.coalesceNanos = cfg.getCoalesceWindow().toNanos();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("sse-scheduler").daemon(true).factory());
+        var every = cfg.getHeartbeatInterval().toMillis();
+        if (every > 0) {
+            scheduler.scheduleAtFixedRate(this::heartbeat, every, every, TimeUnit.MILLISECONDS);
+        }
+        bus.listen(this::publish);
+    }
+
+    /**
+     * Subscribe to the stream (no timeout).
+     *
+     * @param lastEventId id of the last event the client saw, or null for a fresh connection
+     */
+    public SseEmitter subscribe(String lastEventId) {
         SseEmitter emitter = new SseEmitter(0L);
-        this.emitters.add(emitter);
+        register(emitter, lastEventId);
+        return emitter;
+    }
 
-        emitter.onCompletion(() -> emitters.remove(emitter));
-        emitter.onTimeout(() -> emitters.remove(emitter));
+    SseSubscriber register(SseEmitter emitter, String lastEventId) {
+        var sub = new SseSubscriber(emitter, cfg.getQueueCapacity(), cfg.getSlowConsumerPolicy(), metrics, subscribers::remove);
+        emitter.onCompletion(sub::close);
+        emitter.onTimeout(sub::close);
+        emitter.onError(e -> sub.close());
+        sub.offer(SseFrame.event("INIT", "connected"));
+        publishLock.lock();
         try {
-            emitter.send(SseEmitter.event().name("INIT").data("connected"));
-        } catch (IOException ignored) {}
-        return emitter;
+            if (lastEventId != null) {
+                replay(sub, lastEventId);
+            }
+            subscribers.add(sub);
+        } finally {
+            publishLock.unlock();
+        }
+        if (sub.isClosed()) {
+            subscribers.remove(sub);
+        }
+        sub.start();
+        return sub;
     }
 
-    /** Broadcast a single event to all subscribers. */
+    /** Broadcast an event to this node's subscribers without blocking on any of them. */
     public void publish(ClientEvent event) {
-        for (SseEmitter emitter : emitters) {
-            try {
-                emitter.send(SseEmitter.event()
-                        .name(event.getType().name())
-                        .data(event));
-            } catch (IOException e) {
-                emitters.remove(emitter);
+        if (coalesceNanos <= 0) {
+            broadcast(event);
+            return;
+        }
+        coalesceLock.lock();
+        try {
+            pending.add(event);
+            if (pending.size() == 1) {
+                scheduler.schedule(this::flushPending, coalesceNanos, TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            coalesceLock.unlock();
+        }
+    }
+
+    private void flushPending() {
+        List<ClientEvent> events;
+        coalesceLock.lock();
+        try {
+            events = pending;
+            pending = new ArrayList<>();
+        } finally {
+            coalesceLock.unlock();
+        }
+        if (!events.isEmpty()) {
+            broadcast(ClientEvent.batch(events));
+        }
+    }
+
+    private void broadcast(ClientEvent event) {
+        var rejected = new ArrayList<SseSubscriber>();
+        publishLock.lock();
+        try {
+            var seq = history.lastId() + 1;
+            var frame = SseFrame.event(eventId(seq), event.getType().name(), event);
+            history.append(seq, frame);
+            for (SseSubscriber sub : subscribers) {
+                if (!sub.offer(frame)) {
+                    rejected.add(sub);
+                }
             }
+        } finally {
+            publishLock.unlock();
         }
+        rejected.forEach(SseSubscriber::close);
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private double maxQueueDepth() {
+        return subscribers.stream().mapToInt(SseSubscriber::queueDepth).max().orElse(0);
+    }
+
+    private double queuedFrames() {
+        return subscribers.stream().mapToInt(SseSubscriber::queueDepth).sum();
+    }
+
+    /** Queues the missed events, or a single RESYNC when they are gone or would not fit the queue. */
+    private void replay(SseSubscriber sub, String lastEventId) {
+        var missed = parseId(lastEventId).flatMap(history::since);
+        if (missed.isEmpty() || missed.get().size() >= cfg.getQueueCapacity()) {
+            sub.offer(SseFrame.resync(eventId(history.lastId())));
+            return;
+        }
+        missed.get().forEach(sub::offer);
+    }
+
+    private String eventId(long seq) {
+        return epoch + "-" + seq;
+    }
+
+    /** The sequence number of one of our own ids; empty for anything else. */
+    private Optional<Long> parseId(String lastEventId) {
+        var prefix = epoch + "-";
+        var id = lastEventId.trim();
+        if (!id.startsWith(prefix)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Long.parseLong(id.substring(prefix.length())));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private void heartbeat() {
+        for (SseSubscriber sub : subscribers) {
+            sub.offerHeartbeat();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+        flushPending();
+        subscribers.forEach(SseSubscriber::close);
     }
 }
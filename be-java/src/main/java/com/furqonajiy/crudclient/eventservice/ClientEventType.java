@@ -1,5 +1,7 @@
 package com.furqonajiy.crudclient.eventservice;
 
 public enum ClientEventType {
-    CREATED, UPDATED, DELETED
+    CREATED, UPDATED, DELETED,
+    /** Several changes in one frame; see {@link ClientEvent#getChanges()}. */
+    BATCH
 }
@@ -0,0 +1,51 @@
+package com.furqonajiy.crudclient.eventservice;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Fixed-size history of published frames, indexed by a monotonically increasing sequence number.
+ * Not thread-safe; {@link ClientEventService} guards it with its publish lock.
+ */
+final class EventRingBuffer {
+
+    private final SseFrame[] frames;
+    private long lastId;
+    private int size;
+
+    /** @param lastId id treated as "already seen" before anything is appended */
+    EventRingBuffer(int capacity, long lastId) {
+        this.frames = new SseFrame[Math.max(1, capacity)];
+        this.lastId = lastId;
+    }
+
+    long lastId() {
+        return lastId;
+    }
+
+    /** Appends the frame published as {@code id}, which must be {@code lastId() + 1}. */
+    void append(long id, SseFrame frame) {
+        lastId = id;
+        frames[(int) Math.floorMod(lastId, (long) frames.length)] = frame;
+        if (size < frames.length) {
+            size++;
+        }
+    }
+
+    /**
+     * Frames published after {@code afterId}, oldest first; empty when that id is unknown to
+     * this buffer (older than what is retained, or issued by another process).
+     */
+    Optional<List<SseFrame>> since(long afterId) {
+        long oldest = lastId - size + 1;
+        if (afterId > lastId || afterId < oldest - 1) {
+            return Optional.empty();
+        }
+        var out = new ArrayList<SseFrame>((int) (lastId - afterId));
+        for (long id = afterId + 1; id <= lastId; id++) {
+            out.add(frames[(int) Math.floorMod(id, (long) frames.length)]);
+        }
+        return Optional.of(out);
+    }
+}
@@ -0,0 +1,33 @@
+package com.furqonajiy.crudclient.eventservice;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/** Single-node bus: events published by the service layer are handed to local consumers after commit. */
+@Component
+@ConditionalOnProperty(prefix = "clients.events", name = "bus", havingValue = "in-process", matchIfMissing = true)
+public class InProcessClientEventBus implements ClientEventBus {
+
+    private final List<Consumer<ClientEvent>> handlers = new CopyOnWriteArrayList<>();
+
+    /** Runs after commit, or immediately when published outside a transaction. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClientEvent(ClientEvent event) {
+        publish(event);
+    }
+
+    @Override
+    public void publish(ClientEvent event) {
+        handlers.forEach(h -> h.accept(event));
+    }
+
+    @Override
+    public void listen(Consumer<ClientEvent> handler) {
+        handlers.add(handler);
+    }
+}
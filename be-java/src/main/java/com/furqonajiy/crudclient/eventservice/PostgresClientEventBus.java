@@ -0,0 +1,198 @@
+package com.furqonajiy.crudclient.eventservice;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+/**
+ * Multi-node bus on PostgreSQL {@code LISTEN/NOTIFY}. The {@code NOTIFY} is issued inside the writing
+ * transaction, so it is delivered exactly when (and only if) the write commits. Payloads too large for a
+ * notification (8000 bytes) are stored in {@code client_event_log} and the notification carries the row id.
+ * <p>
+ * One dedicated connection per node listens on the channel and hands every event, including the node's
+ * own, to the local consumers. It is opened straight from {@code spring.datasource.url}, so it holds
+ * neither a pool slot nor an admission permit, and it also prunes old {@code client_event_log} rows,
+ * keeping that work out of the writing transactions.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "clients.events", name = "bus", havingValue = "postgres")
+public class PostgresClientEventBus implements ClientEventBus {
+
+    static final String CHANNEL = "client_events";
+    /** Leaves headroom below the server's 8000-byte notification limit. */
+    static final int MAX_INLINE_BYTES = 7500;
+    private static final int POLL_MILLIS = 1000;
+    private static final long RECONNECT_MILLIS = 2000;
+    private static final long PURGE_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private final DataSourceProperties connectionProperties;
+    private final JdbcTemplate jdbc;
+    private final ObjectMapper mapper;
+    private final List<Consumer<ClientEvent>> handlers = new CopyOnWriteArrayList<>();
+    private volatile boolean running;
+    private Thread listener;
+
+    public PostgresClientEventBus(DataSource dataSource, DataSourceProperties connectionProperties, ObjectMapper mapper) {
+        this.connectionProperties = connectionProperties;
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.mapper = mapper;
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        listener = Thread.ofPlatform().name("pg-event-listener").daemon(true).start(this::listenLoop);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    /** Joins the writing transaction, so the notification commits (or rolls back) with the change. */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onClientEvent(ClientEvent event) {
+        publish(event);
+    }
+
+    @Override
+    public void publish(ClientEvent event) {
+        var json = write(event);
+        var payload = json.getBytes(StandardCharsets.UTF_8).length <= MAX_INLINE_BYTES
+                ? json
+                : reference(storeInLog(json));
+        jdbc.query("select pg_notify(?, ?)", rs -> null, CHANNEL, payload);
+    }
+
+    @Override
+    public void listen(Consumer<ClientEvent> handler) {
+        handlers.add(handler);
+    }
+
+    private long storeInLog(String json) {
+        var key = new GeneratedKeyHolder();
+        jdbc.update(con -> {
+            var ps = con.prepareStatement("insert into client_event_log (payload) values (?)", new String[]{"id"});
+            ps.setString(1, json);
+            return ps;
+        }, key);
+        return Objects.requireNonNull(key.getKey()).longValue();
+    }
+
+    private void listenLoop() {
+        while (running) {
+            try (Connection con = openListenerConnection()) {
+                con.setAutoCommit(true);
+                try (Statement st = con.createStatement()) {
+                    st.execute("LISTEN " + CHANNEL);
+                }
+                log.info("Listening for client events on channel {}", CHANNEL);
+                var pg = con.unwrap(PGConnection.class);
+                long lastPurge = System.nanoTime() - PURGE_INTERVAL_NANOS;
+                while (running) {
+                    if (System.nanoTime() - lastPurge >= PURGE_INTERVAL_NANOS) {
+                        purgeEventLog(con);
+                        lastPurge = System.nanoTime();
+                    }
+                    var notifications = pg.getNotifications(POLL_MILLIS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (var n : notifications) {
+                        deliver(n.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                // events committed while disconnected are not replayed; SSE clients catch up on their next RESYNC
+                log.warn("Client event listener lost its connection, retrying: {}", e.toString());
+                try {
+                    Thread.sleep(RECONNECT_MILLIS);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /** Outside the pool and admission control: this connection is held for the life of the node. */
+    private Connection openListenerConnection() throws SQLException {
+        return DriverManager.getConnection(connectionProperties.determineUrl(),
+                connectionProperties.determineUsername(), connectionProperties.determinePassword());
+    }
+
+    /** Log rows are only needed until every node has read them. */
+    private static void purgeEventLog(Connection con) throws SQLException {
+        try (Statement st = con.createStatement()) {
+            int purged = st.executeUpdate("delete from client_event_log where created_at < now() - interval '1 hour'");
+            if (purged > 0) {
+                log.debug("Purged {} client event log rows", purged);
+            }
+        }
+    }
+
+    private void deliver(String payload) {
+        try {
+            var event = read(payload, id -> jdbc.queryForObject(
+                    "select payload from client_event_log where id = ?", String.class, id));
+            handlers.forEach(h -> h.accept(event));
+        } catch (RuntimeException e) {
+            log.warn("Dropping undeliverable client event: {}", e.toString());
+        }
+    }
+
+    // ---- payload codec ----
+
+    String write(ClientEvent event) {
+        try {
+            return mapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static String reference(long logId) {
+        return "{\"ref\":" + logId + "}";
+    }
+
+    /** Decodes an inline event, or loads it through {@code logLookup} when the payload is a reference. */
+    ClientEvent read(String payload, LongFunction<String> logLookup) {
+        try {
+            var node = mapper.readTree(payload);
+            var json = node.has("ref") ? logLookup.apply(node.get("ref").asLong()) : payload;
+            return mapper.readValue(json, ClientEvent.class);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
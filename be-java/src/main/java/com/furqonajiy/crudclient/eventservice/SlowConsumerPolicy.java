@@ -0,0 +1,11 @@
+package com.furqonajiy.crudclient.eventservice;
+
+/** What to do when a subscriber's send queue is full. */
+public enum SlowConsumerPolicy {
+    /** Discard the oldest queued frames to make room and queue a RESYNC unless one is already pending. */
+    DROP_OLDEST,
+    /** Replace the whole backlog with a single RESYNC frame; the client refetches once. */
+    COALESCE,
+    /** Close the connection; the browser reconnects and starts fresh. */
+    DISCONNECT
+}
@@ -0,0 +1,40 @@
+package com.furqonajiy.crudclient.eventservice;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * One queued SSE write: either a named event with data, or a comment (heartbeat).
+ * Broadcast events carry an id so clients can resume with {@code Last-Event-ID}.
+ */
+record SseFrame(String id, String name, Object data, String comment) {
+
+    static final String RESYNC = "RESYNC";
+
+    static SseFrame event(String name, Object data) {
+        return new SseFrame(null, name, data, null);
+    }
+
+    static SseFrame event(String id, String name, Object data) {
+        return new SseFrame(id, name, data, null);
+    }
+
+    static SseFrame heartbeat() {
+        return new SseFrame(null, null, null, "heartbeat");
+    }
+
+    /** Tells the client to reload; {@code id} is the position it may resume from afterwards. */
+    static SseFrame resync(String id) {
+        return new SseFrame(id, RESYNC, "resync required", null);
+    }
+
+    SseEmitter.SseEventBuilder toEvent() {
+        var b = SseEmitter.event();
+        if (comment != null) {
+            return b.comment(comment);
+        }
+        if (id != null) {
+            b.id(id);
+        }
+        return b.name(name).data(data);
+    }
+}
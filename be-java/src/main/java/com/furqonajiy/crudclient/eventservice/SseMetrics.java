@@ -0,0 +1,34 @@
+package com.furqonajiy.crudclient.eventservice;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Locale;
+
+/**
+ * Counters shared by every {@link SseSubscriber} of one {@link ClientEventService}. Per-subscriber
+ * figures are aggregated here rather than tagged by subscriber, which would be unbounded cardinality.
+ */
+final class SseMetrics {
+
+    private final Counter dropped;
+    private final Counter sendFailures;
+
+    SseMetrics(MeterRegistry meters, SlowConsumerPolicy policy) {
+        this.dropped = Counter.builder("clients.sse.frames.dropped")
+                .description("Frames dropped, coalesced or refused because a subscriber queue was full")
+                .tag("policy", policy.name().toLowerCase(Locale.ROOT))
+                .register(meters);
+        this.sendFailures = Counter.builder("clients.sse.send.failures")
+                .description("Frames whose write to the client failed; the subscriber is closed")
+                .register(meters);
+    }
+
+    void dropped() {
+        dropped.increment();
+    }
+
+    void sendFailed() {
+        sendFailures.increment();
+    }
+}
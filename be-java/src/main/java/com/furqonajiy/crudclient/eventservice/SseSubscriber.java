@@ -0,0 +1,152 @@
+package com.furqonajiy.crudclient.eventservice;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * One SSE connection: a bounded frame queue drained by a dedicated virtual thread.
+ * Publishers only enqueue, so a slow or dead browser never blocks a writer.
+ */
+@Slf4j
+final class SseSubscriber {
+
+    private static final AtomicLong IDS = new AtomicLong();
+
+    private final long id = IDS.incrementAndGet();
+    private final SseEmitter emitter;
+    private final BlockingQueue<SseFrame> queue;
+    private final SlowConsumerPolicy policy;
+    private final SseMetrics metrics;
+    private final Consumer<SseSubscriber> onClose;
+    private final ReentrantLock offerLock = new ReentrantLock();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean closed;
+    private Thread drainer;
+
+    SseSubscriber(SseEmitter emitter, int capacity, SlowConsumerPolicy policy, SseMetrics metrics,
+                  Consumer<SseSubscriber> onClose) {
+        this.emitter = emitter;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.policy = policy;
+        this.metrics = metrics;
+        this.onClose = onClose;
+    }
+
+    void start() {
+        drainer = Thread.ofVirtual().name("sse-subscriber-" + id).start(this::drain);
+    }
+
+    /**
+     * Enqueues without blocking. Returns false when the subscriber is closed or must be
+     * disconnected under {@link SlowConsumerPolicy#DISCONNECT}.
+     */
+    boolean offer(SseFrame frame) {
+        offerLock.lock();
+        try {
+            if (closed) {
+                return false;
+            }
+            if (queue.offer(frame)) {
+                return true;
+            }
+            dropped.incrementAndGet();
+            metrics.dropped();
+            switch (policy) {
+                case DROP_OLDEST -> dropOldest(frame);
+                case COALESCE -> {
+                    queue.clear();
+                    queue.offer(SseFrame.resync(frame.id()));
+                }
+                case DISCONNECT -> {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            offerLock.unlock();
+        }
+    }
+
+    /**
+     * Makes room by discarding the oldest frames and makes sure a RESYNC is still queued, so the
+     * client learns about the gap. Its id is that of the incoming frame: the reload covers everything
+     * up to it, and frames queued behind it are reapplied on top.
+     */
+    private void dropOldest(SseFrame frame) {
+        queue.poll();
+        if (queue.stream().noneMatch(f -> SseFrame.RESYNC.equals(f.name()))) {
+            queue.poll();
+            queue.offer(SseFrame.resync(frame.id()));
+        }
+        queue.offer(frame);
+    }
+
+    /** Heartbeats only matter on an idle connection; a busy queue already proves liveness. */
+    void offerHeartbeat() {
+        if (queue.isEmpty()) {
+            offer(SseFrame.heartbeat());
+        }
+    }
+
+    void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (drainer != null) {
+            drainer.interrupt();
+        }
+        try {
+            emitter.complete();
+        } catch (RuntimeException ignored) {
+            // already completed or the connection is gone
+        }
+        onClose.accept(this);
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    int queueDepth() {
+        return queue.size();
+    }
+
+    long droppedFrames() {
+        return dropped.get();
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    /** Snapshot of queued frames, for tests. */
+    List<SseFrame> pending() {
+        return new ArrayList<>(queue);
+    }
+
+    private void drain() {
+        try {
+            while (!closed) {
+                var frame = queue.take();
+                emitter.send(frame.toEvent());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            metrics.sendFailed();
+            log.debug("SSE subscriber {} dropped: {}", id, e.toString());
+        } finally {
+            close();
+        }
+    }
+}
@@ -1,23 +1,106 @@
 package com.furqonajiy.crudclient.exception;
 
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.ErrorResponse;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 import java.time.Instant;
 import java.util.Map;
+import java.util.stream.Collectors;
 
+/**
+ * Error bodies are {@code {timestamp, error, message}}. Spring MVC's own exceptions (bad parameters,
+ * unreadable or invalid bodies, unsupported media types, ...) keep the 4xx status the base class
+ * assigns them; only server errors are logged at ERROR.
+ */
+@Slf4j
 @RestControllerAdvice
-public class GlobalExceptionHandler {
+public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<Map<String, Object>> handleStatus(ResponseStatusException ex) {
+        var status = HttpStatus.valueOf(ex.getStatusCode().value());
+        return ResponseEntity.status(status)
+                .body(body(status, ex.getReason()));
+    }
+
+    /** Optimistic lock lost: someone else committed a newer version of the row first. */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleConflict(OptimisticLockingFailureException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(body(HttpStatus.CONFLICT, "Client was modified concurrently; reload and retry"));
+    }
+
+    /** No database connection to be had in time (pool or admission queue exhausted, or the database is down). */
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<Map<String, Object>> handleUnavailable(Exception ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(body(HttpStatus.SERVICE_UNAVAILABLE, "Database is busy; retry shortly"));
+    }
+
+    /**
+     * Anything unexpected. The exception is attached to the request observation, so
+     * {@code http.server.requests} carries its type in the {@code exception} tag instead of {@code none}.
+     */
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handle(Exception ex) {
-//        log.error
+        log.error("Unhandled exception", ex);
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attrs) {
+            ServerHttpObservationFilter.findObservationContext(attrs.getRequest()).ifPresent(ctx -> ctx.setError(ex));
+        }
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(Map.of(
-                        "timestamp", Instant.now().toString(),
-                        "error", "Internal Server Error",
-                        "message", ex.getMessage()
-                ));
+                .body(body(HttpStatus.INTERNAL_SERVER_ERROR, ex.getMessage()));
+    }
+
+    /** Every Spring MVC exception handled by the base class ends up here; its status is kept, only the body changes. */
+    @Override
+    protected ResponseEntity<Object> handleExceptionInternal(Exception ex, Object body, HttpHeaders headers,
+                                                             HttpStatusCode statusCode, WebRequest request) {
+        var status = HttpStatus.valueOf(statusCode.value());
+        if (status.is5xxServerError()) {
+            log.error("Request failed with {}", status, ex);
+        } else {
+            log.debug("Rejected request: {}", ex.toString());
+        }
+        return ResponseEntity.status(status).headers(headers).body(body(status, message(ex, body)));
+    }
+
+    /** Field errors for an invalid body, the problem detail otherwise (it names the offending parameter). */
+    private static String message(Exception ex, Object body) {
+        if (ex instanceof MethodArgumentNotValidException invalid && invalid.getBindingResult().hasFieldErrors()) {
+            return invalid.getBindingResult().getFieldErrors().stream()
+                    .map(e -> e.getField() + " " + e.getDefaultMessage())
+                    .collect(Collectors.joining("; "));
+        }
+        if (body instanceof ProblemDetail problem && problem.getDetail() != null) {
+            return problem.getDetail();
+        }
+        return ex instanceof ErrorResponse error && error.getBody().getDetail() != null
+                ? error.getBody().getDetail()
+                : ex.getMessage();
+    }
+
+    private static Map<String, Object> body(HttpStatus status, String message) {
+        return Map.of(
+                "timestamp", Instant.now().toString(),
+                "error", status.getReasonPhrase(),
+                "message", message == null ? "" : message
+        );
     }
 }
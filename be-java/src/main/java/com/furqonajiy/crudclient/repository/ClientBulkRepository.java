@@ -0,0 +1,36 @@
+package com.furqonajiy.crudclient.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fragment of {@link ClientRepository} for set-based writes. They bypass the persistence context,
+ * so pending changes are flushed before and managed entities are detached after, like a
+ * {@code @Modifying(flushAutomatically = true, clearAutomatically = true)} query.
+ */
+public interface ClientBulkRepository {
+
+    /**
+     * One {@code UPDATE ... WHERE id IN (...)} setting the same attribute values on every row and
+     * bumping each row's version. Rows that already hold all of the values are left alone, version
+     * included. Returns the ids of the rows changed.
+     */
+    List<Long> updateAll(Collection<Long> ids, Map<String, Object> values);
+
+    /**
+     * Sets each row's own attribute values and bumps its version, with one JDBC-batched
+     * {@code UPDATE ... WHERE id = ?} per set of attribute names. A row that already holds all of its
+     * values is left alone, version included. Returns the ids of the rows changed.
+     */
+    List<Long> updateEach(Map<Long, Map<String, Object>> valuesById);
+
+    /**
+     * Inserts each row, or updates the row that already has its email. Rows need a normalized email,
+     * no email twice and no id (one is assigned when the row is inserted). Existing rows whose values
+     * are all equal are left untouched. On PostgreSQL this is a single
+     * {@code INSERT ... ON CONFLICT (email) DO UPDATE} statement; other databases go through the
+     * persistence context.
+     */
+    UpsertResult upsertByEmail(List<ClientEntity> rows);
+}
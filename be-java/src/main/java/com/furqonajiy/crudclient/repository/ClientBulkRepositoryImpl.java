@@ -0,0 +1,259 @@
+package com.furqonajiy.crudclient.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.metamodel.mapping.BasicEntityIdentifierMapping;
+import org.hibernate.metamodel.mapping.BasicValuedModelPart;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+class ClientBulkRepositoryImpl implements ClientBulkRepository {
+
+    private static final String PG_UPSERT_INTO = """
+            insert into public.clients (id, full_name, display_name, email, details, active, location, country, version)
+            values\s""";
+    private static final String PG_UPSERT_ROW = "(?, ?, ?, ?, ?, ?, ?, ?, 0)";
+    // the WHERE keeps identical rows from being rewritten (no dead tuple, no version bump, not returned);
+    // xmax is 0 only on a freshly inserted tuple
+    private static final String PG_UPSERT_ON_CONFLICT = """
+            on conflict (email) do update set
+                full_name = excluded.full_name, display_name = excluded.display_name, details = excluded.details,
+                active = excluded.active, location = excluded.location, country = excluded.country,
+                version = clients.version + 1
+            where (clients.full_name, clients.display_name, clients.details, clients.active, clients.location, clients.country)
+                is distinct from
+                  (excluded.full_name, excluded.display_name, excluded.details, excluded.active, excluded.location, excluded.country)
+            returning id, (xmax = 0) as inserted""";
+
+    @PersistenceContext
+    private EntityManager em;
+
+    /**
+     * The rows that would change are selected and locked first, so the ids returned are exactly the
+     * rows written; the UPDATE repeats the guard so it never rewrites a row already holding the values.
+     */
+    @Override
+    public List<Long> updateAll(Collection<Long> ids, Map<String, Object> values) {
+        if (ids.isEmpty() || values.isEmpty()) {
+            return List.of();
+        }
+        em.flush();
+        var cb = em.getCriteriaBuilder();
+        var query = cb.createQuery(Long.class);
+        var from = query.from(ClientEntity.class);
+        query.select(from.get("id")).where(from.get("id").in(ids), anyDiffers(cb, from, values));
+        var changed = em.createQuery(query).setLockMode(LockModeType.PESSIMISTIC_WRITE).getResultList();
+        if (changed.isEmpty()) {
+            return changed;
+        }
+        var update = cb.createCriteriaUpdate(ClientEntity.class);
+        var root = update.from(ClientEntity.class);
+        values.forEach(update::set);
+        // a bulk UPDATE skips @Version, so concurrent PATCHes would not notice it without this
+        update.set(root.<Long>get("version"), cb.sum(root.<Long>get("version"), 1L));
+        update.where(root.get("id").in(changed), anyDiffers(cb, root, values));
+        em.createQuery(update).executeUpdate();
+        em.clear();
+        return changed;
+    }
+
+    /** {@code a is distinct from :a or ...}, spelled out because JPQL has no such operator. */
+    private static Predicate anyDiffers(CriteriaBuilder cb, Path<ClientEntity> row, Map<String, Object> values) {
+        return cb.or(values.entrySet().stream().map(v -> {
+            var column = row.get(v.getKey());
+            return v.getValue() == null
+                    ? cb.isNotNull(column)
+                    : cb.or(cb.isNull(column), cb.notEqual(column, v.getValue()));
+        }).toArray(Predicate[]::new));
+    }
+
+    /**
+     * Hibernate never batches the UPDATEs of a {@code @DynamicUpdate} entity, so writing these through
+     * dirty checking would cost one round trip per row. Table and columns come from the entity mapping;
+     * the {@code is distinct from} guard stands in for the dirty check, so a row already holding the
+     * values is not written and keeps its version.
+     */
+    @Override
+    public List<Long> updateEach(Map<Long, Map<String, Object>> valuesById) {
+        if (valuesById.isEmpty()) {
+            return List.of();
+        }
+        em.flush();
+        var byAttributes = new LinkedHashMap<List<String>, List<Long>>();
+        valuesById.forEach((id, values) -> {
+            if (!values.isEmpty()) {
+                byAttributes.computeIfAbsent(List.copyOf(values.keySet()), k -> new ArrayList<>()).add(id);
+            }
+        });
+        var session = em.unwrap(SharedSessionContractImplementor.class);
+        var persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(ClientEntity.class);
+        var batchSize = Math.max(1, session.getConfiguredJdbcBatchSize());
+        var changed = new ArrayList<Long>();
+        session.doWork(conn -> {
+            for (var group : byAttributes.entrySet()) {
+                var attributes = group.getKey();
+                try (var ps = conn.prepareStatement(updateByIdSql(persister, attributes))) {
+                    var batch = new ArrayList<Long>(batchSize);
+                    for (var id : group.getValue()) {
+                        var values = valuesById.get(id);
+                        int p = 1;
+                        for (var a : attributes) {
+                            ps.setObject(p++, values.get(a));
+                        }
+                        ps.setLong(p++, id);
+                        for (var a : attributes) {
+                            ps.setObject(p++, values.get(a));
+                        }
+                        ps.addBatch();
+                        batch.add(id);
+                        if (batch.size() == batchSize) {
+                            collectChanged(batch, ps.executeBatch(), changed);
+                            batch.clear();
+                        }
+                    }
+                    if (!batch.isEmpty()) {
+                        collectChanged(batch, ps.executeBatch(), changed);
+                    }
+                }
+            }
+        });
+        em.clear();
+        return changed;
+    }
+
+    /**
+     * {@code update <table> set a = ?, ..., <version> = <version> + 1 where <id> = ? and (a is distinct
+     * from ? or ...)}: the values, the id, then the values again.
+     */
+    static String updateByIdSql(EntityPersister persister, List<String> attributes) {
+        var version = persister.getVersionMapping().getVersionAttribute();
+        var columns = attributes.stream().map(a -> {
+            var mapping = persister.findAttributeMapping(a);
+            if (!(mapping instanceof BasicValuedModelPart basic) || mapping == version) {
+                throw new IllegalArgumentException("Not an updatable column attribute of ClientEntity: " + a);
+            }
+            return basic.getSelectionExpression();
+        }).toList();
+        var versionColumn = version.getSelectionExpression();
+        var idColumn = ((BasicEntityIdentifierMapping) persister.getIdentifierMapping()).getSelectionExpression();
+        return "update " + persister.getIdentifierTableDetails().getTableName()
+                + columns.stream().map(c -> c + " = ?").collect(Collectors.joining(", ", " set ", ", "))
+                + versionColumn + " = " + versionColumn + " + 1"
+                + " where " + idColumn + " = ?"
+                + columns.stream().map(c -> c + " is distinct from ?").collect(Collectors.joining(" or ", " and (", ")"));
+    }
+
+    /**
+     * Adds the ids whose batch entry changed a row. Drivers that cannot tell report
+     * {@link java.sql.Statement#SUCCESS_NO_INFO} (-2); those rows count as changed.
+     */
+    private static void collectChanged(List<Long> ids, int[] counts, List<Long> changed) {
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                changed.add(ids.get(i));
+            }
+        }
+    }
+
+    @Override
+    public UpsertResult upsertByEmail(List<ClientEntity> rows) {
+        if (rows.isEmpty()) {
+            return new UpsertResult(List.of(), List.of());
+        }
+        var session = em.unwrap(SharedSessionContractImplementor.class);
+        if (session.getJdbcServices().getDialect() instanceof PostgreSQLDialect) {
+            return upsertOnConflict(session, rows);
+        }
+        return upsertManaged(rows);
+    }
+
+    private UpsertResult upsertOnConflict(SharedSessionContractImplementor session, List<ClientEntity> rows) {
+        em.flush();
+        // ids come from the entity's own pooled generator, so they never collide with JPA inserts
+        var persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(ClientEntity.class);
+        var generator = (BeforeExecutionGenerator) persister.getGenerator();
+        var sql = new StringBuilder(PG_UPSERT_INTO);
+        for (int i = 0; i < rows.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append(PG_UPSERT_ROW);
+        }
+        sql.append('\n').append(PG_UPSERT_ON_CONFLICT);
+
+        var inserted = new ArrayList<Long>();
+        var updated = new ArrayList<Long>();
+        session.doWork(conn -> {
+            try (var ps = conn.prepareStatement(sql.toString())) {
+                int p = 1;
+                for (var row : rows) {
+                    ps.setLong(p++, (Long) generator.generate(session, row, null, EventType.INSERT));
+                    ps.setString(p++, row.getFullName());
+                    ps.setString(p++, row.getDisplayName());
+                    ps.setString(p++, row.getEmail());
+                    ps.setString(p++, row.getDetails());
+                    ps.setBoolean(p++, row.isActive());
+                    ps.setString(p++, row.getLocation());
+                    ps.setString(p++, row.getCountry());
+                }
+                try (var rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        (rs.getBoolean(2) ? inserted : updated).add(rs.getLong(1));
+                    }
+                }
+            }
+        });
+        // managed copies of the updated rows are stale now
+        em.clear();
+        return new UpsertResult(inserted, updated);
+    }
+
+    private UpsertResult upsertManaged(List<ClientEntity> rows) {
+        var emails = rows.stream().map(ClientEntity::getEmail).toList();
+        var existing = em.createQuery("select c from ClientEntity c where c.email in :emails", ClientEntity.class)
+                .setParameter("emails", emails)
+                .getResultStream()
+                .collect(Collectors.toMap(ClientEntity::getEmail, Function.identity()));
+        var inserted = new ArrayList<ClientEntity>();
+        var updated = new ArrayList<Long>();
+        for (var row : rows) {
+            var current = existing.get(row.getEmail());
+            if (current == null) {
+                em.persist(row);
+                inserted.add(row);
+            } else if (!sameValues(current, row)) {
+                current.setFullName(row.getFullName());
+                current.setDisplayName(row.getDisplayName());
+                current.setDetails(row.getDetails());
+                current.setActive(row.isActive());
+                current.setLocation(row.getLocation());
+                current.setCountry(row.getCountry());
+                updated.add(current.getId());
+            }
+        }
+        em.flush();
+        return new UpsertResult(inserted.stream().map(ClientEntity::getId).toList(), updated);
+    }
+
+    private static boolean sameValues(ClientEntity a, ClientEntity b) {
+        return Objects.equals(a.getFullName(), b.getFullName())
+                && Objects.equals(a.getDisplayName(), b.getDisplayName())
+                && Objects.equals(a.getDetails(), b.getDetails())
+                && a.isActive() == b.isActive()
+                && Objects.equals(a.getLocation(), b.getLocation())
+                && Objects.equals(a.getCountry(), b.getCountry());
+    }
+}
@@ -2,13 +2,22 @@ package com.furqonajiy.crudclient.repository;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Data
 @Entity
-@Table(schema = "public", name = "clients")
+// UPDATE lists only the changed columns, so a PATCH of one flag does not rewrite details
+@DynamicUpdate
+// expression, text_pattern_ops and trigram indexes are Flyway-only (V4)
+@Table(schema = "public", name = "clients", indexes = {
+        @Index(name = "clients_country_active_id_idx", columnList = "country, active, id"),
+        @Index(name = "clients_active_id_idx", columnList = "active, id")
+})
 public class ClientEntity {
+    /** Pooled sequence (see V2 migration) so inserts can be JDBC-batched; keep in sync with hibernate.jdbc.batch_size. */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "clients_seq")
+    @SequenceGenerator(name = "clients_seq", schema = "public", sequenceName = "clients_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "full_name", nullable = false, length = 120)
@@ -30,4 +39,8 @@ public class ClientEntity {
 
     @Column()
     private String country;
+
+    /** Optimistic lock (V5 migration); also the ETag of the single-client endpoints. */
+    @Version
+    private long version;
 }
\ No newline at end of file
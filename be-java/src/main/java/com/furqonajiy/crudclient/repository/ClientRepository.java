@@ -1,6 +1,68 @@
 package com.furqonajiy.crudclient.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface ClientRepository extends JpaRepository<ClientEntity, Long> {
-}
\ No newline at end of file
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ClientRepository extends JpaRepository<ClientEntity, Long>, ClientSearchRepository, ClientBulkRepository {
+
+    /**
+     * Keyset page: rows with id greater than {@code afterId}, ascending, optionally filtered.
+     * Null filters are ignored.
+     */
+    @Query("""
+            select c from ClientEntity c
+            where c.id > :afterId
+              and (:country is null or c.country = :country)
+              and (:active is null or c.active = :active)
+            order by c.id asc
+            """)
+    List<ClientEntity> findPageAfter(@Param("afterId") long afterId,
+                                     @Param("country") String country,
+                                     @Param("active") Boolean active,
+                                     Limit limit);
+
+    /**
+     * Every row ordered by id, read through a server-side cursor. Must be consumed inside a
+     * transaction and closed; callers should detach rows once written.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<ClientEntity> streamAllByOrderByIdAsc();
+
+    /**
+     * Ids of the next rows after {@code afterId} matching the filters, locked ({@code FOR UPDATE}) until
+     * the transaction ends so they cannot change between being chosen and being deleted.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            select c.id from ClientEntity c
+            where c.id > :afterId
+              and (:country is null or c.country = :country)
+              and (:active is null or c.active = :active)
+            order by c.id asc
+            """)
+    List<Long> lockIdsAfter(@Param("afterId") long afterId,
+                            @Param("country") String country,
+                            @Param("active") Boolean active,
+                            Limit limit);
+
+    @Query("select c.id from ClientEntity c where c.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /** Which of the given (normalized) emails are already taken; served by the unique email index. */
+    @Query("select c.email from ClientEntity c where c.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+}
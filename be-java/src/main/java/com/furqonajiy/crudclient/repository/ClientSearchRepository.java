@@ -0,0 +1,21 @@
+package com.furqonajiy.crudclient.repository;
+
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+
+/** Fragment of {@link ClientRepository} for filtered, sorted offset reads without a count query. */
+public interface ClientSearchRepository {
+
+    List<ClientEntity> search(Specification<ClientEntity> spec, Sort sort, long offset, int limit);
+
+    /**
+     * Like {@link #search}, but selects only the given entity attributes, each aliased by its name.
+     * Nothing is hydrated or managed, so unselected columns (notably {@code details}) are never read.
+     * A negative {@code limit} reads every matching row.
+     */
+    List<Tuple> searchColumns(Specification<ClientEntity> spec, Sort sort, Collection<String> attributes, long offset, int limit);
+}
@@ -0,0 +1,54 @@
+package com.furqonajiy.crudclient.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.springframework.data.jpa.repository.query.QueryUtils.toOrders;
+
+class ClientSearchRepositoryImpl implements ClientSearchRepository {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public List<ClientEntity> search(Specification<ClientEntity> spec, Sort sort, long offset, int limit) {
+        var cb = em.getCriteriaBuilder();
+        var q = cb.createQuery(ClientEntity.class);
+        var root = q.from(ClientEntity.class);
+        var where = spec.toPredicate(root, q, cb);
+        if (where != null) {
+            q.where(where);
+        }
+        q.select(root).orderBy(toOrders(sort, root, cb));
+        return em.createQuery(q)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<Tuple> searchColumns(Specification<ClientEntity> spec, Sort sort, Collection<String> attributes,
+                                     long offset, int limit) {
+        var cb = em.getCriteriaBuilder();
+        var q = cb.createTupleQuery();
+        var root = q.from(ClientEntity.class);
+        var where = spec.toPredicate(root, q, cb);
+        if (where != null) {
+            q.where(where);
+        }
+        q.multiselect(attributes.stream().<Selection<?>>map(a -> root.get(a).alias(a)).toList())
+                .orderBy(toOrders(sort, root, cb));
+        var query = em.createQuery(q).setFirstResult(Math.toIntExact(offset));
+        if (limit >= 0) {
+            query.setMaxResults(limit);
+        }
+        return query.getResultList();
+    }
+}
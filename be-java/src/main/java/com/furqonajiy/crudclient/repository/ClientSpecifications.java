@@ -0,0 +1,66 @@
+package com.furqonajiy.crudclient.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Search predicates, written so PostgreSQL can use the V4 indexes: equality on country/active,
+ * {@code lower(col) like 'x%'} for prefixes and {@code like '%x%'} for the trigram indexes.
+ */
+public final class ClientSpecifications {
+
+    private static final char ESCAPE = '\\';
+
+    private ClientSpecifications() {
+    }
+
+    public static Specification<ClientEntity> hasIdIn(Collection<Long> ids) {
+        return (root, q, cb) -> root.get("id").in(ids);
+    }
+
+    public static Specification<ClientEntity> hasCountry(String country) {
+        return (root, q, cb) -> country == null ? null : cb.equal(root.get("country"), country);
+    }
+
+    public static Specification<ClientEntity> isActive(Boolean active) {
+        return (root, q, cb) -> active == null ? null : cb.equal(root.get("active"), active);
+    }
+
+    /** Full name, display name or email starting with {@code text}, ignoring case. */
+    public static Specification<ClientEntity> nameOrEmailStartsWith(String text) {
+        return nameOrEmailLike(text, false);
+    }
+
+    /** Full name, display name or email containing {@code text}, ignoring case. */
+    public static Specification<ClientEntity> nameOrEmailContains(String text) {
+        return nameOrEmailLike(text, true);
+    }
+
+    private static Specification<ClientEntity> nameOrEmailLike(String text, boolean anywhere) {
+        return (root, q, cb) -> {
+            if (text == null || text.isBlank()) {
+                return null;
+            }
+            var escaped = escape(text.trim().toLowerCase(Locale.ROOT));
+            var pattern = (anywhere ? "%" : "") + escaped + "%";
+            return cb.or(
+                    cb.like(cb.lower(root.get("fullName")), pattern, ESCAPE),
+                    cb.like(cb.lower(root.get("displayName")), pattern, ESCAPE),
+                    // stored lower-cased, so no lower() here: keeps the plain email index usable
+                    cb.like(root.get("email"), pattern, ESCAPE));
+        };
+    }
+
+    static String escape(String s) {
+        var sb = new StringBuilder(s.length());
+        for (char c : s.toCharArray()) {
+            if (c == '%' || c == '_' || c == ESCAPE) {
+                sb.append(ESCAPE);
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+}
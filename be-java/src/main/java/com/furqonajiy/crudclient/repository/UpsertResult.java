@@ -0,0 +1,7 @@
+package com.furqonajiy.crudclient.repository;
+
+import java.util.List;
+
+/** Ids touched by {@link ClientBulkRepository#upsertByEmail}; rows that already matched are in neither list. */
+public record UpsertResult(List<Long> inserted, List<Long> updated) {
+}
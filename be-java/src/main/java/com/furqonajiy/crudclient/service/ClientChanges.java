@@ -0,0 +1,60 @@
+package com.furqonajiy.crudclient.service;
+
+import com.furqonajiy.crudclient.model.UpdateClientRequest;
+import com.furqonajiy.crudclient.repository.ClientEntity;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The fields an {@link UpdateClientRequest} sets (null means "leave as is"), with the email normalized.
+ * Equal changes for many rows can be applied by one set-based UPDATE.
+ */
+record ClientChanges(String fullName, String displayName, String email, String details,
+                     Boolean active, String location, String country) {
+
+    static ClientChanges of(UpdateClientRequest req) {
+        return new ClientChanges(req.getFullName(), req.getDisplayName(), ClientService.normalizeEmail(req.getEmail()),
+                req.getDetails(), req.getActive(), req.getLocation(), req.getCountry());
+    }
+
+    boolean isEmpty() {
+        return values().isEmpty();
+    }
+
+    /** Entity attribute name to new value, for the fields that are set. */
+    Map<String, Object> values() {
+        var values = new LinkedHashMap<String, Object>();
+        put(values, "fullName", fullName);
+        put(values, "displayName", displayName);
+        put(values, "email", email);
+        put(values, "details", details);
+        put(values, "active", active);
+        put(values, "location", location);
+        put(values, "country", country);
+        return values;
+    }
+
+    void applyTo(ClientEntity e) {
+        if (fullName != null)
+            e.setFullName(fullName);
+        if (displayName != null)
+            e.setDisplayName(displayName);
+        if (email != null)
+            e.setEmail(email);
+        if (details != null)
+            e.setDetails(details);
+        if (active != null)
+            e.setActive(active);
+        if (location != null)
+            e.setLocation(location);
+        if (country != null)
+            e.setCountry(country);
+    }
+
+    private static void put(Map<String, Object> values, String attribute, Object value) {
+        if (value != null) {
+            values.put(attribute, value);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.furqonajiy.crudclient.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.furqonajiy.crudclient.repository.ClientEntity;
+import com.furqonajiy.crudclient.repository.ClientRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streams every client straight from a database cursor to the response.
+ * Each row is written and then detached, so heap use does not grow with the table.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class ClientExportService {
+
+    static final String CSV_HEADER = "id,fullName,displayName,email,details,active,location,country";
+
+    private final ClientRepository repo;
+    private final EntityManager em;
+    private final ObjectMapper mapper;
+
+    public ClientExportService(ClientRepository repo, EntityManager em, ObjectMapper mapper) {
+        this.repo = repo;
+        this.em = em;
+        this.mapper = mapper;
+    }
+
+    /** Writes all clients ordered by id; returns the number of rows written. */
+    public long export(ExportFormat format, OutputStream out) throws IOException {
+        var writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long rows = 0;
+        try (var stream = repo.streamAllByOrderByIdAsc()) {
+            for (var it = stream.iterator(); it.hasNext(); ) {
+                ClientEntity e = it.next();
+                if (format == ExportFormat.CSV) {
+                    writeCsv(writer, e);
+                } else {
+                    writer.write(mapper.writeValueAsString(ClientService.toDto(e)));
+                    writer.write('\n');
+                }
+                em.detach(e);
+                rows++;
+            }
+        }
+        writer.flush();
+        log.debug("Exported {} clients as {}", rows, format);
+        return rows;
+    }
+
+    private static void writeCsv(Writer w, ClientEntity e) throws IOException {
+        w.write(String.valueOf(e.getId()));
+        w.write(',');
+        writeCsvField(w, e.getFullName());
+        w.write(',');
+        writeCsvField(w, e.getDisplayName());
+        w.write(',');
+        writeCsvField(w, e.getEmail());
+        w.write(',');
+        writeCsvField(w, e.getDetails());
+        w.write(',');
+        w.write(Boolean.toString(e.isActive()));
+        w.write(',');
+        writeCsvField(w, e.getLocation());
+        w.write(',');
+        writeCsvField(w, e.getCountry());
+        w.write('\n');
+    }
+
+    /** RFC 4180: quote when the value has a comma, quote or line break; double embedded quotes. */
+    static void writeCsvField(Writer w, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            w.write(value);
+            return;
+        }
+        w.write('"');
+        w.write(value.replace("\"", "\"\""));
+        w.write('"');
+    }
+}
@@ -0,0 +1,60 @@
+package com.furqonajiy.crudclient.service;
+
+import com.furqonajiy.crudclient.model.ClientDto;
+import jakarta.persistence.Tuple;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/**
+ * Parses the {@code fields} parameter: a comma-separated subset of the {@link ClientDto} properties.
+ * {@code id} is always included; names are kept in declaration order so equal sets give equal keys.
+ */
+record ClientFields(List<String> names) {
+
+    static final List<String> ALL = List.of("id", "fullName", "displayName", "email", "details", "active", "location", "country");
+    static final ClientFields EVERY = new ClientFields(ALL);
+
+    static ClientFields parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return EVERY;
+        }
+        var requested = List.of(fields.split(",")).stream().map(String::trim).filter(f -> !f.isEmpty()).toList();
+        for (var f : requested) {
+            if (!ALL.contains(f)) {
+                throw new ResponseStatusException(BAD_REQUEST, "Unsupported field: " + f);
+            }
+        }
+        return new ClientFields(ALL.stream().filter(f -> f.equals("id") || requested.contains(f)).toList());
+    }
+
+    boolean isAll() {
+        return names.size() == ALL.size();
+    }
+
+    String key() {
+        return String.join(",", names);
+    }
+
+    /** Maps a row selected with {@link #names} as aliases; fields not selected stay null and are omitted. */
+    ClientDto toDto(Tuple row) {
+        var dto = new ClientDto();
+        for (var name : names) {
+            var value = row.get(name);
+            switch (name) {
+                case "id" -> dto.setId((Long) value);
+                case "fullName" -> dto.setFullName((String) value);
+                case "displayName" -> dto.setDisplayName((String) value);
+                case "email" -> dto.setEmail((String) value);
+                case "details" -> dto.setDetails((String) value);
+                case "active" -> dto.setActive((Boolean) value);
+                case "location" -> dto.setLocation((String) value);
+                case "country" -> dto.setCountry((String) value);
+                default -> throw new IllegalStateException("Unmapped field: " + name);
+            }
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,190 @@
+package com.furqonajiy.crudclient.service;
+
+import com.furqonajiy.crudclient.config.ClientProperties;
+import com.furqonajiy.crudclient.model.CreateClientRequest;
+import com.furqonajiy.crudclient.model.ImportReport;
+import com.furqonajiy.crudclient.model.ImportRowError;
+import com.furqonajiy.crudclient.repository.ClientRepository;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/**
+ * Bulk import of a CSV or XLSX upload. Rows are parsed incrementally, validated against the
+ * {@link CreateClientRequest} constraints and committed in chunks of {@code clients.bulk-import.chunk-size},
+ * each chunk in its own transaction through {@link ClientService}. Memory is bounded by the chunk size
+ * plus the capped error list.
+ */
+@Slf4j
+@Service
+public class ClientImportService {
+
+    static final Set<String> REQUIRED_HEADERS = Set.of("fullname", "displayname", "email", "country");
+
+    private final ClientService clientService;
+    private final ClientRepository repo;
+    private final Validator validator;
+    private final ClientProperties props;
+
+    public ClientImportService(ClientService clientService, ClientRepository repo, Validator validator, ClientProperties props) {
+        this.clientService = clientService;
+        this.repo = repo;
+        this.validator = validator;
+        this.props = props;
+    }
+
+    public ImportReport importClients(String fileName, InputStream in) throws IOException {
+        var run = new Run(props.getBulkImport());
+        reader(fileName).read(in, run);
+        return finish(fileName, run);
+    }
+
+    /** Same as the stream variant for an upload already on disk; an XLSX is opened in place instead of copied. */
+    public ImportReport importClients(String fileName, Path file) throws IOException {
+        var run = new Run(props.getBulkImport());
+        reader(fileName).read(file, run);
+        return finish(fileName, run);
+    }
+
+    private ClientRowReader reader(String fileName) {
+        return isXlsx(fileName) ? new XlsxRowReader(props.getBulkImport().getMaxSharedStringsBytes()) : new CsvRowReader();
+    }
+
+    private ImportReport finish(String fileName, Run run) {
+        run.flush();
+        log.debug("Imported {} of {} rows from {}", run.report.getImported(), run.report.getTotalRows(), fileName);
+        return run.report;
+    }
+
+    private static boolean isXlsx(String fileName) {
+        return fileName != null && fileName.toLowerCase(Locale.ROOT).endsWith(".xlsx");
+    }
+
+    private static boolean toBool(String v) {
+        var s = v == null ? "" : v.trim().toLowerCase(Locale.ROOT);
+        return s.equals("1") || s.equals("true") || s.equals("yes") || s.equals("y");
+    }
+
+    /** State of one import: the pending chunk and the running report. */
+    private final class Run implements ClientRowReader.RowHandler {
+        private final ClientProperties.BulkImport cfg;
+        private final ImportReport report = new ImportReport();
+        private final List<PendingRow> chunk = new ArrayList<>();
+
+        Run(ClientProperties.BulkImport cfg) {
+            this.cfg = cfg;
+        }
+
+        @Override
+        public void header(List<String> headers) {
+            var missing = REQUIRED_HEADERS.stream().filter(h -> !headers.contains(h)).sorted().toList();
+            if (!missing.isEmpty()) {
+                throw new ResponseStatusException(BAD_REQUEST, "Missing columns: " + String.join(", ", missing));
+            }
+        }
+
+        @Override
+        public void row(long rowNumber, Map<String, String> values) {
+            report.setTotalRows(report.getTotalRows() + 1);
+
+            var req = toRequest(values);
+            var violations = validator.validate(req);
+            if (!violations.isEmpty()) {
+                var msg = violations.stream()
+                        .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+                fail(rowNumber, msg);
+                return;
+            }
+            chunk.add(new PendingRow(rowNumber, req));
+            if (chunk.size() >= cfg.getChunkSize()) {
+                flush();
+            }
+        }
+
+        /** Commits the pending chunk; rows that would violate the unique email are reported instead. */
+        void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            var emails = chunk.stream().map(r -> ClientService.normalizeEmail(r.req().getEmail())).toList();
+            var taken = new HashSet<>(repo.findExistingEmails(emails));
+            var seen = new HashSet<String>();
+            var accepted = new ArrayList<PendingRow>(chunk.size());
+            for (var row : chunk) {
+                var email = ClientService.normalizeEmail(row.req().getEmail());
+                if (taken.contains(email) || !seen.add(email)) {
+                    fail(row.rowNumber(), "email already exists: " + email);
+                } else {
+                    accepted.add(row);
+                }
+            }
+            chunk.clear();
+            if (accepted.isEmpty()) {
+                return;
+            }
+            try {
+                clientService.createClientsAndReturn(accepted.stream().map(PendingRow::req).toList());
+                report.setImported(report.getImported() + accepted.size());
+            } catch (DataIntegrityViolationException e) {
+                // lost a race with a concurrent writer: retry row by row to pinpoint the offenders
+                for (var row : accepted) {
+                    try {
+                        clientService.createClientAndReturn(row.req());
+                        report.setImported(report.getImported() + 1);
+                    } catch (DataIntegrityViolationException rowEx) {
+                        fail(row.rowNumber(), "constraint violation: " + rowEx.getMostSpecificCause().getMessage());
+                    }
+                }
+            }
+        }
+
+        private void fail(long rowNumber, String message) {
+            report.setFailed(report.getFailed() + 1);
+            if (report.getErrors().size() < cfg.getMaxReportedErrors()) {
+                report.getErrors().add(new ImportRowError(rowNumber, message));
+            } else {
+                report.setErrorsTruncated(true);
+            }
+        }
+    }
+
+    private static CreateClientRequest toRequest(Map<String, String> v) {
+        var req = new CreateClientRequest();
+        req.setFullName(trimToNull(v.get("fullname")));
+        req.setDisplayName(trimToNull(v.get("displayname")));
+        req.setEmail(trimToNull(v.get("email")));
+        req.setDetails(trimToNull(v.get("details")));
+        req.setActive(toBool(v.get("active")));
+        req.setLocation(trimToNull(v.get("location")));
+        req.setCountry(trimToNull(v.get("country")));
+        return req;
+    }
+
+    private static String trimToNull(String s) {
+        if (s == null) {
+            return null;
+        }
+        var t = s.trim();
+        return t.isEmpty() ? null : t;
+    }
+
+    private record PendingRow(long rowNumber, CreateClientRequest req) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.furqonajiy.crudclient.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Incremental reader for an uploaded client sheet. Rows are pushed to the handler one at a time
+ * so nothing but the current row is held in memory.
+ */
+interface ClientRowReader {
+
+    void read(InputStream in, RowHandler handler) throws IOException;
+
+    /** Reads an upload that is already on disk; formats that need random access open it in place. */
+    default void read(Path file, RowHandler handler) throws IOException {
+        try (var in = Files.newInputStream(file)) {
+            read(in, handler);
+        }
+    }
+
+    interface RowHandler {
+        /** Called once with the normalized header names, before any row. */
+        void header(List<String> headers);
+
+        /**
+         * @param rowNumber 1-based row number in the file (the header is row 1)
+         * @param values    cell values keyed by {@link #normalizeHeader normalized} header
+         */
+        void row(long rowNumber, Map<String, String> values);
+    }
+
+    /** "Full Name", "fullName" and "full_name" all become "fullname". */
+    static String normalizeHeader(String header) {
+        return header == null ? "" : header.replaceAll("[^A-Za-z0-9]", "").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,169 @@
+package com.furqonajiy.crudclient.service;
+
+import com.furqonajiy.crudclient.config.ClientProperties;
+import com.furqonajiy.crudclient.eventservice.ClientEvent;
+import com.furqonajiy.crudclient.eventservice.ClientEventBus;
+import com.furqonajiy.crudclient.model.ClientDto;
+import com.furqonajiy.crudclient.repository.ClientRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory ranked text search over full name, display name, email and (the start of) details.
+ * <p>
+ * Built from the database once the application is ready. After that it is kept current by the
+ * change events of {@link ClientService}, delivered through the {@link ClientEventBus}. The index
+ * is rebuilt in the background once tombstones outnumber live entries. Until the first build
+ * finishes, {@link #isReady()} is false and callers should fall back to the database.
+ */
+@Slf4j
+@Component
+public class ClientSearchIndex {
+
+    /** Below this many tombstones a rebuild is never worth it. */
+    private static final int MIN_TOMBSTONES_FOR_REBUILD = 10_000;
+
+    private final ClientRepository repo;
+    private final EntityManager em;
+    private final TransactionTemplate readOnlyTx;
+    private final int detailsMaxChars;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean building = new AtomicBoolean();
+
+    private TrigramIndex index = new TrigramIndex();
+    /** Events seen while a rebuild is reading the table; replayed onto the new index. */
+    private List<ClientEvent> duringBuild;
+    private volatile boolean ready;
+
+    public ClientSearchIndex(ClientRepository repo, EntityManager em, PlatformTransactionManager txManager,
+                             ClientEventBus bus, ClientProperties props) {
+        this.repo = repo;
+        this.em = em;
+        this.readOnlyTx = new TransactionTemplate(txManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.detailsMaxChars = props.getSearch().getDetailsMaxChars();
+        bus.listen(this::apply);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildInBackground() {
+        if (building.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("client-search-index").start(this::rebuild);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /** Best-matching client ids for {@code query}, best first; see {@link TrigramIndex#search}. */
+    public List<Long> search(String query, String country, Boolean active, int limit) {
+        lock.readLock().lock();
+        try {
+            return index.search(query, country, active, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Reads the whole table into a fresh index and swaps it in. */
+    void rebuild() {
+        building.set(true);
+        try {
+            lock.writeLock().lock();
+            try {
+                duringBuild = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            long start = System.nanoTime();
+            var fresh = new TrigramIndex();
+            readOnlyTx.executeWithoutResult(status -> {
+                try (var stream = repo.streamAllByOrderByIdAsc()) {
+                    stream.forEach(e -> {
+                        put(fresh, ClientService.toDto(e));
+                        em.detach(e);
+                    });
+                }
+            });
+
+            lock.writeLock().lock();
+            try {
+                duringBuild.forEach(ev -> apply(fresh, ev));
+                duringBuild = null;
+                index = fresh;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Client search index built: {} clients in {} ms", fresh.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Client search index build failed; text search falls back to the database", e);
+            lock.writeLock().lock();
+            try {
+                duringBuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            building.set(false);
+        }
+    }
+
+    void apply(ClientEvent event) {
+        boolean compact;
+        lock.writeLock().lock();
+        try {
+            apply(index, event);
+            if (duringBuild != null) {
+                duringBuild.add(event);
+            }
+            compact = ready && index.tombstones() > Math.max(MIN_TOMBSTONES_FOR_REBUILD, index.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (compact) {
+            buildInBackground();
+        }
+    }
+
+    private void apply(TrigramIndex target, ClientEvent event) {
+        switch (event.getType()) {
+            case CREATED, UPDATED -> {
+                if (event.getClient() != null) {
+                    put(target, event.getClient());
+                }
+            }
+            case DELETED -> {
+                if (event.getClientId() != null) {
+                    target.remove(event.getClientId());
+                }
+            }
+            case BATCH -> event.getChanges().forEach(c -> apply(target, c));
+        }
+    }
+
+    private void put(TrigramIndex target, ClientDto c) {
+        var details = c.getDetails();
+        if (details != null && details.length() > detailsMaxChars) {
+            details = details.substring(0, detailsMaxChars);
+        }
+        var fields = new String[4];
+        fields[TrigramIndex.FULL_NAME] = c.getFullName();
+        fields[TrigramIndex.DISPLAY_NAME] = c.getDisplayName();
+        fields[TrigramIndex.EMAIL] = c.getEmail();
+        fields[TrigramIndex.DETAILS] = detailsMaxChars > 0 ? details : null;
+        target.put(c.getId(), fields, Boolean.TRUE.equals(c.getActive()), c.getCountry());
+    }
+}
@@ -1,103 +1,559 @@
 package com.furqonajiy.crudclient.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.furqonajiy.crudclient.config.ClientProperties;
+import com.furqonajiy.crudclient.eventservice.ClientEvent;
 import com.furqonajiy.crudclient.model.*;
 import com.furqonajiy.crudclient.repository.ClientEntity;
 import com.furqonajiy.crudclient.repository.ClientRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.Validator;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import static com.furqonajiy.crudclient.repository.ClientSpecifications.*;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.PRECONDITION_FAILED;
 
 @Service
 @Transactional(readOnly = true)
 public class ClientService implements IClientService {
 
+    private static final int IN_CHUNK = 1000;
+
     private final ClientRepository repo;
+    private final ClientProperties props;
+    private final ApplicationEventPublisher events;
+    private final ClientSearchIndex searchIndex;
+    private final Validator validator;
+    private final TransactionTemplate chunkTx;
+    /** Merge patch members map onto the create model; unknown members and null for {@code active} are errors. */
+    private final ObjectReader mergePatch;
+    private final DistributionSummary createBatch;
+    private final DistributionSummary upsertBatch;
+    private final DistributionSummary updateBatch;
+    private final DistributionSummary deleteBatch;
+    private final DistributionSummary purgeBatch;
 
-    public ClientService(ClientRepository repo) {
+    public ClientService(ClientRepository repo, ClientProperties props, ApplicationEventPublisher events,
+                         ClientSearchIndex searchIndex, Validator validator, PlatformTransactionManager txManager,
+                         ObjectMapper mapper, MeterRegistry meters) {
         this.repo = repo;
+        this.props = props;
+        this.events = events;
+        this.searchIndex = searchIndex;
+        this.validator = validator;
+        this.chunkTx = new TransactionTemplate(txManager);
+        this.mergePatch = mapper.readerFor(CreateClientRequest.class)
+                .with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, DeserializationFeature.FAIL_ON_NULL_FOR_PRIMITIVES);
+        this.createBatch = batchSize(meters, "create");
+        this.upsertBatch = batchSize(meters, "upsert");
+        this.updateBatch = batchSize(meters, "update");
+        this.deleteBatch = batchSize(meters, "delete");
+        this.purgeBatch = batchSize(meters, "purge");
     }
 
     @Override
     @Transactional
     public ClientResponse createClient(CreateClientRequest req) {
-        repo.save(mapToEntity(req));
+        insert(req);
         return snapshot();
     }
 
     @Override
     @Transactional
     public ClientResponse createClients(List<CreateClientRequest> reqs) {
-        if (reqs != null && !reqs.isEmpty()) {
-            var entities = reqs.stream().map(this::mapToEntity).toList();
-            repo.saveAll(entities);
-        }
+        insertAll(reqs);
         return snapshot();
     }
 
+    @Override
+    @Transactional
+    public ClientDto createClientAndReturn(CreateClientRequest req) {
+        return toDto(insert(req));
+    }
+
+    @Override
+    @Transactional
+    public List<ClientDto> createClientsAndReturn(List<CreateClientRequest> reqs) {
+        return insertAll(reqs).stream().map(ClientService::toDto).toList();
+    }
+
     @Override
     public ClientResponse getAllClients() {
         return snapshot();
     }
 
+    /**
+     * Full list restricted to the comma-separated {@code fields}; reads only those columns.
+     * Blank means every field.
+     */
+    @Override
+    public ClientResponse getAllClients(String fields) {
+        var f = ClientFields.parse(fields);
+        return new ClientResponse(load(Specification.where(null), Sort.by("id"), f, 0, -1));
+    }
+
+    /**
+     * Keyset page ordered by id. Fetches one extra row to know whether another page exists,
+     * so no count query is needed.
+     */
+    @Override
+    public ClientPageResponse getClientsPage(String cursor, Integer size, String country, Boolean active) {
+        var pageSize = resolvePageSize(size);
+        var rows = repo.findPageAfter(ClientCursor.decode(cursor), country, active, Limit.of(pageSize + 1));
+
+        var hasMore = rows.size() > pageSize;
+        var page = hasMore ? rows.subList(0, pageSize) : rows;
+        var next = hasMore ? ClientCursor.encode(page.getLast().getId()) : null;
+        return new ClientPageResponse(page.stream().map(ClientService::toDto).toList(), next);
+    }
+
+    /**
+     * Filtered, sorted offset page for the search endpoint. Like {@link #getClientsPage}, it reads one
+     * extra row rather than running a count query. With {@code q} the page is ranked by
+     * {@link ClientSearchIndex} instead, or by a plain contains filter while the index is still loading.
+     */
+    @Override
+    public ClientSearchResponse searchClients(ClientSearchRequest req) {
+        var size = resolvePageSize(req.getSize());
+        var page = req.getPage() == null ? 0 : Math.max(0, req.getPage());
+        var offset = (long) page * size;
+        if (offset > Integer.MAX_VALUE) {
+            throw new ResponseStatusException(BAD_REQUEST, "Page out of range: " + page);
+        }
+        var fields = ClientFields.parse(req.getFields());
+        if (req.getQ() != null && !req.getQ().isBlank() && searchIndex.isReady()) {
+            return rankedSearch(req, fields, (int) offset, page, size);
+        }
+        var spec = Specification.allOf(
+                hasCountry(req.getCountry()),
+                isActive(req.getActive()),
+                req.getQ() != null && !req.getQ().isBlank()
+                        ? nameOrEmailContains(req.getQ().trim())
+                        : textFilter(req.getPrefix(), req.getMatch()));
+        var rows = load(spec, ClientSort.parse(req.getSort()), fields, offset, size + 1);
+
+        var hasNext = rows.size() > size;
+        return new ClientSearchResponse(hasNext ? rows.subList(0, size) : rows, page, size, hasNext);
+    }
+
+    private ClientSearchResponse rankedSearch(ClientSearchRequest req, ClientFields fields, int offset, int page, int size) {
+        var limit = (int) Math.min(Integer.MAX_VALUE, (long) offset + size + 1);
+        var ids = searchIndex.search(req.getQ(), req.getCountry(), req.getActive(), limit);
+        var hasNext = ids.size() > offset + size;
+        if (ids.size() <= offset) {
+            return new ClientSearchResponse(List.of(), page, size, false);
+        }
+        var pageIds = ids.subList(offset, Math.min(ids.size(), offset + size));
+        var byId = load(hasIdIn(pageIds), Sort.unsorted(), fields, 0, pageIds.size()).stream()
+                .collect(Collectors.toMap(ClientDto::getId, Function.identity()));
+        // rows deleted since the index answered are simply missing
+        var dtos = pageIds.stream().map(byId::get).filter(Objects::nonNull).toList();
+        return new ClientSearchResponse(dtos, page, size, hasNext);
+    }
+
+    /** Reads whole rows when every field is wanted, otherwise only the selected columns. */
+    private List<ClientDto> load(Specification<ClientEntity> spec, Sort sort, ClientFields fields, long offset, int limit) {
+        if (fields.isAll() && limit >= 0) {
+            return repo.search(spec, sort, offset, limit).stream().map(ClientService::toDto).toList();
+        }
+        return repo.searchColumns(spec, sort, fields.names(), offset, limit).stream().map(fields::toDto).toList();
+    }
+
+    /**
+     * Inserts or updates by (normalized) email, {@code clients.upsert.batch-size} rows per statement, all in
+     * one transaction. Unlike {@link #createClients}, an existing email updates that client instead of
+     * failing the batch. One BATCH event lists the inserted and updated rows.
+     */
     @Override
     @Transactional
-    public ClientResponse updateClient(UpdateClientRequest req) {
-        var e = repo.findById(req.getId())
-                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Client not found: " + req.getId()));
-
-        if (req.getFullName() != null)
-            e.setFullName(req.getFullName());
-        if (req.getDisplayName() != null)
-            e.setDisplayName(req.getDisplayName());
-        if (req.getEmail() != null)
-            e.setEmail(normalizeEmail(req.getEmail()));
-        if (req.getDetails() != null)
-            e.setDetails(req.getDetails());
-        e.setActive(req.isActive());
-        if (req.getLocation() != null)
-            e.setLocation(req.getLocation());
-        if (req.getCountry() != null)
-            e.setCountry(req.getCountry());
+    public UpsertReport upsertClients(List<CreateClientRequest> reqs) {
+        var report = new UpsertReport();
+        if (reqs == null || reqs.isEmpty()) {
+            return report;
+        }
+        upsertBatch.record(reqs.size());
+        var byEmail = new LinkedHashMap<String, ClientEntity>();
+        for (var req : reqs) {
+            var e = mapToEntity(req);
+            byEmail.put(e.getEmail(), e);
+        }
+        var inserted = new ArrayList<Long>();
+        var updated = new ArrayList<Long>();
+        var rows = List.copyOf(byEmail.values());
+        var batchSize = props.getUpsert().getBatchSize();
+        for (int i = 0; i < rows.size(); i += batchSize) {
+            var result = repo.upsertByEmail(rows.subList(i, Math.min(rows.size(), i + batchSize)));
+            inserted.addAll(result.inserted());
+            updated.addAll(result.updated());
+        }
 
-        repo.save(e);
+        var insertedIds = new HashSet<>(inserted);
+        var changes = new ArrayList<ClientEvent>(inserted.size() + updated.size());
+        var changedIds = new ArrayList<Long>(inserted);
+        changedIds.addAll(updated);
+        for (var chunk : chunks(changedIds)) {
+            repo.findAllById(chunk).forEach(e -> changes.add(insertedIds.contains(e.getId())
+                    ? ClientEvent.created(toDto(e))
+                    : ClientEvent.updated(toDto(e))));
+        }
+        if (!changes.isEmpty()) {
+            changed(ClientEvent.batch(changes));
+        }
+
+        report.setReceived(reqs.size());
+        report.setDuplicates(reqs.size() - rows.size());
+        report.setInserted(inserted.size());
+        report.setUpdated(updated.size());
+        report.setUnchanged(rows.size() - inserted.size() - updated.size());
+        return report;
+    }
+
+    @Override
+    @Transactional
+    public ClientResponse updateClient(UpdateClientRequest req) {
+        applyUpdate(req);
         return snapshot();
     }
 
+    @Override
+    @Transactional
+    public ClientDto updateClientAndReturn(UpdateClientRequest req) {
+        return toDto(applyUpdate(req));
+    }
+
+    @Override
+    public VersionedClient getClient(long id) {
+        var e = find(id);
+        return new VersionedClient(toDto(e), e.getVersion());
+    }
+
+    /**
+     * Applies a JSON Merge Patch (RFC 7386): members present in {@code patch} replace the stored value,
+     * {@code null} clears it, absent members are untouched. The result must pass the same constraints as
+     * a create. {@code expectedVersion} comes from {@code If-Match}; a stale one fails with 412 before
+     * anything is written. A writer that commits between our read and our flush is caught by the
+     * version check in the UPDATE instead and surfaces as an optimistic locking failure (409).
+     */
+    @Override
+    @Transactional
+    public VersionedClient patchClient(long id, JsonNode patch, Long expectedVersion) {
+        if (patch == null || !patch.isObject()) {
+            throw new ResponseStatusException(BAD_REQUEST, "Merge patch must be a JSON object");
+        }
+        var e = find(id);
+        if (expectedVersion != null && expectedVersion != e.getVersion()) {
+            throw new ResponseStatusException(PRECONDITION_FAILED,
+                    "Client " + id + " is at version " + e.getVersion() + ", not " + expectedVersion);
+        }
+        var current = toRequest(e);
+        var merged = toRequest(e);
+        try {
+            mergePatch.withValueToUpdate(merged).readValue(patch);
+        } catch (JsonProcessingException ex) {
+            throw new ResponseStatusException(BAD_REQUEST, "Invalid merge patch: " + ex.getOriginalMessage());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        var violations = validator.validate(merged);
+        if (!violations.isEmpty()) {
+            throw new ResponseStatusException(BAD_REQUEST, violations.stream()
+                    .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        merged.setEmail(normalizeEmail(merged.getEmail()));
+        if (merged.equals(current)) {
+            return new VersionedClient(toDto(e), e.getVersion());
+        }
+
+        copy(merged, e);
+        // flush now so the version bump (and any lost race) is known before we answer
+        repo.saveAndFlush(e);
+        var dto = toDto(e);
+        changed(ClientEvent.updated(dto));
+        return new VersionedClient(dto, e.getVersion());
+    }
+
+    /**
+     * Applies many partial updates in one transaction. Items that set exactly the same values (say,
+     * {@code active=false} for thousands of ids) share one set-based {@code UPDATE ... WHERE id IN}
+     * per chunk once there are at least {@code clients.bulk-update.set-based-min-rows} of them; the rest
+     * are written as JDBC-batched UPDATEs by id, without loading them first. Rows that already hold
+     * the values are not written and are reported UNCHANGED; one BATCH event carries the rows written.
+     */
+    @Override
+    @Transactional
+    public BulkUpdateReport updateClients(List<UpdateClientRequest> reqs) {
+        var report = new BulkUpdateReport();
+        if (reqs == null || reqs.isEmpty()) {
+            return report;
+        }
+        var cfg = props.getBulkUpdate();
+        if (reqs.size() > cfg.getMaxItems()) {
+            throw new ResponseStatusException(BAD_REQUEST, "At most " + cfg.getMaxItems() + " updates per request");
+        }
+        updateBatch.record(reqs.size());
+        var changesById = new LinkedHashMap<Long, ClientChanges>();
+        for (var req : reqs) {
+            if (changesById.put(req.getId(), ClientChanges.of(req)) != null) {
+                throw new ResponseStatusException(BAD_REQUEST, "Duplicate id: " + req.getId());
+            }
+        }
+        var existing = new HashSet<Long>();
+        for (var chunk : chunks(changesById.keySet())) {
+            existing.addAll(repo.findExistingIds(chunk));
+        }
+
+        var statuses = new HashMap<Long, BulkUpdateStatus>();
+        var groups = new LinkedHashMap<ClientChanges, List<Long>>();
+        changesById.forEach((id, changes) -> {
+            if (!existing.contains(id)) {
+                statuses.put(id, BulkUpdateStatus.NOT_FOUND);
+            } else if (changes.isEmpty()) {
+                statuses.put(id, BulkUpdateStatus.UNCHANGED);
+            } else {
+                groups.computeIfAbsent(changes, c -> new ArrayList<>()).add(id);
+            }
+        });
+
+        var updated = new ArrayList<Long>();
+        var rowByRow = new LinkedHashMap<Long, Map<String, Object>>();
+        groups.forEach((changes, ids) -> {
+            if (ids.size() >= cfg.getSetBasedMinRows()) {
+                for (var chunk : chunks(ids)) {
+                    updated.addAll(repo.updateAll(chunk, changes.values()));
+                }
+            } else {
+                ids.forEach(id -> rowByRow.put(id, changes.values()));
+            }
+        });
+        updated.addAll(repo.updateEach(rowByRow));
+        var written = new HashSet<>(updated);
+        groups.values().forEach(ids -> ids.forEach(id ->
+                statuses.put(id, written.contains(id) ? BulkUpdateStatus.UPDATED : BulkUpdateStatus.UNCHANGED)));
+
+        var dtos = new ArrayList<ClientDto>(updated.size());
+        for (var chunk : chunks(updated)) {
+            repo.findAllById(chunk).forEach(e -> dtos.add(toDto(e)));
+        }
+        if (!dtos.isEmpty()) {
+            changed(ClientEvent.batch(dtos.stream().map(ClientEvent::updated).toList()));
+        }
+
+        changesById.keySet().forEach(id -> report.getResults().add(new BulkUpdateResult(id, statuses.get(id))));
+        report.setUpdated(updated.size());
+        report.setUnchanged(statuses.values().stream().filter(BulkUpdateStatus.UNCHANGED::equals).count());
+        report.setNotFound(changesById.size() - existing.size());
+        return report;
+    }
+
     @Override
     @Transactional
     public ClientResponse deleteMultipleClients(DeleteMultipleClientRequest req) {
+        deleteByIds(req);
+        return snapshot();
+    }
+
+    /**
+     * Deletes every client matching the filters (at least one is required) in chunks of
+     * {@code clients.bulk-delete.chunk-size}, walking the id index. Each chunk locks, deletes and commits
+     * in its own short transaction, so no lock is held across the whole purge; in exchange the purge is
+     * not atomic, and a failure leaves the chunks before it deleted. One BATCH event lists every deleted
+     * id once the last chunk has committed, or once a chunk has failed, so committed deletes are always
+     * announced.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long deleteClientsMatching(String country, Boolean active) {
+        if (country == null && active == null) {
+            throw new ResponseStatusException(BAD_REQUEST, "At least one filter (country, active) is required");
+        }
+        var chunkSize = props.getBulkDelete().getChunkSize();
+        var deleted = new ArrayList<Long>();
+        try {
+            List<Long> chunk;
+            do {
+                var afterId = deleted.isEmpty() ? 0L : deleted.getLast();
+                chunk = chunkTx.execute(status -> {
+                    var ids = repo.lockIdsAfter(afterId, country, active, Limit.of(chunkSize));
+                    if (!ids.isEmpty()) {
+                        repo.deleteAllByIdInBatch(ids);
+                    }
+                    return ids;
+                });
+                deleted.addAll(chunk);
+            } while (chunk.size() == chunkSize);
+        } finally {
+            // only committed chunks are in the list
+            purgeBatch.record(deleted.size());
+            if (!deleted.isEmpty()) {
+                changed(ClientEvent.batch(deleted.stream().map(ClientEvent::deleted).toList()));
+            }
+        }
+        return deleted.size();
+    }
+
+    /** Returns the distinct ids that were submitted for deletion. */
+    @Override
+    @Transactional
+    public List<Long> deleteMultipleClientsAndReturnIds(DeleteMultipleClientRequest req) {
+        return deleteByIds(req);
+    }
+
+    // ---- write helpers (no snapshot) ----
+
+    private ClientEntity insert(CreateClientRequest req) {
+        var e = mapToEntity(req);
+        repo.save(e);
+        changed(ClientEvent.created(toDto(e)));
+        return e;
+    }
+
+    private List<ClientEntity> insertAll(List<CreateClientRequest> reqs) {
+        if (reqs == null || reqs.isEmpty()) {
+            return List.of();
+        }
+        createBatch.record(reqs.size());
+        var entities = reqs.stream().map(this::mapToEntity).toList();
+        repo.saveAll(entities);
+        changed(ClientEvent.batch(entities.stream().map(e -> ClientEvent.created(toDto(e))).toList()));
+        return entities;
+    }
+
+    private ClientEntity find(long id) {
+        return repo.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Client not found: " + id));
+    }
+
+    private ClientEntity applyUpdate(UpdateClientRequest req) {
+        var e = find(req.getId());
+        ClientChanges.of(req).applyTo(e);
+        repo.save(e);
+        changed(ClientEvent.updated(toDto(e)));
+        return e;
+    }
+
+    private List<Long> deleteByIds(DeleteMultipleClientRequest req) {
         var ids = req.getIds().stream().filter(Objects::nonNull).distinct().toList();
+        deleteBatch.record(ids.size());
         if (!ids.isEmpty()) {
             repo.deleteAllByIdInBatch(ids);
+            changed(ClientEvent.batch(ids.stream().map(ClientEvent::deleted).toList()));
         }
-        return snapshot();
+        return ids;
+    }
+
+    /**
+     * Hands the change to after-commit listeners (snapshot cache, SSE). Ids are already assigned
+     * here because they come from the pooled sequence, not from the insert.
+     */
+    private void changed(ClientEvent event) {
+        events.publishEvent(event);
     }
 
     // ---- helpers ----
 
+    /** Items per bulk call, tagged by operation ({@code clients.bulk.batch.size}). */
+    private static DistributionSummary batchSize(MeterRegistry meters, String operation) {
+        return DistributionSummary.builder("clients.bulk.batch.size")
+                .description("Items submitted to one bulk operation")
+                .baseUnit("items")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meters);
+    }
+
     private ClientEntity mapToEntity(CreateClientRequest req) {
         var e = new ClientEntity();
+        copy(req, e);
+        e.setEmail(normalizeEmail(req.getEmail()));
+        return e;
+    }
+
+    private static void copy(CreateClientRequest req, ClientEntity e) {
         e.setFullName(req.getFullName());
         e.setDisplayName(req.getDisplayName());
-        e.setEmail(normalizeEmail(req.getEmail()));
+        e.setEmail(req.getEmail());
         e.setDetails(req.getDetails());
         e.setActive(req.isActive());
         e.setLocation(req.getLocation());
         e.setCountry(req.getCountry());
-        return e;
     }
 
-    private static String normalizeEmail(String email) {
+    private static CreateClientRequest toRequest(ClientEntity e) {
+        var req = new CreateClientRequest();
+        req.setFullName(e.getFullName());
+        req.setDisplayName(e.getDisplayName());
+        req.setEmail(e.getEmail());
+        req.setDetails(e.getDetails());
+        req.setActive(e.isActive());
+        req.setLocation(e.getLocation());
+        req.setCountry(e.getCountry());
+        return req;
+    }
+
+    private static Specification<ClientEntity> textFilter(String text, String match) {
+        if (match == null || match.isBlank() || match.equalsIgnoreCase("prefix")) {
+            return nameOrEmailStartsWith(text);
+        }
+        if (match.equalsIgnoreCase("contains")) {
+            return nameOrEmailContains(text);
+        }
+        throw new ResponseStatusException(BAD_REQUEST, "Unsupported match: " + match);
+    }
+
+    private int resolvePageSize(Integer size) {
+        var cfg = props.getPage();
+        if (size == null || size < 1) {
+            return cfg.getDefaultSize();
+        }
+        return Math.min(size, cfg.getMaxSize());
+    }
+
+    /** Splits ids into IN lists small enough for any driver's bind-parameter limit. */
+    private static List<List<Long>> chunks(Collection<Long> ids) {
+        var list = List.copyOf(ids);
+        var out = new ArrayList<List<Long>>();
+        for (int i = 0; i < list.size(); i += IN_CHUNK) {
+            out.add(list.subList(i, Math.min(list.size(), i + IN_CHUNK)));
+        }
+        return out;
+    }
+
+    static String normalizeEmail(String email) {
         return email == null ? null : email.trim().toLowerCase();
     }
 
-    private ClientDto toDto(ClientEntity e) {
+    static ClientDto toDto(ClientEntity e) {
         return new ClientDto(
                 e.getId(),
                 e.getFullName(),
@@ -116,7 +572,7 @@ public class ClientService implements IClientService {
     private ClientResponse snapshot() {
         var dtos = repo.findAll(Sort.by(Sort.Direction.ASC, "id"))
                 .stream()
-                .map(this::toDto)
+                .map(ClientService::toDto)
                 .toList();
         return new ClientResponse(dtos);
     }
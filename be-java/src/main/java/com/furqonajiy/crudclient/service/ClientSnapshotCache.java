@@ -0,0 +1,166 @@
+package com.furqonajiy.crudclient.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.furqonajiy.crudclient.eventservice.ClientEvent;
+import com.furqonajiy.crudclient.eventservice.ClientEventBus;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the current {@code GET /api/v1/clients} response as ready-to-write bytes, one entry per
+ * requested {@code fields} set (there are at most 2<sup>7</sup> of them, since {@code id} is always included)
+ * and {@link WireFormat}.
+ * <p>
+ * The version is bumped after every committed write and every entry is dropped, so only the variants
+ * asked for since the last write are held. Each is rebuilt lazily on its next read, by one caller at a
+ * time. A read that races a commit may build from older data, but it is tagged with the version read
+ * <em>before</em> loading and is not kept, so the following read rebuilds it.
+ * <p>
+ * Each rebuild records its duration ({@code clients.snapshot.build}), row count ({@code clients.snapshot.rows})
+ * and payload size per format and encoding ({@code clients.snapshot.bytes}).
+ */
+@Slf4j
+@Component
+public class ClientSnapshotCache {
+
+    private final ClientService service;
+    private final Map<WireFormat, ObjectMapper> mappers = new EnumMap<>(WireFormat.class);
+    private final MeterRegistry meters;
+    private final AtomicLong version = new AtomicLong();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    /** Distinguishes ETags across restarts, since the version counter starts from zero again. */
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Map<String, SerializedSnapshot> current = new ConcurrentHashMap<>();
+
+    private final Timer buildTime;
+    private final DistributionSummary rows;
+
+    public ClientSnapshotCache(ClientService service, ObjectMapper mapper, ClientEventBus bus, MeterRegistry meters) {
+        this.service = service;
+        for (var format : WireFormat.values()) {
+            mappers.put(format, format.mapper(mapper));
+        }
+        this.meters = meters;
+        this.buildTime = Timer.builder("clients.snapshot.build")
+                .description("Loading and serializing the client list snapshot")
+                .publishPercentileHistogram()
+                .register(meters);
+        this.rows = DistributionSummary.builder("clients.snapshot.rows")
+                .description("Clients in a rebuilt snapshot")
+                .baseUnit("rows")
+                .publishPercentileHistogram()
+                .register(meters);
+        // writes committed on other nodes
+        bus.listen(e -> invalidate());
+    }
+
+    public SerializedSnapshot get() {
+        return get(null);
+    }
+
+    /** JSON snapshot restricted to the comma-separated {@code fields}; blank means every field. */
+    public SerializedSnapshot get(String fields) {
+        return get(fields, WireFormat.JSON);
+    }
+
+    public SerializedSnapshot get(String fields, WireFormat format) {
+        var fieldsKey = ClientFields.parse(fields).key();
+        var key = format + ":" + fieldsKey;
+        var snap = current.get(key);
+        if (snap != null && snap.version() == version.get()) {
+            return snap;
+        }
+        rebuildLock.lock();
+        try {
+            var v = version.get();
+            snap = current.get(key);
+            if (snap == null || snap.version() != v) {
+                snap = build(v, fieldsKey, format);
+                current.put(key, snap);
+                // a write committed during the build already cleared the map; don't keep the stale copy
+                if (version.get() != v) {
+                    current.remove(key, snap);
+                }
+            }
+            return snap;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Runs after commit, or immediately when published outside a transaction. Local writes invalidate
+     * here rather than via the bus, so this node reads its own writes even when the bus is asynchronous.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClientEvent(ClientEvent event) {
+        invalidate();
+    }
+
+    public void invalidate() {
+        version.incrementAndGet();
+        current.clear();
+    }
+
+    /** Snapshot variants currently held. */
+    int size() {
+        return current.size();
+    }
+
+    private SerializedSnapshot build(long v, String fields, WireFormat format) {
+        var sample = Timer.start();
+        try {
+            var response = service.getAllClients(fields);
+            var body = mappers.get(format).writeValueAsBytes(response);
+            var gz = gzip(body);
+            // field set and format are part of the tag so a variant never revalidates against another
+            var variant = format == WireFormat.JSON ? fields : format + ":" + fields;
+            var etag = "\"" + epoch + "-" + v + "-" + Integer.toHexString(variant.hashCode()) + "\"";
+            sample.stop(buildTime);
+            rows.record(response.getClients() == null ? 0 : response.getClients().size());
+            payloadSize(format, "identity").record(body.length);
+            payloadSize(format, "gzip").record(gz.length);
+            log.debug("Rebuilt client snapshot v{} [{}] {} ({} bytes)", v, fields, format, body.length);
+            return new SerializedSnapshot(v, etag, format, body, gz);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize client snapshot", e);
+        }
+    }
+
+    private DistributionSummary payloadSize(WireFormat format, String encoding) {
+        return DistributionSummary.builder("clients.snapshot.bytes")
+                .description("Serialized size of a rebuilt snapshot")
+                .baseUnit("bytes")
+                .tag("format", format.name().toLowerCase(Locale.ROOT))
+                .tag("encoding", encoding)
+                .publishPercentileHistogram()
+                .register(meters);
+    }
+
+    private static byte[] gzip(byte[] data) {
+        var out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (var gz = new GZIPOutputStream(out)) {
+            gz.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
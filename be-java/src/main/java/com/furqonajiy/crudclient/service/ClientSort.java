@@ -0,0 +1,34 @@
+package com.furqonajiy.crudclient.service;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Set;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/** Parses the {@code sort} parameter of the search endpoint ({@code field} or {@code field,asc|desc}). */
+final class ClientSort {
+
+    private static final Set<String> FIELDS = Set.of("id", "fullName", "displayName", "email", "country");
+    private static final Sort BY_ID = Sort.by("id");
+
+    private ClientSort() {
+    }
+
+    static Sort parse(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return BY_ID;
+        }
+        var parts = sort.split(",", 2);
+        var field = parts[0].trim();
+        if (!FIELDS.contains(field)) {
+            throw new ResponseStatusException(BAD_REQUEST, "Unsupported sort field: " + field);
+        }
+        var dir = parts.length < 2 ? Sort.Direction.ASC : Sort.Direction.fromOptionalString(parts[1].trim())
+                .orElseThrow(() -> new ResponseStatusException(BAD_REQUEST, "Unsupported sort direction: " + parts[1]));
+        var order = Sort.by(dir, field);
+        // id breaks ties so offset pages never overlap
+        return field.equals("id") ? order : order.and(BY_ID);
+    }
+}
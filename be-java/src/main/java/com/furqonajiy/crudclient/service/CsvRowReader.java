@@ -0,0 +1,83 @@
+package com.furqonajiy.crudclient.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/** Streaming RFC 4180 reader (quoted fields, doubled quotes, CRLF/LF, optional UTF-8 BOM). */
+class CsvRowReader implements ClientRowReader {
+
+    @Override
+    public void read(InputStream in, RowHandler handler) throws IOException {
+        var reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        reader.mark(1);
+        if (reader.read() != '\uFEFF') {
+            reader.reset();
+        }
+
+        List<String> headers = null;
+        long rowNumber = 0;
+        List<String> record;
+        while ((record = nextRecord(reader)) != null) {
+            rowNumber++;
+            if (headers == null) {
+                headers = record.stream().map(ClientRowReader::normalizeHeader).toList();
+                handler.header(headers);
+                continue;
+            }
+            if (record.size() == 1 && record.getFirst().isBlank()) {
+                continue;
+            }
+            var values = new HashMap<String, String>(headers.size() * 2);
+            for (int i = 0; i < headers.size() && i < record.size(); i++) {
+                values.put(headers.get(i), record.get(i));
+            }
+            handler.row(rowNumber, values);
+        }
+    }
+
+    /** Returns the next record, or null at end of input. */
+    static List<String> nextRecord(Reader r) throws IOException {
+        var fields = new ArrayList<String>();
+        var field = new StringBuilder();
+        boolean quoted = false;
+        boolean any = false;
+        int c;
+        while ((c = r.read()) != -1) {
+            any = true;
+            if (quoted) {
+                if (c == '"') {
+                    r.mark(1);
+                    if (r.read() == '"') {
+                        field.append('"');
+                    } else {
+                        r.reset();
+                        quoted = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+        if (!any) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -1,5 +1,6 @@
 package com.furqonajiy.crudclient.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.furqonajiy.crudclient.model.*;
 
 import java.util.List;
@@ -7,7 +8,21 @@ import java.util.List;
 public interface IClientService {
     ClientResponse createClient(CreateClientRequest req);
     ClientResponse createClients(List<CreateClientRequest> reqs);
+    UpsertReport upsertClients(List<CreateClientRequest> reqs);
     ClientResponse getAllClients();
+    ClientResponse getAllClients(String fields);
+    ClientPageResponse getClientsPage(String cursor, Integer size, String country, Boolean active);
+    ClientSearchResponse searchClients(ClientSearchRequest req);
+    VersionedClient getClient(long id);
+    VersionedClient patchClient(long id, JsonNode patch, Long expectedVersion);
     ClientResponse updateClient(UpdateClientRequest req);
+    BulkUpdateReport updateClients(List<UpdateClientRequest> reqs);
     ClientResponse deleteMultipleClients(DeleteMultipleClientRequest req);
+    long deleteClientsMatching(String country, Boolean active);
+
+    // Variants that return only the affected rows/ids instead of a full snapshot.
+    ClientDto createClientAndReturn(CreateClientRequest req);
+    List<ClientDto> createClientsAndReturn(List<CreateClientRequest> reqs);
+    ClientDto updateClientAndReturn(UpdateClientRequest req);
+    List<Long> deleteMultipleClientsAndReturnIds(DeleteMultipleClientRequest req);
 }
\ No newline at end of file
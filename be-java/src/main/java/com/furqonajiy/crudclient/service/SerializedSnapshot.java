@@ -0,0 +1,41 @@
+package com.furqonajiy.crudclient.service;
+
+/**
+ * The full client list, already serialized in one {@link WireFormat} (plus a gzip copy), tagged with the
+ * cache version it was built for. The two encodings are different representations, so the gzip copy
+ * has its own strong tag, {@link #gzipEtag()}.
+ */
+public record SerializedSnapshot(long version, String etag, WireFormat format, byte[] body, byte[] gzip) {
+
+    /** {@link #etag()} with a {@code -gz} suffix inside the quotes. */
+    public String gzipEtag() {
+        return etag.substring(0, etag.length() - 1) + "-gz\"";
+    }
+
+    public String etag(boolean gzipped) {
+        return gzipped ? gzipEtag() : etag;
+    }
+
+    /**
+     * Weak comparison as required for {@code If-None-Match}; handles lists and {@code *}. Either
+     * encoding's tag matches, since both stand for the same content.
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            var t = tag.trim();
+            if (t.equals("*")) {
+                return true;
+            }
+            if (t.startsWith("W/")) {
+                t = t.substring(2);
+            }
+            if (t.equals(etag) || t.equals(gzipEtag())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
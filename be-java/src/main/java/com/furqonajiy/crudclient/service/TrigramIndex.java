@@ -0,0 +1,256 @@
+package com.furqonajiy.crudclient.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Inverted trigram index over the searchable text of each client. Not thread-safe; {@link ClientSearchIndex}
+ * guards it with a read/write lock.
+ * <p>
+ * Every word is indexed as the trigrams of {@code " " + word}, so the first trigram marks a word start.
+ * A posting is {@code docId << 2 | field}. Doc ids only grow, so every posting list is sorted and
+ * membership is a binary search. Updates tombstone the old doc id and append a new one.
+ * <p>
+ * Trigrams only narrow the candidates: they say nothing about order or adjacency ({@code abab} shares
+ * its trigrams with {@code abax bab}). Each candidate field is confirmed against its normalized text,
+ * kept per posting as {@code " " + words joined by " "}.
+ */
+final class TrigramIndex {
+
+    static final int FULL_NAME = 0;
+    static final int DISPLAY_NAME = 1;
+    static final int EMAIL = 2;
+    static final int DETAILS = 3;
+    /** Relevance of a match per field, indexed by field. */
+    private static final int[] WEIGHTS = {3, 4, 2, 1};
+    private static final int WORD_START_BONUS = 1;
+
+    private final Map<Long, IntList> postings = new HashMap<>();
+    private final Map<Long, Integer> docOf = new HashMap<>();
+    private final BitSet dead = new BitSet();
+    private final BitSet active = new BitSet();
+    private final Map<String, Integer> countryCodes = new HashMap<>();
+    private long[] clientIds = new long[1024];
+    private int[] countries = new int[1024];
+    /** Normalized text per posting ({@code doc << 2 | field}); null for empty fields and dead docs. */
+    private String[] texts = new String[1024 << 2];
+    private int docs;
+    private int tombstones;
+
+    /** Indexes (or re-indexes) a client; {@code fields} is indexed by the field constants above. */
+    void put(long clientId, String[] fields, boolean isActive, String country) {
+        remove(clientId);
+        int doc = docs++;
+        if (doc == clientIds.length) {
+            clientIds = Arrays.copyOf(clientIds, doc * 2);
+            countries = Arrays.copyOf(countries, doc * 2);
+            texts = Arrays.copyOf(texts, doc * 2 << 2);
+        }
+        clientIds[doc] = clientId;
+        countries[doc] = country == null ? -1 : countryCodes.computeIfAbsent(country, c -> countryCodes.size());
+        active.set(doc, isActive);
+        docOf.put(clientId, doc);
+
+        for (int field = 0; field < fields.length; field++) {
+            var words = words(fields[field]);
+            if (words.isEmpty()) {
+                continue;
+            }
+            var keys = new HashSet<Long>();
+            for (var word : words) {
+                addTrigrams(" " + word, keys);
+            }
+            int posting = doc << 2 | field;
+            texts[posting] = " " + String.join(" ", words);
+            for (var key : keys) {
+                postings.computeIfAbsent(key, k -> new IntList()).add(posting);
+            }
+        }
+    }
+
+    void remove(long clientId) {
+        var doc = docOf.remove(clientId);
+        if (doc != null) {
+            dead.set(doc);
+            Arrays.fill(texts, doc << 2, (doc + 1) << 2, null);
+            tombstones++;
+        }
+    }
+
+    int size() {
+        return docOf.size();
+    }
+
+    int tombstones() {
+        return tombstones;
+    }
+
+    /**
+     * Client ids matching every word of {@code query}, best first (score, then id), at most {@code limit}.
+     * Words of three or more letters match anywhere inside a word; two-letter words match word starts;
+     * single letters are ignored.
+     */
+    List<Long> search(String query, String country, Boolean isActive, int limit) {
+        var terms = words(query).stream().filter(w -> w.length() >= 2).toList();
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Integer countryCode = null;
+        if (country != null) {
+            countryCode = countryCodes.get(country);
+            if (countryCode == null) {
+                return List.of();
+            }
+        }
+
+        Map<Integer, Integer> scores = null;
+        for (var term : terms) {
+            var termScores = match(term);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                var next = new HashMap<Integer, Integer>();
+                for (var e : termScores.entrySet()) {
+                    var prev = scores.get(e.getKey());
+                    if (prev != null) {
+                        next.put(e.getKey(), prev + e.getValue());
+                    }
+                }
+                scores = next;
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        // keep the best `limit` docs: the worst one sits on top of the heap
+        Comparator<Map.Entry<Integer, Integer>> best = Comparator
+                .comparing((Map.Entry<Integer, Integer> e) -> e.getValue()).reversed()
+                .thenComparingLong(e -> clientIds[e.getKey()]);
+        var heap = new PriorityQueue<>(best.reversed());
+        for (var e : scores.entrySet()) {
+            int doc = e.getKey();
+            if ((isActive != null && active.get(doc) != isActive)
+                    || (countryCode != null && countries[doc] != countryCode)) {
+                continue;
+            }
+            heap.add(e);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        var top = new ArrayList<>(heap);
+        top.sort(best);
+        return top.stream().map(e -> clientIds[e.getKey()]).toList();
+    }
+
+    /**
+     * Live docs containing {@code term} in some field, with that field's best score. A term of three or
+     * more letters must occur inside a word, a shorter one at a word start.
+     */
+    private Map<Integer, Integer> match(String term) {
+        var keys = new ArrayList<Long>();
+        if (term.length() >= 3) {
+            for (int i = 0; i + 3 <= term.length(); i++) {
+                keys.add(key(term, i));
+            }
+        } else {
+            keys.add(key(" " + term, 0));
+        }
+        var lists = new ArrayList<IntList>(keys.size());
+        for (var k : keys) {
+            var list = postings.get(k);
+            if (list == null) {
+                return Map.of();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(IntList::size));
+        var rarest = lists.getFirst();
+        var atWordStart = " " + term;
+
+        var out = new HashMap<Integer, Integer>();
+        outer:
+        for (int i = 0; i < rarest.size(); i++) {
+            int posting = rarest.get(i);
+            int doc = posting >>> 2;
+            if (dead.get(doc)) {
+                continue;
+            }
+            for (int l = 1; l < lists.size(); l++) {
+                if (!lists.get(l).contains(posting)) {
+                    continue outer;
+                }
+            }
+            // terms hold no separators, so a hit never spans two words
+            var text = texts[posting];
+            boolean start = text.contains(atWordStart);
+            if (!start && (term.length() < 3 || !text.contains(term))) {
+                continue;
+            }
+            int score = WEIGHTS[posting & 3];
+            if (start) {
+                score += WORD_START_BONUS;
+            }
+            out.merge(doc, score, Math::max);
+        }
+        return out;
+    }
+
+    static List<String> words(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        var out = new ArrayList<String>();
+        for (var w : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!w.isEmpty()) {
+                out.add(w);
+            }
+        }
+        return out;
+    }
+
+    private static void addTrigrams(String padded, Set<Long> out) {
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            out.add(key(padded, i));
+        }
+    }
+
+    private static long key(String s, int i) {
+        return (long) s.charAt(i) << 32 | (long) s.charAt(i + 1) << 16 | s.charAt(i + 2);
+    }
+
+    /** Growable sorted int array. */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int v) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = v;
+        }
+
+        int get(int i) {
+            return values[i];
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean contains(int v) {
+            return Arrays.binarySearch(values, 0, size, v) >= 0;
+        }
+    }
+}
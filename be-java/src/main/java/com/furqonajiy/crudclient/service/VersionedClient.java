@@ -0,0 +1,11 @@
+package com.furqonajiy.crudclient.service;
+
+import com.furqonajiy.crudclient.model.ClientDto;
+
+/** One client with the row version that backs its {@code ETag}. */
+public record VersionedClient(ClientDto client, long version) {
+
+    public String etag() {
+        return "\"" + version + "\"";
+    }
+}
@@ -0,0 +1,64 @@
+package com.furqonajiy.crudclient.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.function.Supplier;
+
+/**
+ * Body encodings the API speaks. All share the DTOs and the application's Jackson settings; only the
+ * {@link JsonFactory} differs. The binary ones are meant for service-to-service callers.
+ */
+public enum WireFormat {
+    JSON(MediaType.APPLICATION_JSON, JsonFactory::new),
+    CBOR(MediaType.APPLICATION_CBOR, CBORFactory::new),
+    SMILE(new MediaType("application", "x-jackson-smile"), SmileFactory::new);
+
+    private final MediaType mediaType;
+    private final Supplier<JsonFactory> factory;
+
+    WireFormat(MediaType mediaType, Supplier<JsonFactory> factory) {
+        this.mediaType = mediaType;
+        this.factory = factory;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    /** A copy of {@code jsonMapper} (modules, inclusion, features) writing this format. */
+    public ObjectMapper mapper(ObjectMapper jsonMapper) {
+        return this == JSON ? jsonMapper : jsonMapper.copyWith(factory.get());
+    }
+
+    /**
+     * The format an {@code Accept} header asks for: the most specific, highest-quality type that one of
+     * the formats matches. No header, a wildcard or anything unparsable means JSON.
+     */
+    public static WireFormat negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        try {
+            var types = MediaType.parseMediaTypes(accept);
+            MimeTypeUtils.sortBySpecificity(types);
+            for (var type : types) {
+                if (type.getQualityValue() == 0) {
+                    continue;
+                }
+                for (var format : values()) {
+                    if (type.isCompatibleWith(format.mediaType)) {
+                        return format;
+                    }
+                }
+            }
+        } catch (IllegalArgumentException ignored) {
+            // malformed, or too many types to sort: fall back to JSON
+        }
+        return JSON;
+    }
+}
@@ -0,0 +1,128 @@
+package com.furqonajiy.crudclient.service;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.springframework.web.server.ResponseStatusException;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.http.HttpStatus.PAYLOAD_TOO_LARGE;
+
+/**
+ * Reads the first sheet of an XLSX workbook with POI's SAX event API, so rows are never
+ * materialized as a DOM. The zip directory sits at the end of the archive, so the package is opened
+ * from a file; a stream is spooled to a temp file first. The shared-strings part is the one piece POI
+ * keeps in memory, so workbooks whose part is larger than {@code maxSharedStringsBytes} are refused.
+ */
+class XlsxRowReader implements ClientRowReader {
+
+    private final long maxSharedStringsBytes;
+
+    XlsxRowReader(long maxSharedStringsBytes) {
+        this.maxSharedStringsBytes = maxSharedStringsBytes;
+    }
+
+    @Override
+    public void read(InputStream in, RowHandler handler) throws IOException {
+        var tmp = Files.createTempFile("client-import-", ".xlsx");
+        try {
+            Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+            read(tmp, handler);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    @Override
+    public void read(Path file, RowHandler handler) throws IOException {
+        try (var pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+            checkSharedStringsSize(pkg);
+            var xssf = new XSSFReader(pkg);
+            var strings = new ReadOnlySharedStringsTable(pkg);
+            var sheets = xssf.getSheetsData();
+            if (!sheets.hasNext()) {
+                return;
+            }
+            try (var sheet = sheets.next()) {
+                var parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(
+                        xssf.getStylesTable(), null, strings, new SheetHandler(handler), new DataFormatter(), false));
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Invalid XLSX file: " + e.getMessage(), e);
+        }
+    }
+
+    /** The size comes from the zip entry header, so the part is not inflated to measure it. */
+    private void checkSharedStringsSize(OPCPackage pkg) {
+        for (var part : pkg.getPartsByContentType(XSSFRelation.SHARED_STRINGS.getContentType())) {
+            if (part.getSize() > maxSharedStringsBytes) {
+                throw new ResponseStatusException(PAYLOAD_TOO_LARGE,
+                        "Shared strings of " + part.getSize() + " bytes exceed the limit of " + maxSharedStringsBytes);
+            }
+        }
+    }
+
+    /** Collects one row at a time; the first non-empty row is the header. */
+    private static final class SheetHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final RowHandler handler;
+        private final Map<Integer, String> headers = new HashMap<>();
+        private final Map<Integer, String> cells = new HashMap<>();
+
+        SheetHandler(RowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells.clear();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (cells.isEmpty()) {
+                return;
+            }
+            if (headers.isEmpty()) {
+                cells.forEach((col, v) -> headers.put(col, ClientRowReader.normalizeHeader(v)));
+                handler.header(List.copyOf(headers.values()));
+                return;
+            }
+            var values = new HashMap<String, String>(headers.size() * 2);
+            cells.forEach((col, v) -> {
+                var h = headers.get(col);
+                if (h != null) {
+                    values.put(h, v);
+                }
+            });
+            handler.row(rowNum + 1L, values);
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            if (cellReference != null && formattedValue != null && !formattedValue.isBlank()) {
+                cells.put((int) new CellReference(cellReference).getCol(), formattedValue);
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+-- Baseline schema. Existing databases are baselined at version 1 and skip this script.
+CREATE TABLE IF NOT EXISTS public.clients (
+    id           BIGINT       PRIMARY KEY,
+    full_name    VARCHAR(120) NOT NULL,
+    display_name VARCHAR(80)  NOT NULL,
+    email        VARCHAR(255) NOT NULL,
+    details      TEXT,
+    active       BOOLEAN      NOT NULL DEFAULT FALSE,
+    location     VARCHAR(255),
+    country      VARCHAR(255),
+    CONSTRAINT uq_clients_email UNIQUE (email)
+);
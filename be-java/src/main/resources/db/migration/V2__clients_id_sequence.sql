@@ -0,0 +1,11 @@
+-- Ids come from a sequence read by Hibernate's pooled optimizer: every nextval reserves a block
+-- of 50 ids (the returned value is the top of the block). IDENTITY columns force one INSERT
+-- round-trip per row and disable JDBC batching.
+CREATE SEQUENCE IF NOT EXISTS public.clients_seq INCREMENT BY 50;
+
+-- Older databases were created with an identity/serial id; the application now supplies ids itself.
+ALTER TABLE public.clients ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE public.clients ALTER COLUMN id DROP DEFAULT;
+
+-- First nextval returns MAX(id) + 50, so the first block starts right after the existing rows.
+SELECT setval('public.clients_seq', COALESCE((SELECT MAX(id) FROM public.clients), 0) + 50, false);
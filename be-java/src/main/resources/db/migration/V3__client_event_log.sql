@@ -0,0 +1,9 @@
+-- Payloads of client events too large for a NOTIFY (8000 bytes); the notification carries the id.
+-- Rows are short-lived: each node's listener loop deletes anything older than an hour every ten minutes.
+CREATE TABLE IF NOT EXISTS public.client_event_log (
+    id         BIGSERIAL PRIMARY KEY,
+    payload    TEXT        NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS client_event_log_created_at_idx ON public.client_event_log (created_at);
@@ -0,0 +1,16 @@
+-- Indexes behind GET /api/v1/clients/search and /page.
+-- B-tree: equality filters on country/active, with id as the default (and tie-break) order.
+CREATE INDEX IF NOT EXISTS clients_country_active_id_idx ON public.clients (country, active, id);
+CREATE INDEX IF NOT EXISTS clients_active_id_idx ON public.clients (active, id);
+
+-- B-tree with text_pattern_ops: case-insensitive prefix match (lower(col) LIKE 'abc%').
+-- Emails are stored lower-cased already.
+CREATE INDEX IF NOT EXISTS clients_full_name_prefix_idx ON public.clients (lower(full_name) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS clients_display_name_prefix_idx ON public.clients (lower(display_name) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS clients_email_prefix_idx ON public.clients (email text_pattern_ops);
+
+-- Trigram GIN: substring match (match=contains), which no B-tree can serve.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS clients_full_name_trgm_idx ON public.clients USING gin (lower(full_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS clients_display_name_trgm_idx ON public.clients USING gin (lower(display_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS clients_email_trgm_idx ON public.clients USING gin (email gin_trgm_ops);
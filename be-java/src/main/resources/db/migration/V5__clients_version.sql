@@ -0,0 +1,3 @@
+-- Optimistic locking: every UPDATE checks and bumps the row version, and the version is exposed as
+-- the ETag of GET/PATCH /api/v1/clients/{id}. Existing rows start at 0.
+ALTER TABLE public.clients ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,71 @@
+package com.furqonajiy.crudclient.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AdmissionControlDataSourceTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final DataSource pool = mock(DataSource.class);
+
+    @Test @DisplayName("closing a connection hands its slot to the next caller in line")
+    void closeReleasesPermit() throws Exception {
+        when(pool.getConnection()).thenAnswer(inv -> mock(Connection.class));
+        var ds = new AdmissionControlDataSource(pool, 1, Duration.ofSeconds(5), registry);
+
+        var first = ds.getConnection();
+        var second = CompletableFuture.supplyAsync(() -> {
+            try {
+                return ds.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(50);
+        assertThat(second).isNotDone();
+
+        first.close();
+        first.close();
+        second.get(5, TimeUnit.SECONDS).close();
+
+        assertThat(ds.availablePermits()).isEqualTo(1);
+        assertThat(registry.get("clients.db.admission.wait").tag("outcome", "acquired").timer().count()).isEqualTo(2);
+    }
+
+    @Test @DisplayName("a caller that waits past max-wait gets a transient SQL error")
+    void timesOut() throws Exception {
+        when(pool.getConnection()).thenAnswer(inv -> mock(Connection.class));
+        var ds = new AdmissionControlDataSource(pool, 1, Duration.ofMillis(20), registry);
+
+        ds.getConnection();
+        assertThatThrownBy(ds::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        verify(pool, times(1)).getConnection();
+        assertThat(registry.get("clients.db.admission.wait").tag("outcome", "timeout").timer().count()).isEqualTo(1);
+        assertThat(registry.get("clients.db.admission.active").gauge().value()).isEqualTo(1);
+    }
+
+    @Test @DisplayName("a failing pool does not leak the slot")
+    void poolFailureReleasesPermit() throws Exception {
+        when(pool.getConnection()).thenThrow(new SQLException("down"));
+        var ds = new AdmissionControlDataSource(pool, 1, Duration.ofMillis(20), registry);
+
+        assertThatThrownBy(ds::getConnection).hasMessage("down");
+        assertThat(ds.availablePermits()).isEqualTo(1);
+    }
+}
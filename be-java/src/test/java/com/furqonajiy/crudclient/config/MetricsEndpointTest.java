@@ -0,0 +1,40 @@
+package com.furqonajiy.crudclient.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class MetricsEndpointTest {
+
+    @Autowired MockMvc mvc;
+
+    @Test @DisplayName("/actuator/prometheus exposes endpoint timers, snapshot, pool and SSE meters")
+    void prometheus_scrape() throws Exception {
+        mvc.perform(get("/api/v1/clients")).andExpect(status().isOk());
+
+        var body = mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body)
+                .contains("http_server_requests_seconds_bucket{application=\"crud-client\"")
+                .contains("uri=\"/api/v1/clients\"")
+                .contains("clients_snapshot_rows_count")
+                .contains("clients_snapshot_bytes_count{application=\"crud-client\",encoding=\"gzip\",format=\"json\"}")
+                .contains("clients_bulk_batch_size_items_count")
+                .contains("hikaricp_connections_acquire_seconds_bucket")
+                .contains("clients_sse_subscribers")
+                .contains("clients_sse_frames_dropped_total");
+    }
+}
@@ -0,0 +1,33 @@
+package com.furqonajiy.crudclient.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"spring.threads.virtual.enabled=true", "clients.db-admission.enabled=true"})
+class VirtualThreadModeTest {
+
+    @Autowired DataSource dataSource;
+    @Autowired AsyncTaskExecutor applicationTaskExecutor;
+
+    @Test @DisplayName("the DataSource sits behind admission control and still serves queries")
+    void dataSourceIsAdmissionControlled() {
+        assertThat(dataSource).isInstanceOf(AdmissionControlDataSource.class);
+        assertThat(new JdbcTemplate(dataSource).queryForObject("select 1", Integer.class)).isEqualTo(1);
+        assertThat(((AdmissionControlDataSource) dataSource).availablePermits()).isEqualTo(10);
+    }
+
+    @Test @DisplayName("async work runs on virtual threads")
+    void asyncOnVirtualThreads() throws Exception {
+        var virtual = applicationTaskExecutor.submit(() -> Thread.currentThread().isVirtual());
+        assertThat(virtual.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
@@ -1,21 +1,26 @@
 package com.furqonajiy.crudclient.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.furqonajiy.crudclient.eventservice.ClientEvent;
 import com.furqonajiy.crudclient.eventservice.ClientEventService;
-import com.furqonajiy.crudclient.eventservice.ClientEventType;
+import com.furqonajiy.crudclient.eventservice.InProcessClientEventBus;
 import com.furqonajiy.crudclient.model.ClientDto;
 import com.furqonajiy.crudclient.model.ClientResponse;
 import com.furqonajiy.crudclient.model.CreateClientRequest;
 import com.furqonajiy.crudclient.model.DeleteMultipleClientRequest;
 import com.furqonajiy.crudclient.model.UpdateClientRequest;
+import com.furqonajiy.crudclient.service.ClientExportService;
+import com.furqonajiy.crudclient.service.ClientImportService;
 import com.furqonajiy.crudclient.service.ClientService;
+import com.furqonajiy.crudclient.service.ClientSnapshotCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -29,6 +34,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 /** Controller slice tests. */
 @WebMvcTest(controllers = ClientController.class)
+@Import({ClientSnapshotCache.class, InProcessClientEventBus.class, SimpleMeterRegistry.class})
 class ClientControllerTest {
 
     @Autowired
@@ -43,6 +49,20 @@ class ClientControllerTest {
     @MockBean
     ClientEventService eventService;
 
+    @MockBean
+    ClientExportService exportService;
+
+    @MockBean
+    ClientImportService importService;
+
+    @Autowired
+    ClientSnapshotCache snapshotCache;
+
+    @BeforeEach
+    void resetCache() {
+        snapshotCache.invalidate();
+    }
+
     private ClientResponse sampleResponse() {
         ClientDto dto = new ClientDto(1L, "John Wick", "John W.", "john@wick.com",
                 "legendary", true, "New York, USA", "USA");
@@ -52,7 +72,7 @@ class ClientControllerTest {
     @Test
     @DisplayName("GET /api/v1/clients returns clients from service")
     void getAll_ok() throws Exception {
-        when(clientService.getAllClients()).thenReturn(sampleResponse());
+        when(clientService.getAllClients(anyString())).thenReturn(sampleResponse());
 
         mvc.perform(get("/api/v1/clients"))
                 .andExpect(status().isOk())
@@ -60,13 +80,13 @@ class ClientControllerTest {
                 .andExpect(jsonPath("$.clients[0].fullName").value("John Wick"))
                 .andExpect(jsonPath("$.clients[0].active").value(true));
 
-        verify(clientService, times(1)).getAllClients();
+        verify(clientService, times(1)).getAllClients(anyString());
         verifyNoInteractions(eventService);
     }
 
     @Test
-    @DisplayName("POST /api/v1/clients creates and emits CREATED event")
-    void create_ok_emitsEvent() throws Exception {
+    @DisplayName("POST /api/v1/clients creates; the CREATED event is left to the service layer")
+    void create_ok_noControllerEvent() throws Exception {
         when(clientService.createClient(any(CreateClientRequest.class))).thenReturn(sampleResponse());
 
         CreateClientRequest req = new CreateClientRequest();
@@ -85,19 +105,13 @@ class ClientControllerTest {
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.clients[0].fullName").value("John Wick"));
 
-        // capture emitted event
-        ArgumentCaptor<ClientEvent> captor = ArgumentCaptor.forClass(ClientEvent.class);
-        verify(eventService, times(1)).publish(captor.capture());
-        ClientEvent ev = captor.getValue();
-        assertThat(ev.getType()).isEqualTo(ClientEventType.CREATED);
-        assertThat(ev.getDisplayName()).isEqualTo("Batman");
-
+        verifyNoInteractions(eventService);
         verify(clientService, times(1)).createClient(any(CreateClientRequest.class));
     }
 
     @Test
-    @DisplayName("PUT /api/v1/clients updates and emits UPDATED event")
-    void update_ok_emitsEvent() throws Exception {
+    @DisplayName("PUT /api/v1/clients updates; the UPDATED event is left to the service layer")
+    void update_ok_noControllerEvent() throws Exception {
         when(clientService.updateClient(any(UpdateClientRequest.class))).thenReturn(sampleResponse());
 
         UpdateClientRequest req = new UpdateClientRequest();
@@ -113,16 +127,15 @@ class ClientControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.clients[0].email").value("john@wick.com"));
 
-        ArgumentCaptor<ClientEvent> captor = ArgumentCaptor.forClass(ClientEvent.class);
-        verify(eventService, times(1)).publish(captor.capture());
-        assertThat(captor.getValue().getType()).isEqualTo(ClientEventType.UPDATED);
-        assertThat(captor.getValue().getClientId()).isEqualTo(42L);
-        assertThat(captor.getValue().getDisplayName()).isEqualTo("Clark K.");
+        verifyNoInteractions(eventService);
+        ArgumentCaptor<UpdateClientRequest> captor = ArgumentCaptor.forClass(UpdateClientRequest.class);
+        verify(clientService).updateClient(captor.capture());
+        assertThat(captor.getValue().getId()).isEqualTo(42L);
     }
 
     @Test
-    @DisplayName("DELETE /api/v1/clients deletes many and emits DELETED events for each id")
-    void deleteMany_ok_emitsEvents() throws Exception {
+    @DisplayName("DELETE /api/v1/clients deletes many; the BATCH event is left to the service layer")
+    void deleteMany_ok_noControllerEvent() throws Exception {
         when(clientService.deleteMultipleClients(any(DeleteMultipleClientRequest.class))).thenReturn(sampleResponse());
 
         DeleteMultipleClientRequest req = new DeleteMultipleClientRequest();
@@ -134,16 +147,16 @@ class ClientControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.clients").isArray());
 
-        // verify publish called twice (for 2 ids)
-        verify(eventService, times(2)).publish(any(ClientEvent.class));
+        verifyNoInteractions(eventService);
+        verify(clientService).deleteMultipleClients(any(DeleteMultipleClientRequest.class));
     }
 
     @Test
     @DisplayName("GET /api/v1/clients/events subscribes to SSE")
     void sse_subscribe_ok() throws Exception {
-        when(eventService.subscribe()).thenReturn(new org.springframework.web.servlet.mvc.method.annotation.SseEmitter(0L));
+        when(eventService.subscribe(isNull())).thenReturn(new org.springframework.web.servlet.mvc.method.annotation.SseEmitter(0L));
         mvc.perform(get("/api/v1/clients/events"))
                 .andExpect(status().isOk());
-        verify(eventService, times(1)).subscribe();
+        verify(eventService, times(1)).subscribe(isNull());
     }
 }
\ No newline at end of file
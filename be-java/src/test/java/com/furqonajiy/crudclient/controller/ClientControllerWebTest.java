@@ -1,29 +1,50 @@
 
 package com.furqonajiy.crudclient.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.furqonajiy.crudclient.eventservice.ClientEventService;
+import com.furqonajiy.crudclient.eventservice.InProcessClientEventBus;
 import com.furqonajiy.crudclient.model.*;
+import com.furqonajiy.crudclient.repository.ClientEntity;
+import com.furqonajiy.crudclient.service.ClientExportService;
+import com.furqonajiy.crudclient.service.ClientImportService;
 import com.furqonajiy.crudclient.service.ClientService;
+import com.furqonajiy.crudclient.service.ClientSnapshotCache;
+import com.furqonajiy.crudclient.service.ExportFormat;
+import com.furqonajiy.crudclient.service.VersionedClient;
+import com.furqonajiy.crudclient.service.WireFormat;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.OutputStream;
+import java.nio.file.Path;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(controllers = ClientController.class)
+@Import({ClientSnapshotCache.class, InProcessClientEventBus.class, SimpleMeterRegistry.class})
 class ClientControllerWebTest {
 
     @Autowired MockMvc mvc;
@@ -31,6 +52,14 @@ class ClientControllerWebTest {
 
     @MockBean ClientService clientService;
     @MockBean ClientEventService eventService;
+    @MockBean ClientExportService exportService;
+    @MockBean ClientImportService importService;
+    @Autowired ClientSnapshotCache snapshotCache;
+
+    @BeforeEach
+    void resetCache() {
+        snapshotCache.invalidate();
+    }
 
     private ClientResponse sample() {
         ClientDto dto = new ClientDto(1L, "Full", "Disp", "a@b.com", "d", true, "Loc", "NL");
@@ -39,12 +68,187 @@ class ClientControllerWebTest {
 
     @Test @DisplayName("GET /api/v1/clients -> 200")
     void getAll_ok() throws Exception {
-        when(clientService.getAllClients()).thenReturn(sample());
+        when(clientService.getAllClients(anyString())).thenReturn(sample());
         mvc.perform(get("/api/v1/clients"))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON))
             .andExpect(jsonPath("$.clients[0].email").value("a@b.com"));
-        verify(clientService).getAllClients();
+        verify(clientService).getAllClients(anyString());
+    }
+
+    @Test @DisplayName("GET /api/v1/clients with matching If-None-Match -> 304 without reload")
+    void getAll_notModified() throws Exception {
+        when(clientService.getAllClients(anyString())).thenReturn(sample());
+        String etag = mvc.perform(get("/api/v1/clients"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("ETag"))
+            .andReturn().getResponse().getHeader("ETag");
+        mvc.perform(get("/api/v1/clients").header("If-None-Match", etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string("ETag", etag))
+            .andExpect(header().stringValues("Vary", hasItem("Accept, Accept-Encoding")));
+        verify(clientService, times(1)).getAllClients(anyString());
+    }
+
+    @Test @DisplayName("GET /api/v1/clients?fields= is cached and tagged per field set")
+    void getAll_fields() throws Exception {
+        when(clientService.getAllClients(anyString())).thenReturn(sample());
+        String full = mvc.perform(get("/api/v1/clients"))
+            .andReturn().getResponse().getHeader("ETag");
+        String slim = mvc.perform(get("/api/v1/clients").param("fields", "email,fullName"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader("ETag");
+        assertThat(slim).isNotEqualTo(full);
+        mvc.perform(get("/api/v1/clients").param("fields", "fullName,email").header("If-None-Match", slim))
+            .andExpect(status().isNotModified());
+        verify(clientService).getAllClients("id,fullName,email");
+        verify(clientService, times(2)).getAllClients(anyString());
+    }
+
+    @Test @DisplayName("GET /api/v1/clients with Accept-Encoding: gzip -> gzip body under its own ETag")
+    void getAll_gzip() throws Exception {
+        when(clientService.getAllClients(anyString())).thenReturn(sample());
+        String identity = mvc.perform(get("/api/v1/clients"))
+            .andReturn().getResponse().getHeader("ETag");
+        String gzipped = mvc.perform(get("/api/v1/clients").header("Accept-Encoding", "gzip, deflate"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Encoding", "gzip"))
+            .andExpect(header().stringValues("Vary", hasItem("Accept, Accept-Encoding")))
+            .andReturn().getResponse().getHeader("ETag");
+        assertThat(gzipped).isNotEqualTo(identity).endsWith("-gz\"");
+        mvc.perform(get("/api/v1/clients").header("Accept-Encoding", "gzip").header("If-None-Match", gzipped))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string("ETag", gzipped));
+    }
+
+    @Test @DisplayName("GET /api/v1/clients honours q-values in Accept-Encoding")
+    void getAll_gzipQuality() throws Exception {
+        when(clientService.getAllClients(anyString())).thenReturn(sample());
+        mvc.perform(get("/api/v1/clients").header("Accept-Encoding", "gzip;q=0, deflate"))
+            .andExpect(header().doesNotExist("Content-Encoding"))
+            .andExpect(jsonPath("$.clients[0].email").value("a@b.com"));
+        mvc.perform(get("/api/v1/clients").header("Accept-Encoding", "br, *;q=0.5"))
+            .andExpect(header().string("Content-Encoding", "gzip"));
+        mvc.perform(get("/api/v1/clients").header("Accept-Encoding", "*, gzip;q=0"))
+            .andExpect(header().doesNotExist("Content-Encoding"));
+    }
+
+    @Test @DisplayName("GET /api/v1/clients with Accept: application/cbor -> CBOR body, own ETag")
+    void getAll_cbor() throws Exception {
+        when(clientService.getAllClients(anyString())).thenReturn(sample());
+        String jsonEtag = mvc.perform(get("/api/v1/clients"))
+            .andReturn().getResponse().getHeader("ETag");
+        MvcResult res = mvc.perform(get("/api/v1/clients").header("Accept", "application/cbor, application/json;q=0.5"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+            .andExpect(header().stringValues("Vary", hasItem("Accept, Accept-Encoding")))
+            .andReturn();
+        assertThat(res.getResponse().getHeader("ETag")).isNotEqualTo(jsonEtag);
+        ClientResponse body = WireFormat.CBOR.mapper(om).readValue(res.getResponse().getContentAsByteArray(), ClientResponse.class);
+        assertThat(body.getClients()).extracting(ClientDto::getEmail).containsExactly("a@b.com");
+    }
+
+    @Test @DisplayName("GET /api/v1/clients with Accept: */* or a browser's Accept -> JSON")
+    void getAll_wildcardIsJson() throws Exception {
+        when(clientService.getAllClients(anyString())).thenReturn(sample());
+        mvc.perform(get("/api/v1/clients").header("Accept", "*/*"))
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+        mvc.perform(get("/api/v1/clients").header("Accept", "text/html,application/xhtml+xml,*/*;q=0.8"))
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test @DisplayName("GET /api/v1/clients/page -> 200 with cursor and filters")
+    void page_ok() throws Exception {
+        ClientDto dto = new ClientDto(1L, "Full", "Disp", "a@b.com", "d", true, "Loc", "NL");
+        when(clientService.getClientsPage("abc", 20, "NL", true))
+                .thenReturn(new ClientPageResponse(List.of(dto), "next"));
+        mvc.perform(get("/api/v1/clients/page")
+                .param("cursor", "abc").param("size", "20")
+                .param("country", "NL").param("active", "true"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.clients[0].id").value(1))
+            .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test @DisplayName("GET /api/v1/clients/search binds filters, sort and paging")
+    void search_ok() throws Exception {
+        ClientDto dto = new ClientDto(1L, "Full", "Disp", "a@b.com", "d", true, "Loc", "NL");
+        when(clientService.searchClients(any(ClientSearchRequest.class)))
+                .thenReturn(new ClientSearchResponse(List.of(dto), 2, 10, true));
+        mvc.perform(get("/api/v1/clients/search")
+                .param("country", "NL").param("active", "true").param("prefix", "fu")
+                .param("sort", "fullName,desc").param("page", "2").param("size", "10"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.clients[0].id").value(1))
+            .andExpect(jsonPath("$.hasNext").value(true));
+        ArgumentCaptor<ClientSearchRequest> cap = ArgumentCaptor.forClass(ClientSearchRequest.class);
+        verify(clientService).searchClients(cap.capture());
+        assertThat(cap.getValue().getActive()).isTrue();
+        assertThat(cap.getValue().getPrefix()).isEqualTo("fu");
+        assertThat(cap.getValue().getSort()).isEqualTo("fullName,desc");
+        assertThat(cap.getValue().getPage()).isEqualTo(2);
+    }
+
+    @Test @DisplayName("GET /api/v1/clients/export?format=csv -> streamed attachment")
+    void export_csv() throws Exception {
+        doAnswer(inv -> {
+            inv.<OutputStream>getArgument(1).write("id\n1\n".getBytes());
+            return 1L;
+        }).when(exportService).export(eq(ExportFormat.CSV), any());
+        MvcResult started = mvc.perform(get("/api/v1/clients/export").param("format", "csv"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        mvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Disposition", "attachment; filename=\"clients.csv\""))
+            .andExpect(content().string("id\n1\n"));
+    }
+
+    @Test @DisplayName("malformed query parameters -> 400 naming the parameter, not 500")
+    void malformedParam_400() throws Exception {
+        mvc.perform(get("/api/v1/clients/page").param("size", "abc"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value("Bad Request"))
+            .andExpect(jsonPath("$.message").value(containsString("size")));
+        mvc.perform(get("/api/v1/clients/search").param("q", "a").param("active", "maybe"))
+            .andExpect(status().isBadRequest());
+        mvc.perform(delete("/api/v1/clients").param("active", "maybe"))
+            .andExpect(status().isBadRequest());
+        verifyNoInteractions(clientService);
+    }
+
+    @Test @DisplayName("invalid, unreadable or unsupported bodies -> 4xx, not 500")
+    void invalidBody_4xx() throws Exception {
+        CreateClientRequest bad = new CreateClientRequest();
+        bad.setFullName("A"); bad.setDisplayName("AA"); bad.setEmail("not-an-email"); bad.setCountry("NL");
+        mvc.perform(post("/api/v1/clients")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(om.writeValueAsString(bad)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value(containsString("email")));
+        mvc.perform(post("/api/v1/clients")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"fullName\": "))
+            .andExpect(status().isBadRequest());
+        mvc.perform(patch("/api/v1/clients/7")
+                .contentType(MediaType.TEXT_PLAIN)
+                .content("active=false"))
+            .andExpect(status().isUnsupportedMediaType());
+        verifyNoInteractions(clientService);
+    }
+
+    @Test @DisplayName("a response type the client does not accept -> 406, not 500")
+    void unacceptable_406() throws Exception {
+        when(clientService.getClientsPage(any(), any(), any(), any())).thenReturn(new ClientPageResponse(List.of(), null));
+        mvc.perform(get("/api/v1/clients/page").accept(MediaType.IMAGE_PNG))
+            .andExpect(status().isNotAcceptable());
+    }
+
+    @Test @DisplayName("GET /api/v1/clients/export with unknown format -> 400")
+    void export_badFormat() throws Exception {
+        mvc.perform(get("/api/v1/clients/export").param("format", "xml"))
+            .andExpect(status().isBadRequest());
+        verifyNoInteractions(exportService);
     }
 
     @Test @DisplayName("POST /api/v1/clients -> 201 Created")
@@ -77,6 +281,19 @@ class ClientControllerWebTest {
         assertThat(cap.getValue()).hasSize(2);
     }
 
+    @Test @DisplayName("POST /api/v1/clients/import multipart -> report")
+    void import_ok() throws Exception {
+        ImportReport report = new ImportReport();
+        report.setTotalRows(3); report.setImported(2); report.setFailed(1);
+        report.getErrors().add(new ImportRowError(3, "email must be a well-formed email address"));
+        when(importService.importClients(eq("clients.csv"), any(Path.class))).thenReturn(report);
+        MockMultipartFile file = new MockMultipartFile("file", "clients.csv", "text/csv", "Full Name\n".getBytes());
+        mvc.perform(multipart("/api/v1/clients/import").file(file))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(2))
+            .andExpect(jsonPath("$.errors[0].row").value(3));
+    }
+
     @Test @DisplayName("PUT /api/v1/clients -> 200")
     void update_ok() throws Exception {
         when(clientService.updateClient(any(UpdateClientRequest.class))).thenReturn(sample());
@@ -88,8 +305,8 @@ class ClientControllerWebTest {
             .andExpect(status().isOk());
     }
 
-    @Test @DisplayName("DELETE /api/v1/clients -> 200 & emits events per id")
-    void delete_ok_emits() throws Exception {
+    @Test @DisplayName("DELETE /api/v1/clients -> 200")
+    void delete_ok() throws Exception {
         when(clientService.deleteMultipleClients(any(DeleteMultipleClientRequest.class))).thenReturn(sample());
         DeleteMultipleClientRequest req = new DeleteMultipleClientRequest();
         req.setIds(List.of(5L, 6L));
@@ -97,14 +314,235 @@ class ClientControllerWebTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(om.writeValueAsString(req)))
             .andExpect(status().isOk());
-        verify(eventService, times(2)).publish(any());
+        verify(clientService).deleteMultipleClients(any(DeleteMultipleClientRequest.class));
+    }
+
+    @Test @DisplayName("POST with Prefer: return=representation -> only the created row")
+    void create_preferRepresentation() throws Exception {
+        ClientDto created = new ClientDto(9L, "A", "B", "a@b.com", null, true, null, "NL");
+        when(clientService.createClientAndReturn(any(CreateClientRequest.class))).thenReturn(created);
+        CreateClientRequest req = new CreateClientRequest();
+        req.setFullName("A"); req.setDisplayName("B"); req.setEmail("a@b.com"); req.setCountry("NL"); req.setActive(true);
+        mvc.perform(post("/api/v1/clients")
+                .header("Prefer", "return=representation")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(om.writeValueAsString(req)))
+            .andExpect(status().isCreated())
+            .andExpect(header().string("Preference-Applied", "return=representation"))
+            .andExpect(jsonPath("$.clients.length()").value(1))
+            .andExpect(jsonPath("$.clients[0].id").value(9));
+        verify(clientService, never()).createClient(any());
+    }
+
+    @Test @DisplayName("PUT ?return=minimal -> only the updated id")
+    void update_minimal() throws Exception {
+        ClientDto updated = new ClientDto(7L, "X", "Y", "x@y.com", null, true, null, "NL");
+        when(clientService.updateClientAndReturn(any(UpdateClientRequest.class))).thenReturn(updated);
+        UpdateClientRequest req = new UpdateClientRequest();
+        req.setId(7L); req.setFullName("X");
+        mvc.perform(put("/api/v1/clients").param("return", "minimal")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(om.writeValueAsString(req)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.ids[0]").value(7))
+            .andExpect(jsonPath("$.clients").doesNotExist());
+    }
+
+    @Test @DisplayName("mutations vary by Prefer; an unknown Prefer value is ignored, an unknown ?return= is 400")
+    void returnPreference_unknown() throws Exception {
+        when(clientService.updateClient(any(UpdateClientRequest.class))).thenReturn(sample());
+        String body = "{\"id\":7,\"fullName\":\"X\"}";
+        mvc.perform(put("/api/v1/clients").header("Prefer", "return=everything")
+                .contentType(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("Preference-Applied"))
+            .andExpect(header().stringValues("Vary", hasItem("Prefer")))
+            .andExpect(jsonPath("$.clients[0].email").value("a@b.com"));
+        mvc.perform(put("/api/v1/clients").param("return", "everything")
+                .contentType(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isBadRequest());
+        verify(clientService, times(1)).updateClient(any(UpdateClientRequest.class));
+    }
+
+    @Test @DisplayName("POST /api/v1/clients/upsert -> counts")
+    void upsert_ok() throws Exception {
+        UpsertReport report = new UpsertReport();
+        report.setReceived(2); report.setInserted(1); report.setUpdated(1);
+        when(clientService.upsertClients(any())).thenReturn(report);
+        CreateClientRequest a = new CreateClientRequest();
+        a.setFullName("A"); a.setDisplayName("a"); a.setEmail("a@x.com"); a.setCountry("NL");
+        mvc.perform(post("/api/v1/clients/upsert")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(om.writeValueAsString(List.of(a, a))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.inserted").value(1))
+            .andExpect(jsonPath("$.updated").value(1));
+    }
+
+    @Test @DisplayName("PUT /api/v1/clients/bulk -> per-id report")
+    void bulkUpdate_ok() throws Exception {
+        BulkUpdateReport report = new BulkUpdateReport();
+        report.setUpdated(1); report.setNotFound(1);
+        report.getResults().add(new BulkUpdateResult(1L, BulkUpdateStatus.UPDATED));
+        report.getResults().add(new BulkUpdateResult(2L, BulkUpdateStatus.NOT_FOUND));
+        when(clientService.updateClients(any())).thenReturn(report);
+        mvc.perform(put("/api/v1/clients/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"id\":1,\"active\":false},{\"id\":2,\"active\":false}]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.updated").value(1))
+            .andExpect(jsonPath("$.results[1].status").value("NOT_FOUND"));
+        ArgumentCaptor<List<UpdateClientRequest>> cap = ArgumentCaptor.forClass(List.class);
+        verify(clientService).updateClients(cap.capture());
+        assertThat(cap.getValue()).extracting(UpdateClientRequest::getActive).containsExactly(false, false);
+    }
+
+    @Test @DisplayName("POST /api/v1/clients/bulk with a CBOR body -> created, CBOR response")
+    void bulk_cbor() throws Exception {
+        ClientDto created = new ClientDto(9L, "A", "AA", "a@x.com", null, true, null, "NL");
+        when(clientService.createClientsAndReturn(any())).thenReturn(List.of(created));
+        CreateClientRequest a = new CreateClientRequest();
+        a.setFullName("A"); a.setDisplayName("AA"); a.setEmail("a@x.com"); a.setActive(true); a.setCountry("NL");
+        var cbor = WireFormat.CBOR.mapper(om);
+        MvcResult res = mvc.perform(post("/api/v1/clients/bulk").param("return", "representation")
+                .contentType(MediaType.APPLICATION_CBOR)
+                .accept(MediaType.APPLICATION_CBOR)
+                .content(cbor.writeValueAsBytes(List.of(a))))
+            .andExpect(status().isCreated())
+            .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+            .andReturn();
+        ClientResponse body = cbor.readValue(res.getResponse().getContentAsByteArray(), ClientResponse.class);
+        assertThat(body.getClients()).extracting(ClientDto::getId).containsExactly(9L);
+        ArgumentCaptor<List<CreateClientRequest>> cap = ArgumentCaptor.forClass(List.class);
+        verify(clientService).createClientsAndReturn(cap.capture());
+        assertThat(cap.getValue()).extracting(CreateClientRequest::getEmail).containsExactly("a@x.com");
+    }
+
+    @Test @DisplayName("POST /api/v1/clients/bulk with an invalid Smile body -> 400, same validation as JSON")
+    void bulk_smile_validated() throws Exception {
+        CreateClientRequest bad = new CreateClientRequest();
+        bad.setFullName("A"); bad.setDisplayName("AA"); bad.setEmail("not-an-email"); bad.setCountry("NL");
+        mvc.perform(post("/api/v1/clients/bulk")
+                .contentType(WireFormat.SMILE.mediaType())
+                .content(WireFormat.SMILE.mapper(om).writeValueAsBytes(List.of(bad))))
+            .andExpect(status().isBadRequest());
+        verify(clientService, never()).createClients(any());
+    }
+
+    @Test @DisplayName("PUT /api/v1/clients/bulk with a Smile body -> Smile report")
+    void bulkUpdate_smile() throws Exception {
+        BulkUpdateReport report = new BulkUpdateReport();
+        report.setUpdated(1);
+        report.getResults().add(new BulkUpdateResult(1L, BulkUpdateStatus.UPDATED));
+        when(clientService.updateClients(any())).thenReturn(report);
+        UpdateClientRequest r = new UpdateClientRequest();
+        r.setId(1L); r.setActive(false);
+        var smile = WireFormat.SMILE.mapper(om);
+        MvcResult res = mvc.perform(put("/api/v1/clients/bulk")
+                .contentType(WireFormat.SMILE.mediaType())
+                .accept(WireFormat.SMILE.mediaType())
+                .content(smile.writeValueAsBytes(List.of(r))))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(WireFormat.SMILE.mediaType()))
+            .andReturn();
+        BulkUpdateReport body = smile.readValue(res.getResponse().getContentAsByteArray(), BulkUpdateReport.class);
+        assertThat(body.getResults()).extracting(BulkUpdateResult::getStatus).containsExactly(BulkUpdateStatus.UPDATED);
+    }
+
+    @Test @DisplayName("GET /api/v1/clients/{id} -> 200 with the version as ETag, 304 when it matches")
+    void getOne_etag() throws Exception {
+        ClientDto dto = new ClientDto(7L, "X", "Y", "x@y.com", null, true, null, "NL");
+        when(clientService.getClient(7L)).thenReturn(new VersionedClient(dto, 3));
+        mvc.perform(get("/api/v1/clients/7"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"3\""))
+            .andExpect(jsonPath("$.email").value("x@y.com"));
+        mvc.perform(get("/api/v1/clients/7").header("If-None-Match", "\"3\""))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test @DisplayName("PATCH merge-patch+json passes the If-Match version and returns the new ETag")
+    void patch_ifMatch() throws Exception {
+        ClientDto dto = new ClientDto(7L, "X", "Y", "x@y.com", null, false, null, "NL");
+        when(clientService.patchClient(eq(7L), any(), eq(3L))).thenReturn(new VersionedClient(dto, 4));
+        mvc.perform(patch("/api/v1/clients/7")
+                .header("If-Match", "\"3\"")
+                .contentType("application/merge-patch+json")
+                .content("{\"active\":false,\"details\":null}"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"4\""))
+            .andExpect(jsonPath("$.active").value(false));
+        ArgumentCaptor<JsonNode> cap = ArgumentCaptor.forClass(JsonNode.class);
+        verify(clientService).patchClient(eq(7L), cap.capture(), eq(3L));
+        assertThat(cap.getValue().get("details").isNull()).isTrue();
+    }
+
+    @Test @DisplayName("PATCH with a weak or malformed If-Match -> 412 without calling the service")
+    void patch_badIfMatch() throws Exception {
+        for (String tag : List.of("W/\"3\"", "\"abc\"", "3")) {
+            mvc.perform(patch("/api/v1/clients/7").header("If-Match", tag)
+                    .contentType("application/merge-patch+json").content("{}"))
+                .andExpect(status().isPreconditionFailed());
+        }
+        verify(clientService, never()).patchClient(anyLong(), any(), any());
+    }
+
+    @Test @DisplayName("PATCH that loses an optimistic lock race -> 409")
+    void patch_conflict() throws Exception {
+        when(clientService.patchClient(eq(7L), any(), isNull()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(ClientEntity.class, 7L));
+        mvc.perform(patch("/api/v1/clients/7").contentType(MediaType.APPLICATION_JSON).content("{\"country\":\"DE\"}"))
+            .andExpect(status().isConflict());
+    }
+
+    @Test @DisplayName("DELETE without a body deletes by filter and returns the count")
+    void delete_byFilter() throws Exception {
+        when(clientService.deleteClientsMatching("NL", false)).thenReturn(42L);
+        mvc.perform(delete("/api/v1/clients").param("country", "NL").param("active", "false"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.deleted").value(42));
+        verify(clientService, never()).deleteMultipleClients(any());
+    }
+
+    @Test @DisplayName("DELETE with both ids and filters -> 400")
+    void delete_idsAndFilter() throws Exception {
+        mvc.perform(delete("/api/v1/clients").param("country", "NL")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[1]}"))
+            .andExpect(status().isBadRequest());
+        verifyNoInteractions(clientService);
+    }
+
+    @Test @DisplayName("DELETE with Prefer: return=minimal -> deleted ids")
+    void delete_minimal() throws Exception {
+        when(clientService.deleteMultipleClientsAndReturnIds(any(DeleteMultipleClientRequest.class))).thenReturn(List.of(5L, 6L));
+        DeleteMultipleClientRequest req = new DeleteMultipleClientRequest();
+        req.setIds(List.of(5L, 6L));
+        mvc.perform(delete("/api/v1/clients")
+                .header("Prefer", "handling=lenient, return=minimal")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(om.writeValueAsString(req)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.ids.length()").value(2));
+        verify(clientService, never()).deleteMultipleClients(any());
     }
 
     @Test @DisplayName("GET /api/v1/clients/events -> 200 SSE")
     void sse_ok() throws Exception {
-        when(eventService.subscribe()).thenReturn(new SseEmitter(0L));
+        when(eventService.subscribe(isNull())).thenReturn(new SseEmitter(0L));
         mvc.perform(get("/api/v1/clients/events"))
             .andExpect(status().isOk());
-        verify(eventService).subscribe();
+        verify(eventService).subscribe(isNull());
+    }
+
+    @Test @DisplayName("GET /api/v1/clients/events passes Last-Event-ID (header wins over param)")
+    void sse_resume() throws Exception {
+        when(eventService.subscribe(any())).thenReturn(new SseEmitter(0L));
+        mvc.perform(get("/api/v1/clients/events").header("Last-Event-ID", "42").param("lastEventId", "7"))
+            .andExpect(status().isOk());
+        mvc.perform(get("/api/v1/clients/events").param("lastEventId", "7"))
+            .andExpect(status().isOk());
+        verify(eventService).subscribe("42");
+        verify(eventService).subscribe("7");
     }
 }
@@ -1,45 +1,218 @@
-
 package com.furqonajiy.crudclient.eventservice;
 
+import com.furqonajiy.crudclient.config.ClientProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
-import java.lang.reflect.Field;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 class ClientEventServiceTest {
 
+    /** Records what the drain thread sent, rendered as raw SSE text. */
+    static class RecordingEmitter extends SseEmitter {
+        final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+        RecordingEmitter() { super(0L); }
+        @Override public void send(SseEventBuilder b) {
+            sent.add(b.build().stream().map(d -> String.valueOf(d.getData())).collect(Collectors.joining()));
+        }
+        String next() throws InterruptedException { return sent.poll(2, TimeUnit.SECONDS); }
+    }
+
     static class FailingEmitter extends SseEmitter {
         public FailingEmitter() { super(0L); }
-        @Override public void send(Object o) throws IOException { throw new IOException("boom"); }
+        @Override public void send(SseEventBuilder b) throws IOException { throw new IOException("boom"); }
     }
 
-    @SuppressWarnings("unchecked")
-    private CopyOnWriteArrayList<SseEmitter> getEmitters(ClientEventService svc) throws Exception {
-        Field f = ClientEventService.class.getDeclaredField("emitters");
-        f.setAccessible(true);
-        return (CopyOnWriteArrayList<SseEmitter>) f.get(svc);
+    /** Never returns from send until released: a stuck browser tab. */
+    static class StuckEmitter extends SseEmitter {
+        final CountDownLatch release = new CountDownLatch(1);
+        StuckEmitter() { super(0L); }
+        @Override public void send(SseEventBuilder b) {
+            try { release.await(); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+        }
     }
 
-    @Test @DisplayName("subscribe registers emitter; complete removes it")
-    void subscribe_complete_removes() throws Exception {
-        ClientEventService svc = new ClientEventService();
-        SseEmitter em = svc.subscribe();
-        var list = getEmitters(svc);
-        assertThat(list).hasSize(1);
-        em.complete();
+    private ClientEventService svc;
+
+    private ClientEventService service(int capacity, SlowConsumerPolicy policy, Duration heartbeat) {
+        ClientProperties props = new ClientProperties();
+        props.getEvents().setQueueCapacity(capacity);
+        props.getEvents().setSlowConsumerPolicy(policy);
+        props.getEvents().setHeartbeatInterval(heartbeat);
+        props.getEvents().setCoalesceWindow(Duration.ZERO);
+        svc = new ClientEventService(props, new InProcessClientEventBus(), new SimpleMeterRegistry());
+        return svc;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (svc != null) svc.shutdown();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    @Test @DisplayName("subscribe registers a subscriber")
+    void subscribe_registers() {
+        ClientEventService s = service(8, SlowConsumerPolicy.DROP_OLDEST, Duration.ZERO);
+        s.subscribe(null);
+        assertThat(s.subscriberCount()).isEqualTo(1);
+    }
+
+    @Test @DisplayName("INIT then published events are delivered in order off the caller thread")
+    void publish_delivers() throws Exception {
+        ClientEventService s = service(8, SlowConsumerPolicy.DROP_OLDEST, Duration.ZERO);
+        RecordingEmitter em = new RecordingEmitter();
+        s.register(em, null);
+        s.publish(ClientEvent.created(1L, "A"));
+        assertThat(em.next()).contains("event:INIT");
+        assertThat(em.next()).contains("event:CREATED").contains("clientId=1");
+    }
+
+    @Test @DisplayName("events delivered by the bus reach local subscribers")
+    void bus_deliversToSubscribers() throws Exception {
+        ClientProperties props = new ClientProperties();
+        props.getEvents().setHeartbeatInterval(Duration.ZERO);
+        props.getEvents().setCoalesceWindow(Duration.ZERO);
+        InProcessClientEventBus bus = new InProcessClientEventBus();
+        svc = new ClientEventService(props, bus, new SimpleMeterRegistry());
+        RecordingEmitter em = new RecordingEmitter();
+        svc.register(em, null);
+        assertThat(em.next()).contains("event:INIT");
+        bus.onClientEvent(ClientEvent.deleted(9L));
+        assertThat(em.next()).contains("event:DELETED").contains("clientId=9");
     }
 
     @Test @DisplayName("publish removes emitter on IOException")
     void publish_removes_onIOException() throws Exception {
-        ClientEventService svc = new ClientEventService();
-        var list = getEmitters(svc);
-        list.add(new FailingEmitter());
-        assertThat(list).hasSize(1);
+        ClientEventService s = service(8, SlowConsumerPolicy.DROP_OLDEST, Duration.ZERO);
+        s.register(new FailingEmitter(), null);
+        s.publish(ClientEvent.created(1L, "A"));
+        await(() -> s.subscriberCount() == 0);
+    }
+
+    @Test @DisplayName("a stuck subscriber never blocks publish (drop-oldest keeps it connected)")
+    void stuckSubscriber_doesNotBlockPublisher() throws Exception {
+        ClientEventService s = service(4, SlowConsumerPolicy.DROP_OLDEST, Duration.ZERO);
+        StuckEmitter stuck = new StuckEmitter();
+        SseSubscriber sub = s.register(stuck, null);
+        long start = System.nanoTime();
+        for (int i = 0; i < 10_000; i++) {
+            s.publish(ClientEvent.updated((long) i, "X"));
+        }
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+        assertThat(s.subscriberCount()).isEqualTo(1);
+        assertThat(sub.queueDepth()).isLessThanOrEqualTo(4);
+        assertThat(sub.droppedFrames()).isPositive();
+        stuck.release.countDown();
+    }
+
+    @Test @DisplayName("disconnect policy drops a subscriber whose queue overflows")
+    void disconnectPolicy_removes() throws Exception {
+        ClientEventService s = service(1, SlowConsumerPolicy.DISCONNECT, Duration.ZERO);
+        StuckEmitter stuck = new StuckEmitter();
+        s.register(stuck, null);
+        for (int i = 0; i < 5; i++) {
+            s.publish(ClientEvent.deleted((long) i));
+        }
+        assertThat(s.subscriberCount()).isZero();
+        stuck.release.countDown();
+    }
+
+    @Test @DisplayName("Last-Event-ID replays only the missed events, with their ids")
+    void resume_replaysMissed() throws Exception {
+        ClientEventService s = service(8, SlowConsumerPolicy.DROP_OLDEST, Duration.ZERO);
+        RecordingEmitter first = new RecordingEmitter();
+        s.register(first, null);
+        assertThat(first.next()).contains("event:INIT");
+        s.publish(ClientEvent.created(1L, "A"));
+        String seen = first.next();
+        String lastId = seen.substring(seen.indexOf("id:") + 3, seen.indexOf('\n', seen.indexOf("id:")));
+        String prefix = lastId.substring(0, lastId.lastIndexOf('-') + 1);
+        long seq = Long.parseLong(lastId.substring(prefix.length()));
+        s.publish(ClientEvent.updated(1L, "B"));
+        s.publish(ClientEvent.deleted(1L));
+
+        RecordingEmitter resumed = new RecordingEmitter();
+        s.register(resumed, lastId);
+        assertThat(resumed.next()).contains("event:INIT");
+        assertThat(resumed.next()).contains("id:" + prefix + (seq + 1)).contains("event:UPDATED");
+        assertThat(resumed.next()).contains("id:" + prefix + (seq + 2)).contains("event:DELETED");
+        assertThat(resumed.sent.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test @DisplayName("an id from another node or run, or garbage, gets a single RESYNC")
+    void resume_gapTooLarge_resync() throws Exception {
+        ClientEventService s = service(8, SlowConsumerPolicy.DROP_OLDEST, Duration.ZERO);
+        s.publish(ClientEvent.created(1L, "A"));
+
+        RecordingEmitter stale = new RecordingEmitter();
+        s.register(stale, "othernode-1");
+        assertThat(stale.next()).contains("event:INIT");
+        assertThat(stale.next()).contains("event:" + SseFrame.RESYNC).contains("id:");
+
+        RecordingEmitter garbage = new RecordingEmitter();
+        s.register(garbage, "not-a-number");
+        assertThat(garbage.next()).contains("event:INIT");
+        assertThat(garbage.next()).contains("event:" + SseFrame.RESYNC);
+    }
+
+    @Test @DisplayName("events inside the coalesce window go out as one BATCH frame")
+    void coalesce_mergesBurst() throws Exception {
+        ClientProperties props = new ClientProperties();
+        props.getEvents().setHeartbeatInterval(Duration.ZERO);
+        props.getEvents().setCoalesceWindow(Duration.ofMillis(50));
+        svc = new ClientEventService(props, new InProcessClientEventBus(), new SimpleMeterRegistry());
+        RecordingEmitter em = new RecordingEmitter();
+        svc.register(em, null);
+        assertThat(em.next()).contains("event:INIT");
+
         svc.publish(ClientEvent.created(1L, "A"));
+        svc.publish(ClientEvent.batch(List.of(ClientEvent.deleted(2L), ClientEvent.deleted(3L))));
+        svc.publish(ClientEvent.updated(4L, "D"));
+
+        String frame = em.next();
+        assertThat(frame).contains("event:BATCH").contains("clientId=1").contains("clientId=3").contains("clientId=4");
+        assertThat(em.sent.poll(150, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test @DisplayName("a lone event inside the window is sent unwrapped")
+    void coalesce_singleEventUnwrapped() throws Exception {
+        ClientProperties props = new ClientProperties();
+        props.getEvents().setHeartbeatInterval(Duration.ZERO);
+        props.getEvents().setCoalesceWindow(Duration.ofMillis(10));
+        svc = new ClientEventService(props, new InProcessClientEventBus(), new SimpleMeterRegistry());
+        RecordingEmitter em = new RecordingEmitter();
+        svc.register(em, null);
+        assertThat(em.next()).contains("event:INIT");
+        svc.publish(ClientEvent.deleted(7L));
+        assertThat(em.next()).contains("event:DELETED").contains("clientId=7");
+    }
+
+    @Test @DisplayName("idle subscribers receive heartbeat comments")
+    void heartbeat_sent() throws Exception {
+        ClientEventService s = service(8, SlowConsumerPolicy.DROP_OLDEST, Duration.ofMillis(20));
+        RecordingEmitter em = new RecordingEmitter();
+        s.register(em, null);
+        assertThat(em.next()).contains("event:INIT");
+        assertThat(em.next()).startsWith(":heartbeat");
     }
 }
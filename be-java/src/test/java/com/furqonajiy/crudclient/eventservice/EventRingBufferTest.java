@@ -0,0 +1,42 @@
+package com.furqonajiy.crudclient.eventservice;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.InstanceOfAssertFactories.LIST;
+
+class EventRingBufferTest {
+
+    private static EventRingBuffer filled(int capacity, long start, int count) {
+        var buf = new EventRingBuffer(capacity, start);
+        for (int i = 1; i <= count; i++) {
+            buf.append(start + i, SseFrame.event("n-" + (start + i), "UPDATED", i));
+        }
+        return buf;
+    }
+
+    @Test @DisplayName("since returns the frames after the given id, oldest first")
+    void since_withinWindow() {
+        var buf = filled(4, 100, 3);
+        assertThat(buf.since(101)).get().asInstanceOf(LIST).extracting("id").containsExactly("n-102", "n-103");
+        assertThat(buf.since(103)).get().asInstanceOf(LIST).isEmpty();
+        assertThat(buf.since(100)).get().asInstanceOf(LIST).hasSize(3);
+    }
+
+    @Test @DisplayName("ids evicted by wrap-around or never issued are a gap")
+    void since_gap() {
+        var buf = filled(4, 100, 10);
+        assertThat(buf.lastId()).isEqualTo(110);
+        assertThat(buf.since(106)).get().asInstanceOf(LIST).extracting("id").containsExactly("n-107", "n-108", "n-109", "n-110");
+        assertThat(buf.since(105)).isEmpty();
+        assertThat(buf.since(111)).isEmpty();
+    }
+
+    @Test @DisplayName("an empty buffer only knows its starting id")
+    void since_empty() {
+        var buf = new EventRingBuffer(4, 100);
+        assertThat(buf.since(100)).get().asInstanceOf(LIST).isEmpty();
+        assertThat(buf.since(99)).isEmpty();
+    }
+}
@@ -0,0 +1,48 @@
+package com.furqonajiy.crudclient.eventservice;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.furqonajiy.crudclient.model.ClientDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.Mockito.mock;
+
+/** Payload codec only; the LISTEN/NOTIFY round trip is covered by {@link PostgresClientEventBusTwoNodeTest}. */
+class PostgresClientEventBusTest {
+
+    private final PostgresClientEventBus bus =
+            new PostgresClientEventBus(mock(DataSource.class), new DataSourceProperties(), new ObjectMapper().findAndRegisterModules());
+
+    @Test @DisplayName("inline payloads decode back to the same event, row included")
+    void inline_roundTrip() {
+        ClientEvent ev = ClientEvent.batch(List.of(
+                ClientEvent.created(new ClientDto(5L, "Full", "Disp", "a@b.com", null, true, null, "NL")),
+                ClientEvent.deleted(6L)));
+        ClientEvent back = bus.read(bus.write(ev), id -> fail("no log lookup expected"));
+        assertThat(back).isEqualTo(ev);
+        assertThat(back.getChanges().getFirst().getClient().getEmail()).isEqualTo("a@b.com");
+    }
+
+    @Test @DisplayName("a reference payload is resolved through the event log")
+    void reference_readsLog() {
+        String stored = bus.write(ClientEvent.deleted(7L));
+        ClientEvent back = bus.read(PostgresClientEventBus.reference(42L), id -> {
+            assertThat(id).isEqualTo(42L);
+            return stored;
+        });
+        assertThat(back.getClientId()).isEqualTo(7L);
+    }
+
+    @Test @DisplayName("a large batch does not fit in a notification")
+    void largeBatch_exceedsInlineLimit() {
+        var changes = LongStream.range(0, 1000).mapToObj(ClientEvent::deleted).toList();
+        assertThat(bus.write(ClientEvent.batch(changes)).length()).isGreaterThan(PostgresClientEventBus.MAX_INLINE_BYTES);
+    }
+}
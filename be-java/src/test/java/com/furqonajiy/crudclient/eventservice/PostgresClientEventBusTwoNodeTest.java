@@ -0,0 +1,85 @@
+package com.furqonajiy.crudclient.eventservice;
+
+import com.furqonajiy.crudclient.MainApplication;
+import com.furqonajiy.crudclient.model.CreateClientRequest;
+import com.furqonajiy.crudclient.service.ClientService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two application contexts ("nodes") sharing one PostgreSQL database. Needs a disposable database:
+ * {@code CLIENTS_TEST_PG_URL=jdbc:postgresql://localhost:5433/clients_test} (plus
+ * {@code CLIENTS_TEST_PG_USER} / {@code CLIENTS_TEST_PG_PASSWORD}, default postgres/admin).
+ */
+@EnabledIfEnvironmentVariable(named = "CLIENTS_TEST_PG_URL", matches = ".+")
+class PostgresClientEventBusTwoNodeTest {
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    private static ConfigurableApplicationContext node() {
+        return new SpringApplicationBuilder(MainApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=" + System.getenv("CLIENTS_TEST_PG_URL"),
+                "--spring.datasource.username=" + Objects.requireNonNullElse(System.getenv("CLIENTS_TEST_PG_USER"), "postgres"),
+                "--spring.datasource.password=" + Objects.requireNonNullElse(System.getenv("CLIENTS_TEST_PG_PASSWORD"), "admin"),
+                "--spring.datasource.driver-class-name=org.postgresql.Driver",
+                "--spring.jpa.hibernate.ddl-auto=none",
+                "--spring.flyway.enabled=true",
+                "--clients.events.bus=postgres");
+    }
+
+    @BeforeAll
+    static void start() {
+        nodeA = node();
+        nodeB = node();
+    }
+
+    @AfterAll
+    static void stop() {
+        if (nodeB != null) nodeB.close();
+        if (nodeA != null) nodeA.close();
+    }
+
+    @Test @DisplayName("a write committed on node A reaches an SSE subscriber on node B")
+    void crossNodeDelivery() throws Exception {
+        var emitter = new ClientEventServiceTest.RecordingEmitter();
+        nodeB.getBean(ClientEventService.class).register(emitter, null);
+        assertThat(emitter.next()).contains("event:INIT");
+
+        var req = new CreateClientRequest();
+        req.setFullName("Cross Node");
+        req.setDisplayName("XN");
+        req.setEmail(UUID.randomUUID() + "@example.com");
+        req.setCountry("NL");
+        var created = nodeA.getBean(ClientService.class).createClientAndReturn(req);
+
+        var frame = emitter.sent.poll(10, TimeUnit.SECONDS);
+        assertThat(frame).contains("event:CREATED").contains("clientId=" + created.getId());
+    }
+
+    @Test @DisplayName("a batch larger than a notification travels through the event log")
+    void largePayloadViaLog() throws Exception {
+        var emitter = new ClientEventServiceTest.RecordingEmitter();
+        nodeB.getBean(ClientEventService.class).register(emitter, null);
+        assertThat(emitter.next()).contains("event:INIT");
+
+        var changes = LongStream.range(0, 1000).mapToObj(ClientEvent::deleted).toList();
+        nodeA.getBean(ClientEventBus.class).publish(ClientEvent.batch(changes));
+
+        var frame = emitter.sent.poll(10, TimeUnit.SECONDS);
+        assertThat(frame).contains("event:BATCH").contains("clientId=999");
+    }
+}
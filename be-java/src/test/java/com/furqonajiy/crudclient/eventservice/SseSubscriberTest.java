@@ -0,0 +1,63 @@
+package com.furqonajiy.crudclient.eventservice;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Queue policies, exercised without starting the drain thread. */
+class SseSubscriberTest {
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+
+    private SseSubscriber subscriber(int capacity, SlowConsumerPolicy policy) {
+        return new SseSubscriber(new SseEmitter(0L), capacity, policy, new SseMetrics(meters, policy), s -> {});
+    }
+
+    private static SseFrame frame(int i) {
+        return SseFrame.event("UPDATED", i);
+    }
+
+    @Test @DisplayName("drop-oldest keeps the newest frames behind a single RESYNC marking the gap")
+    void dropOldest() {
+        SseSubscriber sub = subscriber(3, SlowConsumerPolicy.DROP_OLDEST);
+        for (int i = 0; i < 5; i++) assertThat(sub.offer(frame(i))).isTrue();
+        assertThat(sub.pending()).extracting(SseFrame::name).containsExactly(SseFrame.RESYNC, "UPDATED", "UPDATED");
+        assertThat(sub.pending()).extracting(SseFrame::data).endsWith(3, 4);
+        assertThat(sub.droppedFrames()).isEqualTo(2);
+        assertThat(meters.get("clients.sse.frames.dropped").tag("policy", "drop_oldest").counter().count()).isEqualTo(2);
+    }
+
+    @Test @DisplayName("coalesce collapses the backlog into one RESYNC frame")
+    void coalesce() {
+        SseSubscriber sub = subscriber(2, SlowConsumerPolicy.COALESCE);
+        for (int i = 0; i < 3; i++) sub.offer(frame(i));
+        assertThat(sub.pending()).extracting(SseFrame::name).containsExactly(SseFrame.RESYNC);
+    }
+
+    @Test @DisplayName("disconnect rejects the overflowing frame")
+    void disconnect() {
+        SseSubscriber sub = subscriber(1, SlowConsumerPolicy.DISCONNECT);
+        assertThat(sub.offer(frame(0))).isTrue();
+        assertThat(sub.offer(frame(1))).isFalse();
+    }
+
+    @Test @DisplayName("heartbeat is skipped when frames are already queued; close is idempotent")
+    void heartbeatAndClose() {
+        AtomicBoolean removed = new AtomicBoolean();
+        SseSubscriber sub = new SseSubscriber(new SseEmitter(0L), 4, SlowConsumerPolicy.DROP_OLDEST,
+                new SseMetrics(meters, SlowConsumerPolicy.DROP_OLDEST), s -> removed.set(true));
+        sub.offerHeartbeat();
+        sub.offerHeartbeat();
+        assertThat(sub.pending()).hasSize(1);
+        sub.close();
+        sub.close();
+        assertThat(removed).isTrue();
+        assertThat(sub.isClosed()).isTrue();
+        assertThat(sub.offer(frame(1))).isFalse();
+    }
+}
@@ -2,7 +2,12 @@
 package com.furqonajiy.crudclient.exception;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Map;
 
@@ -18,4 +23,28 @@ class GlobalExceptionHandlerTest {
         assertThat(resp.getBody()).isNotNull();
         assertThat(resp.getBody()).containsKeys("timestamp", "error", "message");
     }
+
+    @Test
+    void handleStatus_keepsStatusCode() {
+        GlobalExceptionHandler h = new GlobalExceptionHandler();
+        ResponseEntity<Map<String, Object>> resp = h.handleStatus(new ResponseStatusException(HttpStatus.BAD_REQUEST, "bad"));
+        assertThat(resp.getStatusCode().value()).isEqualTo(400);
+        assertThat(resp.getBody()).containsEntry("message", "bad");
+    }
+
+    @Test
+    void handleConflict_returns409() {
+        GlobalExceptionHandler h = new GlobalExceptionHandler();
+        ResponseEntity<Map<String, Object>> resp = h.handleConflict(new OptimisticLockingFailureException("stale"));
+        assertThat(resp.getStatusCode().value()).isEqualTo(409);
+        assertThat(resp.getBody()).containsKeys("timestamp", "error", "message");
+    }
+
+    @Test
+    void handleUnavailable_returns503() {
+        GlobalExceptionHandler h = new GlobalExceptionHandler();
+        ResponseEntity<Map<String, Object>> resp = h.handleUnavailable(new CannotCreateTransactionException("no slot"));
+        assertThat(resp.getStatusCode().value()).isEqualTo(503);
+        assertThat(resp.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    }
 }
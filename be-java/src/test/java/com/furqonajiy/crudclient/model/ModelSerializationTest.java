@@ -31,4 +31,12 @@ class ModelSerializationTest {
         assertThat(json).doesNotContain("null");
         assertThat(json).contains("\"fullName\":\"Full\"");
     }
-}
\ No newline at end of file
+
+    @Test
+    void clientDto_projectionOmitsUnselectedFields() throws Exception {
+        ClientDto dto = new ClientDto();
+        dto.setId(3L);
+        dto.setEmail("p@q.com");
+        assertThat(mapper.writeValueAsString(dto)).isEqualTo("{\"id\":3,\"email\":\"p@q.com\"}");
+    }
+}
@@ -0,0 +1,66 @@
+package com.furqonajiy.crudclient.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The native {@code INSERT ... ON CONFLICT} path of {@link ClientBulkRepository#upsertByEmail}, which only
+ * runs on PostgreSQL. Needs a disposable database, configured like {@code PostgresClientEventBusTwoNodeTest}.
+ */
+@EnabledIfEnvironmentVariable(named = "CLIENTS_TEST_PG_URL", matches = ".+")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ClientBulkRepositoryPostgresTest {
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("CLIENTS_TEST_PG_URL"));
+        registry.add("spring.datasource.username", () -> Objects.requireNonNullElse(System.getenv("CLIENTS_TEST_PG_USER"), "postgres"));
+        registry.add("spring.datasource.password", () -> Objects.requireNonNullElse(System.getenv("CLIENTS_TEST_PG_PASSWORD"), "admin"));
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.flyway.enabled", () -> "true");
+    }
+
+    @Autowired ClientRepository repo;
+
+    private static ClientEntity row(String email, String country) {
+        ClientEntity e = new ClientEntity();
+        e.setFullName("Full"); e.setDisplayName("D"); e.setEmail(email);
+        e.setActive(true); e.setCountry(country);
+        return e;
+    }
+
+    @Test @DisplayName("one statement inserts new emails, updates changed rows and skips identical ones")
+    void upsert_onConflict() {
+        var tag = UUID.randomUUID().toString().substring(0, 8);
+        var same = repo.save(row("same-" + tag + "@x.com", "NL"));
+        var moved = repo.save(row("moved-" + tag + "@x.com", "NL"));
+        repo.flush();
+
+        var result = repo.upsertByEmail(List.of(
+                row("same-" + tag + "@x.com", "NL"),
+                row("moved-" + tag + "@x.com", "DE"),
+                row("new-" + tag + "@x.com", "NL")));
+
+        assertThat(result.updated()).containsExactly(moved.getId());
+        assertThat(result.inserted()).hasSize(1).doesNotContain(same.getId(), moved.getId());
+        assertThat(repo.findById(moved.getId())).get().satisfies(e -> {
+            assertThat(e.getCountry()).isEqualTo("DE");
+            assertThat(e.getVersion()).isEqualTo(moved.getVersion() + 1);
+        });
+        assertThat(repo.findById(same.getId())).get().extracting(ClientEntity::getVersion).isEqualTo(same.getVersion());
+    }
+}
@@ -0,0 +1,87 @@
+package com.furqonajiy.crudclient.repository;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** {@link ClientBulkRepository#updateEach} on H2; the PostgreSQL-only upsert is in {@link ClientBulkRepositoryPostgresTest}. */
+@DataJpaTest
+class ClientBulkRepositoryTest {
+
+    @Autowired ClientRepository repo;
+    @Autowired EntityManager em;
+
+    private ClientEntity saved(String email) {
+        ClientEntity e = new ClientEntity();
+        e.setFullName("A"); e.setDisplayName("B");
+        e.setEmail(email); e.setDetails("d");
+        e.setActive(true); e.setLocation("Loc"); e.setCountry("NL");
+        repo.saveAndFlush(e);
+        em.clear();
+        return e;
+    }
+
+    private static Map<String, Object> detailsNull() {
+        var values = new HashMap<String, Object>();
+        values.put("details", null);
+        return values;
+    }
+
+    private ClientEntity reload(long id) {
+        em.clear();
+        return repo.findById(id).orElseThrow();
+    }
+
+    @Test @DisplayName("every attribute a bulk update may set maps to its column through the entity mapping")
+    void updateEach_allAttributes() {
+        var e = saved("a@x.com");
+        var values = new HashMap<String, Object>();
+        values.put("fullName", "Full"); values.put("displayName", "Disp"); values.put("email", "new@x.com");
+        values.put("details", null); values.put("active", false); values.put("location", "City");
+        values.put("country", "DE");
+
+        assertThat(repo.updateEach(Map.of(e.getId(), values))).containsExactly(e.getId());
+
+        var after = reload(e.getId());
+        assertThat(after).extracting(ClientEntity::getFullName, ClientEntity::getDisplayName, ClientEntity::getEmail,
+                        ClientEntity::getDetails, ClientEntity::isActive, ClientEntity::getLocation, ClientEntity::getCountry)
+                .containsExactly("Full", "Disp", "new@x.com", null, false, "City", "DE");
+        assertThat(after.getVersion()).isEqualTo(e.getVersion() + 1);
+    }
+
+    @Test @DisplayName("a row that already holds the values is not written and keeps its version")
+    void updateEach_unchangedKeepsVersion() {
+        var same = saved("same@x.com");
+        var other = saved("other@x.com");
+        var nulls = saved("nulls@x.com");
+        repo.updateEach(Map.of(nulls.getId(), detailsNull()));
+        long nullsVersion = reload(nulls.getId()).getVersion();
+
+        var changed = repo.updateEach(Map.of(
+                same.getId(), Map.of("country", "NL", "active", true),
+                other.getId(), Map.of("country", "DE", "active", true),
+                nulls.getId(), detailsNull()));
+
+        assertThat(changed).containsExactly(other.getId());
+        assertThat(reload(same.getId()).getVersion()).isEqualTo(same.getVersion());
+        assertThat(reload(other.getId()).getVersion()).isEqualTo(other.getVersion() + 1);
+        assertThat(reload(nulls.getId()).getVersion()).isEqualTo(nullsVersion);
+    }
+
+    @Test @DisplayName("id, version and unknown names are not settable")
+    void updateEach_rejectsOtherAttributes() {
+        var e = saved("r@x.com");
+        for (var name : new String[]{"id", "version", "nickname"}) {
+            assertThatThrownBy(() -> repo.updateEach(Map.of(e.getId(), Map.of(name, 1L))))
+                    .hasRootCauseInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
@@ -6,6 +6,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -36,4 +41,83 @@ class ClientRepositoryTest {
         assertThatThrownBy(() -> repo.saveAndFlush(newE("dup@y.com")))
                 .isInstanceOf(DataIntegrityViolationException.class);
     }
+
+    @Test @DisplayName("findPageAfter walks by id and applies optional filters")
+    void keyset_page() {
+        ClientEntity a = repo.save(newE("a@y.com"));
+        ClientEntity b = newE("b@y.com"); b.setActive(false); b = repo.save(b);
+        ClientEntity c = newE("c@y.com"); c.setCountry("DE"); c = repo.save(c);
+
+        assertThat(repo.findPageAfter(0L, null, null, Limit.of(2)))
+                .extracting(ClientEntity::getId).containsExactly(a.getId(), b.getId());
+        assertThat(repo.findPageAfter(b.getId(), null, null, Limit.of(2)))
+                .extracting(ClientEntity::getId).containsExactly(c.getId());
+        assertThat(repo.findPageAfter(0L, "NL", true, Limit.of(10)))
+                .extracting(ClientEntity::getId).containsExactly(a.getId());
+    }
+
+    private ClientEntity named(String fullName, String displayName, String email, String country, boolean active) {
+        ClientEntity e = newE(email);
+        e.setFullName(fullName); e.setDisplayName(displayName);
+        e.setCountry(country); e.setActive(active);
+        return repo.save(e);
+    }
+
+    @Test @DisplayName("search combines filters, case-insensitive prefix and sort with id tie-break")
+    void search_filtersAndSorts() {
+        ClientEntity ann = named("Ann Lee", "ann", "ann@x.com", "NL", true);
+        ClientEntity bob = named("Bob Annson", "bobby", "bob@x.com", "NL", true);
+        named("Anna Berg", "anna", "anna@x.com", "DE", true);
+        named("Annie Off", "annie", "annie@x.com", "NL", false);
+
+        var spec = Specification.allOf(
+                ClientSpecifications.hasCountry("NL"),
+                ClientSpecifications.isActive(true),
+                ClientSpecifications.nameOrEmailStartsWith("AN"));
+        assertThat(repo.search(spec, Sort.by("id"), 0, 10))
+                .extracting(ClientEntity::getId).containsExactly(ann.getId());
+
+        var contains = ClientSpecifications.nameOrEmailContains("anns");
+        assertThat(repo.search(contains, Sort.by("id"), 0, 10))
+                .extracting(ClientEntity::getId).containsExactly(bob.getId());
+
+        var sorted = repo.search(Specification.allOf(ClientSpecifications.hasCountry("NL")),
+                Sort.by(Sort.Direction.DESC, "fullName").and(Sort.by("id")), 1, 2);
+        assertThat(sorted).extracting(ClientEntity::getFullName).containsExactly("Annie Off", "Ann Lee");
+    }
+
+    @Test @DisplayName("search escapes LIKE wildcards in the user's text")
+    void search_escapesWildcards() {
+        ClientEntity pct = named("100% Club", "pct", "pct@x.com", "NL", true);
+        named("1000 Club", "k", "k@x.com", "NL", true);
+        assertThat(repo.search(ClientSpecifications.nameOrEmailStartsWith("100%"), Sort.by("id"), 0, 10))
+                .extracting(ClientEntity::getId).containsExactly(pct.getId());
+        assertThat(repo.search(ClientSpecifications.nameOrEmailStartsWith("_"), Sort.by("id"), 0, 10)).isEmpty();
+    }
+
+    @Test @DisplayName("searchColumns selects only the requested attributes, aliased by name")
+    void searchColumns_projects() {
+        ClientEntity ann = named("Ann Lee", "ann", "ann@x.com", "NL", true);
+        named("Bob Annson", "bobby", "bob@x.com", "DE", false);
+
+        var rows = repo.searchColumns(ClientSpecifications.hasCountry("NL"), Sort.by("id"), List.of("id", "email", "active"), 0, -1);
+        assertThat(rows).hasSize(1);
+        assertThat(rows.getFirst().get("id")).isEqualTo(ann.getId());
+        assertThat(rows.getFirst().get("email")).isEqualTo("ann@x.com");
+        assertThat(rows.getFirst().get("active")).isEqualTo(true);
+        assertThat(rows.getFirst().getElements()).hasSize(3);
+    }
+
+    @Test @DisplayName("lockIdsAfter walks matching ids in order, a chunk at a time")
+    void lockIdsAfter_chunks() {
+        ClientEntity a = named("A", "a", "a@x.com", "NL", false);
+        named("B", "b", "b@x.com", "NL", true);
+        ClientEntity c = named("C", "c", "c@x.com", "NL", false);
+        ClientEntity d = named("D", "d", "d@x.com", "NL", false);
+        named("E", "e", "e@x.com", "DE", false);
+
+        assertThat(repo.lockIdsAfter(0, "NL", false, Limit.of(2))).containsExactly(a.getId(), c.getId());
+        assertThat(repo.lockIdsAfter(c.getId(), "NL", false, Limit.of(2))).containsExactly(d.getId());
+        assertThat(repo.lockIdsAfter(0, null, false, Limit.of(10))).hasSize(4);
+    }
 }
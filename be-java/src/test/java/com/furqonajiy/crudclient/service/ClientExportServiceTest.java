@@ -0,0 +1,75 @@
+package com.furqonajiy.crudclient.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.furqonajiy.crudclient.repository.ClientEntity;
+import com.furqonajiy.crudclient.repository.ClientRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(ClientExportService.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class ClientExportServiceTest {
+
+    @Autowired ClientExportService exportService;
+    @Autowired ClientRepository repo;
+    @Autowired EntityManager em;
+    @Autowired ObjectMapper mapper;
+
+    private ClientEntity save(String email, String details) {
+        ClientEntity e = new ClientEntity();
+        e.setFullName("Full"); e.setDisplayName("Disp");
+        e.setEmail(email); e.setDetails(details);
+        e.setActive(true); e.setCountry("NL");
+        return repo.save(e);
+    }
+
+    @Test @DisplayName("NDJSON writes one ClientDto per line and detaches rows")
+    void ndjson() throws Exception {
+        ClientEntity a = save("a@x.com", "d");
+        save("b@x.com", null);
+        em.flush();
+
+        var out = new ByteArrayOutputStream();
+        long rows = exportService.export(ExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(rows).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        assertThat(mapper.readTree(lines[0]).get("email").asText()).isEqualTo("a@x.com");
+        assertThat(lines[1]).doesNotContain("details");
+        assertThat(em.contains(a)).isFalse();
+    }
+
+    @Test @DisplayName("CSV has the ClientDto columns and quotes special characters")
+    void csv() throws Exception {
+        save("a@x.com", "says \"hi\", twice");
+        em.flush();
+
+        var out = new ByteArrayOutputStream();
+        exportService.export(ExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines[0]).isEqualTo(ClientExportService.CSV_HEADER);
+        assertThat(lines[1]).endsWith(",Full,Disp,a@x.com,\"says \"\"hi\"\", twice\",true,,NL");
+    }
+
+    @Test
+    void csvField_plainValueUnquoted() throws Exception {
+        var w = new StringWriter();
+        ClientExportService.writeCsvField(w, "plain");
+        assertThat(w).hasToString("plain");
+    }
+}
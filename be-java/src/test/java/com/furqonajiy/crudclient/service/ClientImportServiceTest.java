@@ -0,0 +1,138 @@
+package com.furqonajiy.crudclient.service;
+
+import com.furqonajiy.crudclient.config.ClientProperties;
+import com.furqonajiy.crudclient.eventservice.InProcessClientEventBus;
+import com.furqonajiy.crudclient.model.ImportReport;
+import com.furqonajiy.crudclient.model.ImportRowError;
+import com.furqonajiy.crudclient.repository.ClientEntity;
+import com.furqonajiy.crudclient.repository.ClientRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import({ClientService.class, ClientImportService.class, ClientSearchIndex.class, InProcessClientEventBus.class, ClientProperties.class, SimpleMeterRegistry.class})
+@ImportAutoConfiguration({ValidationAutoConfiguration.class, JacksonAutoConfiguration.class})
+class ClientImportServiceTest {
+
+    @Autowired ClientImportService importService;
+    @Autowired ClientRepository repo;
+    @Autowired ClientProperties props;
+
+    private ImportReport importCsv(String csv) throws Exception {
+        return importService.importClients("clients.csv", new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test @DisplayName("CSV: valid rows imported in chunks, invalid and duplicate rows reported")
+    void csv_chunksAndErrors() throws Exception {
+        props.getBulkImport().setChunkSize(2);
+        ClientEntity existing = new ClientEntity();
+        existing.setFullName("Old"); existing.setDisplayName("O"); existing.setEmail("taken@x.com"); existing.setCountry("NL");
+        repo.save(existing);
+
+        ImportReport report = importCsv("""
+                Full Name,Display Name,Email,Details,Active,Location,Country
+                Ann One,Ann,ANN@x.com,"likes ""quotes"", commas",yes,Amsterdam,NL
+                Bob Two,Bob,not-an-email,,no,,NL
+                Cid Three,Cid,cid@x.com,,1,,DE
+                Dup Ann,Dup,ann@x.com,,true,,NL
+                Tak En,Tak,taken@x.com,,true,,NL
+                """);
+
+        assertThat(report.getTotalRows()).isEqualTo(5);
+        assertThat(report.getImported()).isEqualTo(2);
+        assertThat(report.getFailed()).isEqualTo(3);
+        assertThat(report.getErrors()).extracting(ImportRowError::getRow).containsExactly(3L, 5L, 6L);
+        assertThat(repo.findExistingEmails(List.of("ann@x.com", "cid@x.com"))).hasSize(2);
+        assertThat(repo.findAll()).filteredOn(e -> e.getEmail().equals("ann@x.com"))
+                .singleElement().satisfies(e -> {
+                    assertThat(e.getDetails()).isEqualTo("likes \"quotes\", commas");
+                    assertThat(e.isActive()).isTrue();
+                });
+    }
+
+    @Test @DisplayName("CSV: missing required columns -> 400")
+    void csv_missingHeaders() {
+        assertThatThrownBy(() -> importCsv("Full Name,Email\nA,a@x.com\n"))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("country");
+    }
+
+    @Test @DisplayName("error list is capped but failures are still counted")
+    void errors_truncated() throws Exception {
+        props.getBulkImport().setMaxReportedErrors(1);
+        ImportReport report = importCsv("fullName,displayName,email,country\n,,,\n,,,\n");
+        assertThat(report.getFailed()).isEqualTo(2);
+        assertThat(report.getErrors()).hasSize(1);
+        assertThat(report.isErrorsTruncated()).isTrue();
+    }
+
+    private static byte[] workbook(String[][] rows) throws Exception {
+        var bytes = new ByteArrayOutputStream();
+        try (var wb = new XSSFWorkbook()) {
+            var sheet = wb.createSheet("Clients");
+            for (int r = 0; r < rows.length; r++) {
+                var row = sheet.createRow(r);
+                for (int c = 0; c < rows[r].length; c++) {
+                    row.createCell(c).setCellValue(rows[r][c]);
+                }
+            }
+            wb.write(bytes);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Test @DisplayName("XLSX: first sheet is read with the streaming reader")
+    void xlsx_ok() throws Exception {
+        var bytes = workbook(new String[][]{
+                {"Full Name", "Display Name", "Email", "Active", "Country"},
+                {"Xena X", "Xena", "xena@x.com", "TRUE", "GR"},
+                {"Yuri Y", "Yuri", "yuri@x.com", "FALSE", "RU"}
+        });
+
+        ImportReport report = importService.importClients("upload.XLSX", new ByteArrayInputStream(bytes));
+
+        assertThat(report.getImported()).isEqualTo(2);
+        assertThat(report.getErrors()).isEmpty();
+        assertThat(repo.findExistingEmails(List.of("xena@x.com", "yuri@x.com"))).hasSize(2);
+    }
+
+    @Test @DisplayName("XLSX on disk: opened in place; shared strings over the limit -> 413")
+    void xlsx_sharedStringsLimit(@TempDir Path dir) throws Exception {
+        var file = Files.write(dir.resolve("upload.xlsx"), workbook(new String[][]{
+                {"Full Name", "Display Name", "Email", "Country"},
+                {"Zoe Z", "Zoe", "zoe@x.com", "NZ"}
+        }));
+
+        assertThat(importService.importClients("upload.xlsx", file).getImported()).isEqualTo(1);
+
+        props.getBulkImport().setMaxSharedStringsBytes(64);
+        try {
+            assertThatThrownBy(() -> importService.importClients("upload.xlsx", file))
+                    .isInstanceOf(ResponseStatusException.class)
+                    .hasMessageContaining("413");
+        } finally {
+            props.getBulkImport().setMaxSharedStringsBytes(new ClientProperties.BulkImport().getMaxSharedStringsBytes());
+        }
+        assertThat(Files.exists(file)).isTrue();
+    }
+}
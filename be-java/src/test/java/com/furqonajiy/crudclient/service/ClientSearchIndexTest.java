@@ -0,0 +1,89 @@
+package com.furqonajiy.crudclient.service;
+
+import com.furqonajiy.crudclient.config.ClientProperties;
+import com.furqonajiy.crudclient.eventservice.ClientEvent;
+import com.furqonajiy.crudclient.eventservice.InProcessClientEventBus;
+import com.furqonajiy.crudclient.model.ClientDto;
+import com.furqonajiy.crudclient.repository.ClientEntity;
+import com.furqonajiy.crudclient.repository.ClientRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ClientSearchIndexTest {
+
+    private final ClientRepository repo = mock(ClientRepository.class);
+    private final InProcessClientEventBus bus = new InProcessClientEventBus();
+    private final ClientSearchIndex index = new ClientSearchIndex(repo, mock(EntityManager.class),
+            mock(PlatformTransactionManager.class), bus, new ClientProperties());
+
+    private static ClientEntity entity(long id, String fullName) {
+        var e = new ClientEntity();
+        e.setId(id); e.setFullName(fullName); e.setDisplayName("D" + id);
+        e.setEmail("c" + id + "@x.io"); e.setActive(true); e.setCountry("NL");
+        return e;
+    }
+
+    private static ClientDto dto(long id, String fullName) {
+        return ClientService.toDto(entity(id, fullName));
+    }
+
+    @Test @DisplayName("not ready until the first build; the build reads every row")
+    void rebuild_readsTable() {
+        when(repo.streamAllByOrderByIdAsc()).thenReturn(Stream.of(entity(1, "John Smith"), entity(2, "Jane Doe")));
+        assertThat(index.isReady()).isFalse();
+
+        index.rebuild();
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.search("smith", null, null, 10)).containsExactly(1L);
+        assertThat(index.search("doe", null, null, 10)).containsExactly(2L);
+    }
+
+    @Test @DisplayName("events published while the table is being read are replayed onto the new index")
+    void rebuild_replaysEventsSeenDuringBuild() {
+        // the stream still hands out the rows as they were read: 1 and 2 unchanged, 3 not yet inserted
+        var rows = Stream.of(entity(1, "John Smith"), entity(2, "Jane Doe"))
+                .peek(e -> {
+                    if (e.getId() == 1) {
+                        bus.publish(ClientEvent.created(dto(3, "Ann Blacksmith")));
+                        bus.publish(ClientEvent.updated(dto(2, "Jane Fisher")));
+                        bus.publish(ClientEvent.batch(List.of(ClientEvent.deleted(1L))));
+                    }
+                });
+        when(repo.streamAllByOrderByIdAsc()).thenReturn(rows);
+
+        index.rebuild();
+
+        assertThat(index.search("smith", null, null, 10)).containsExactly(3L);
+        assertThat(index.search("fisher", null, null, 10)).containsExactly(2L);
+        assertThat(index.search("doe", null, null, 10)).isEmpty();
+    }
+
+    @Test @DisplayName("after the build, change events keep the index current")
+    void events_afterBuild() {
+        when(repo.streamAllByOrderByIdAsc()).thenReturn(Stream.of(entity(1, "John Smith")));
+        index.rebuild();
+
+        bus.publish(ClientEvent.created(dto(2, "Will Smithers")));
+        bus.publish(ClientEvent.deleted(1L));
+
+        assertThat(index.search("smith", null, null, 10)).containsExactly(2L);
+    }
+
+    @Test @DisplayName("a failed build leaves the index not ready, so search falls back to the database")
+    void rebuild_failure() {
+        when(repo.streamAllByOrderByIdAsc()).thenThrow(new IllegalStateException("connection refused"));
+
+        index.rebuild();
+
+        assertThat(index.isReady()).isFalse();
+    }
+}
@@ -0,0 +1,57 @@
+package com.furqonajiy.crudclient.service;
+
+import com.furqonajiy.crudclient.config.ClientProperties;
+import com.furqonajiy.crudclient.eventservice.InProcessClientEventBus;
+import com.furqonajiy.crudclient.model.CreateClientRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Bulk create must be JDBC-batched: statements scale with rows / batch size, not with rows. */
+@DataJpaTest
+@ImportAutoConfiguration({ValidationAutoConfiguration.class, JacksonAutoConfiguration.class})
+@Import({ClientService.class, ClientSearchIndex.class, InProcessClientEventBus.class, ClientProperties.class, SimpleMeterRegistry.class})
+class ClientServiceBatchInsertTest {
+
+    private static final int ROWS = 200;
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired ClientService service;
+    @Autowired EntityManager em;
+
+    private static CreateClientRequest req(int i) {
+        CreateClientRequest r = new CreateClientRequest();
+        r.setFullName("Full " + i); r.setDisplayName("D" + i);
+        r.setEmail("user" + i + "@x.com"); r.setActive(true); r.setCountry("NL");
+        return r;
+    }
+
+    @Test @DisplayName("createClients issues one INSERT per batch plus one sequence call per id block")
+    void bulkCreate_isBatched() {
+        List<CreateClientRequest> reqs = IntStream.range(0, ROWS).mapToObj(ClientServiceBatchInsertTest::req).toList();
+        Statistics stats = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        var created = service.createClientsAndReturn(reqs);
+        em.flush();
+
+        assertThat(created).hasSize(ROWS).allSatisfy(c -> assertThat(c.getId()).isNotNull());
+        assertThat(stats.getEntityInsertCount()).isEqualTo(ROWS);
+        // 4 insert batches + ~5 nextval calls; one-row-per-round-trip would be >= 200
+        assertThat(stats.getPrepareStatementCount()).isLessThanOrEqualTo(2L * ROWS / BATCH_SIZE + 2);
+    }
+}
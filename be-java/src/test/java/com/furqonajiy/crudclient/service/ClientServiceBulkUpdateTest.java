@@ -0,0 +1,177 @@
+package com.furqonajiy.crudclient.service;
+
+import com.furqonajiy.crudclient.config.ClientProperties;
+import com.furqonajiy.crudclient.eventservice.ClientEvent;
+import com.furqonajiy.crudclient.eventservice.ClientEventType;
+import com.furqonajiy.crudclient.eventservice.InProcessClientEventBus;
+import com.furqonajiy.crudclient.model.BulkUpdateResult;
+import com.furqonajiy.crudclient.model.BulkUpdateStatus;
+import com.furqonajiy.crudclient.model.CreateClientRequest;
+import com.furqonajiy.crudclient.model.UpdateClientRequest;
+import com.furqonajiy.crudclient.repository.ClientEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@RecordApplicationEvents
+@ImportAutoConfiguration({ValidationAutoConfiguration.class, JacksonAutoConfiguration.class})
+@Import({ClientService.class, ClientSearchIndex.class, InProcessClientEventBus.class, ClientProperties.class, SimpleMeterRegistry.class})
+class ClientServiceBulkUpdateTest {
+
+    private static final int ROWS = 30;
+
+    @Autowired ClientService service;
+    @Autowired EntityManager em;
+    @Autowired ApplicationEvents events;
+
+    private List<Long> seed() {
+        var reqs = IntStream.range(0, ROWS).mapToObj(i -> {
+            CreateClientRequest r = new CreateClientRequest();
+            r.setFullName("Full " + i); r.setDisplayName("D" + i);
+            r.setEmail("u" + i + "@x.com"); r.setActive(true); r.setCountry("NL");
+            return r;
+        }).toList();
+        var ids = service.createClientsAndReturn(reqs).stream().map(c -> c.getId()).toList();
+        em.flush();
+        em.clear();
+        events.clear();
+        return ids;
+    }
+
+    private static UpdateClientRequest upd(long id) {
+        UpdateClientRequest r = new UpdateClientRequest();
+        r.setId(id);
+        return r;
+    }
+
+    @Test @DisplayName("identical changes share a set-based UPDATE, others are row updates, all in one event")
+    void bulkUpdate_mixed() {
+        var ids = seed();
+        var reqs = new ArrayList<UpdateClientRequest>();
+        for (int i = 0; i < 25; i++) {
+            var r = upd(ids.get(i));
+            r.setActive(false);
+            reqs.add(r);
+        }
+        var renamed = upd(ids.get(25));
+        renamed.setFullName("Renamed"); renamed.setEmail(" NEW@X.com ");
+        reqs.add(renamed);
+        reqs.add(upd(ids.get(26)));
+        reqs.add(upd(999_999L));
+
+        var stats = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        var report = service.updateClients(reqs);
+        em.flush();
+
+        assertThat(report.getUpdated()).isEqualTo(26);
+        assertThat(report.getUnchanged()).isEqualTo(1);
+        assertThat(report.getNotFound()).isEqualTo(1);
+        assertThat(report.getResults()).extracting(BulkUpdateResult::getStatus)
+                .containsSubsequence(BulkUpdateStatus.UPDATED, BulkUpdateStatus.UNCHANGED, BulkUpdateStatus.NOT_FOUND);
+        // existence check, locking select and bulk UPDATE, one batched UPDATE for the renamed row, one reload
+        assertThat(stats.getPrepareStatementCount()).isLessThanOrEqualTo(6);
+
+        em.clear();
+        var flipped = em.find(ClientEntity.class, ids.get(0));
+        assertThat(flipped.isActive()).isFalse();
+        assertThat(flipped.getVersion()).isEqualTo(1);
+        var row = em.find(ClientEntity.class, ids.get(25));
+        assertThat(row.getFullName()).isEqualTo("Renamed");
+        assertThat(row.getEmail()).isEqualTo("new@x.com");
+        assertThat(row.isActive()).isTrue();
+        assertThat(em.find(ClientEntity.class, ids.get(29)).isActive()).isTrue();
+
+        assertThat(events.stream(ClientEvent.class)).singleElement().satisfies(e -> {
+            assertThat(e.getType()).isEqualTo(ClientEventType.BATCH);
+            assertThat(e.getChanges()).hasSize(26)
+                    .allSatisfy(c -> assertThat(c.getClient()).isNotNull());
+        });
+    }
+
+    @Test @DisplayName("set-based: rows already holding the values are not written and reported UNCHANGED")
+    void bulkUpdate_setBased_skipsUnchanged() {
+        var ids = seed();
+        service.updateClients(ids.subList(0, 25).stream().map(id -> {
+            var r = upd(id);
+            r.setCountry("DE");
+            return r;
+        }).toList());
+        em.flush();
+        em.clear();
+        events.clear();
+
+        var report = service.updateClients(ids.stream().map(id -> {
+            var r = upd(id);
+            r.setCountry("DE");
+            return r;
+        }).toList());
+        em.flush();
+        em.clear();
+
+        assertThat(report.getUpdated()).isEqualTo(5);
+        assertThat(report.getUnchanged()).isEqualTo(25);
+        assertThat(report.getResults()).filteredOn(r -> r.getStatus() == BulkUpdateStatus.UPDATED)
+                .extracting(BulkUpdateResult::getId).containsExactlyElementsOf(ids.subList(25, ROWS));
+        assertThat(em.find(ClientEntity.class, ids.get(0)).getVersion()).isEqualTo(1);
+        assertThat(em.find(ClientEntity.class, ids.get(29)).getVersion()).isEqualTo(1);
+        assertThat(events.stream(ClientEvent.class)).singleElement()
+                .satisfies(e -> assertThat(e.getChanges()).hasSize(5));
+    }
+
+    @Test @DisplayName("row by row: an update to the values already stored is reported UNCHANGED and not broadcast")
+    void bulkUpdate_rowByRow_noOp() {
+        var ids = seed();
+        var same = upd(ids.get(0));
+        same.setFullName("Full 0"); same.setCountry("NL");
+        var renamed = upd(ids.get(1));
+        renamed.setFullName("Renamed");
+        var active = upd(ids.get(2));
+        active.setActive(true);
+
+        var report = service.updateClients(List.of(same, renamed, active));
+        em.flush();
+        em.clear();
+
+        assertThat(report.getUpdated()).isEqualTo(1);
+        assertThat(report.getUnchanged()).isEqualTo(2);
+        assertThat(report.getResults()).extracting(BulkUpdateResult::getStatus)
+                .containsExactly(BulkUpdateStatus.UNCHANGED, BulkUpdateStatus.UPDATED, BulkUpdateStatus.UNCHANGED);
+        assertThat(em.find(ClientEntity.class, ids.get(0)).getVersion()).isZero();
+        assertThat(em.find(ClientEntity.class, ids.get(1)).getVersion()).isEqualTo(1);
+        // a batch of one change goes out as that change
+        assertThat(events.stream(ClientEvent.class)).singleElement()
+                .extracting(ClientEvent::getType, ClientEvent::getClientId)
+                .containsExactly(ClientEventType.UPDATED, ids.get(1));
+    }
+
+    @Test @DisplayName("duplicate ids and oversized requests are rejected with 400")
+    void bulkUpdate_rejects() {
+        var ids = seed();
+        assertThatThrownBy(() -> service.updateClients(List.of(upd(ids.get(0)), upd(ids.get(0)))))
+                .isInstanceOf(ResponseStatusException.class);
+        var tooMany = IntStream.rangeClosed(1, new ClientProperties().getBulkUpdate().getMaxItems() + 1)
+                .mapToObj(ClientServiceBulkUpdateTest::upd).toList();
+        assertThatThrownBy(() -> service.updateClients(tooMany))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+}
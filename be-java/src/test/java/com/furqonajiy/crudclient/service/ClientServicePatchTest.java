@@ -0,0 +1,92 @@
+package com.furqonajiy.crudclient.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.furqonajiy.crudclient.config.ClientProperties;
+import com.furqonajiy.crudclient.eventservice.InProcessClientEventBus;
+import com.furqonajiy.crudclient.model.CreateClientRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Merge patch against a real persistence context: version bumps, no-op patches and lost races. */
+@DataJpaTest
+@ImportAutoConfiguration({ValidationAutoConfiguration.class, JacksonAutoConfiguration.class})
+@Import({ClientService.class, ClientSearchIndex.class, InProcessClientEventBus.class, ClientProperties.class, SimpleMeterRegistry.class})
+class ClientServicePatchTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Autowired ClientService service;
+    @Autowired EntityManager em;
+
+    private long create() {
+        CreateClientRequest r = new CreateClientRequest();
+        r.setFullName("Ann Lee"); r.setDisplayName("ann"); r.setEmail("ann@x.com");
+        r.setDetails("long notes"); r.setActive(true); r.setCountry("NL");
+        var id = service.createClientAndReturn(r).getId();
+        em.flush();
+        em.clear();
+        return id;
+    }
+
+    @Test @DisplayName("a patch changes only the named members and bumps the version")
+    void patch_bumpsVersion() throws Exception {
+        long id = create();
+        var patched = service.patchClient(id, mapper.readTree("{\"active\":false,\"details\":null}"), 0L);
+        assertThat(patched.version()).isEqualTo(1);
+        assertThat(patched.client().getActive()).isFalse();
+        assertThat(patched.client().getDetails()).isNull();
+        assertThat(patched.client().getFullName()).isEqualTo("Ann Lee");
+        assertThat(patched.etag()).isEqualTo("\"1\"");
+    }
+
+    @Test @DisplayName("a patch that changes nothing writes nothing")
+    void patch_noop() throws Exception {
+        long id = create();
+        var patched = service.patchClient(id, mapper.readTree("{\"email\":\"ANN@x.com\"}"), null);
+        em.flush();
+        assertThat(patched.version()).isZero();
+    }
+
+    @Test @DisplayName("a stale If-Match version is rejected with 412 before writing")
+    void patch_staleIfMatch() throws Exception {
+        long id = create();
+        service.patchClient(id, mapper.readTree("{\"country\":\"DE\"}"), null);
+        assertThatThrownBy(() -> service.patchClient(id, mapper.readTree("{\"country\":\"BE\"}"), 0L))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode().value()).isEqualTo(412));
+    }
+
+    @Test @DisplayName("a write committed after our read makes the versioned UPDATE fail")
+    void patch_lostRace() throws Exception {
+        long id = create();
+        service.getClient(id);
+        em.createNativeQuery("update public.clients set version = version + 1 where id = :id")
+                .setParameter("id", id).executeUpdate();
+        assertThatThrownBy(() -> service.patchClient(id, mapper.readTree("{\"country\":\"BE\"}"), null))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+    }
+
+    @Test @DisplayName("constraint violations, unknown members and null for active are 400")
+    void patch_invalid() {
+        long id = create();
+        for (var bad : new String[]{"{\"email\":\"nope\"}", "{\"fullName\":null}", "{\"id\":5}", "{\"active\":null}", "[]"}) {
+            assertThatThrownBy(() -> service.patchClient(id, mapper.readTree(bad), null))
+                    .as(bad)
+                    .isInstanceOfSatisfying(ResponseStatusException.class,
+                            e -> assertThat(e.getStatusCode().value()).isEqualTo(400));
+        }
+    }
+}
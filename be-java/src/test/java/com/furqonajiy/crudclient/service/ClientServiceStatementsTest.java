@@ -0,0 +1,223 @@
+package com.furqonajiy.crudclient.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.furqonajiy.crudclient.config.ClientProperties;
+import com.furqonajiy.crudclient.eventservice.InProcessClientEventBus;
+import com.furqonajiy.crudclient.model.ClientDto;
+import com.furqonajiy.crudclient.model.ClientSearchRequest;
+import com.furqonajiy.crudclient.model.CreateClientRequest;
+import com.furqonajiy.crudclient.model.DeleteMultipleClientRequest;
+import com.furqonajiy.crudclient.model.UpdateClientRequest;
+import com.furqonajiy.crudclient.repository.ClientRepository;
+import com.furqonajiy.crudclient.support.QueryPlan;
+import com.furqonajiy.crudclient.support.SqlRecorder;
+import com.furqonajiy.crudclient.support.SqlRecorder.RecordedStatement;
+import com.furqonajiy.crudclient.support.SqlRecorderConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.furqonajiy.crudclient.support.SqlRecorder.SqlKind.DELETE;
+import static com.furqonajiy.crudclient.support.SqlRecorder.SqlKind.INSERT;
+import static com.furqonajiy.crudclient.support.SqlRecorder.SqlKind.SELECT;
+import static com.furqonajiy.crudclient.support.SqlRecorder.SqlKind.SEQUENCE;
+import static com.furqonajiy.crudclient.support.SqlRecorder.SqlKind.UPDATE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statement-count and query-plan guard: the exact round trips each {@link ClientService} method issues,
+ * and the access path H2 (PostgreSQL mode, schema from the entity mappings) picks for the main queries.
+ * A new N+1, a bulk path that stops batching or a query that falls back to a table scan fails here.
+ * <p>
+ * Expression and trigram indexes exist only in the Flyway schema, so prefix and text search are not
+ * covered; the search index is mocked out so its background build cannot add statements.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration({ValidationAutoConfiguration.class, JacksonAutoConfiguration.class})
+@Import({ClientService.class, InProcessClientEventBus.class, ClientProperties.class, SimpleMeterRegistry.class,
+        SqlRecorderConfig.class})
+class ClientServiceStatementsTest {
+
+    private static final int ROWS = 120;
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired ClientService service;
+    @Autowired ClientRepository repo;
+    @Autowired EntityManager em;
+    @Autowired DataSource dataSource;
+    @Autowired SqlRecorder sql;
+    @MockBean ClientSearchIndex searchIndex;
+
+    private List<Long> ids;
+
+    private static CreateClientRequest req(String email, int i) {
+        CreateClientRequest r = new CreateClientRequest();
+        r.setFullName("Full " + i); r.setDisplayName("D" + i);
+        r.setEmail(email); r.setActive(i % 2 == 0); r.setCountry(i % 3 == 0 ? "NL" : "DE");
+        return r;
+    }
+
+    private static UpdateClientRequest upd(long id) {
+        UpdateClientRequest r = new UpdateClientRequest();
+        r.setId(id);
+        return r;
+    }
+
+    @BeforeEach
+    void seed() {
+        var reqs = IntStream.range(0, ROWS).mapToObj(i -> req("u" + i + "@x.com", i)).toList();
+        ids = service.createClientsAndReturn(reqs).stream().map(ClientDto::getId).toList();
+        em.flush();
+        em.clear();
+        sql.reset();
+    }
+
+    private RecordedStatement onlyStatement() {
+        assertThat(sql.statements()).as(sql.describe()).hasSize(1);
+        return sql.statements().getFirst();
+    }
+
+    private QueryPlan plan(RecordedStatement statement) {
+        return QueryPlan.explain(dataSource, statement);
+    }
+
+    @Test @DisplayName("bulk create: one INSERT per JDBC batch, one sequence call per id block, nothing else")
+    void create_isBatched() {
+        var reqs = IntStream.range(0, ROWS).mapToObj(i -> req("new" + i + "@x.com", i)).toList();
+        service.createClientsAndReturn(reqs);
+        em.flush();
+
+        assertThat(sql.statements(INSERT)).as(sql.describe())
+                .hasSize(ROWS / BATCH_SIZE + 1)
+                .allSatisfy(s -> assertThat(s.batched()).isTrue());
+        assertThat(sql.rows(INSERT)).isEqualTo(ROWS);
+        assertThat(sql.count(SEQUENCE)).as(sql.describe()).isLessThanOrEqualTo(ROWS / BATCH_SIZE + 1);
+        assertThat(sql.count(SELECT) + sql.count(UPDATE)).as(sql.describe()).isZero();
+    }
+
+    @Test @DisplayName("full list: one SELECT, read in primary key order without a sort")
+    void getAll_oneSelect() {
+        assertThat(service.getAllClients().getClients()).hasSize(ROWS);
+
+        var select = onlyStatement();
+        var plan = plan(select);
+        assertThat(plan.uses("primary_key")).as(plan.toString()).isTrue();
+        assertThat(plan.plan()).contains("index sorted");
+    }
+
+    @Test @DisplayName("field projection selects only the requested columns")
+    void getAll_projection() {
+        service.getAllClients("id,email");
+
+        assertThat(onlyStatement().sql()).contains("email").doesNotContain("details", "full_name");
+    }
+
+    @Test @DisplayName("keyset page: one SELECT, a range on the primary key, no count query")
+    void page_oneSelect() {
+        var page = service.getClientsPage(null, 50, "NL", null);
+        assertThat(page.getClients()).hasSize(40);
+
+        var plan = plan(onlyStatement());
+        assertThat(plan.uses("primary_key")).as(plan.toString()).isTrue();
+        assertThat(plan.scansTable()).isFalse();
+    }
+
+    @Test @DisplayName("filtered search uses the (country, active, id) and (active, id) indexes")
+    void search_usesFilterIndexes() {
+        var byCountry = new ClientSearchRequest();
+        byCountry.setCountry("NL"); byCountry.setActive(true);
+        service.searchClients(byCountry);
+        var plan = plan(onlyStatement());
+        assertThat(plan.uses("clients_country_active_id_idx")).as(plan.toString()).isTrue();
+
+        sql.reset();
+        var byActive = new ClientSearchRequest();
+        byActive.setActive(false);
+        service.searchClients(byActive);
+        plan = plan(onlyStatement());
+        assertThat(plan.uses("clients_active_id_idx")).as(plan.toString()).isTrue();
+    }
+
+    @Test @DisplayName("get by id: one SELECT on the primary key")
+    void get_oneSelect() {
+        service.getClient(ids.getFirst());
+
+        var plan = plan(onlyStatement());
+        assertThat(plan.uses("primary_key")).as(plan.toString()).isTrue();
+    }
+
+    @Test @DisplayName("merge patch: one SELECT and one versioned UPDATE")
+    void patch_selectAndUpdate() throws Exception {
+        service.patchClient(ids.getFirst(), new ObjectMapper().readTree("{\"fullName\":\"Renamed\"}"), null);
+
+        assertThat(sql.statements()).as(sql.describe()).extracting(RecordedStatement::kind).containsExactly(SELECT, UPDATE);
+        assertThat(sql.statements(UPDATE).getFirst().sql()).contains("version=?");
+    }
+
+    @Test @DisplayName("bulk update, identical changes: existence check, locking select, one set-based UPDATE, one reload")
+    void bulkUpdate_setBased() {
+        var reqs = new ArrayList<UpdateClientRequest>();
+        for (int i = 0; i < 25; i++) {
+            var r = upd(ids.get(i));
+            r.setLocation("Moved");
+            reqs.add(r);
+        }
+        service.updateClients(reqs);
+
+        // existence check, locking select of the rows that differ, the UPDATE, the reload for the event
+        assertThat(sql.statements()).as(sql.describe()).extracting(RecordedStatement::kind)
+                .containsExactly(SELECT, SELECT, UPDATE, SELECT);
+        assertThat(sql.statements(UPDATE).getFirst().batched()).isFalse();
+        sql.statements(SELECT).forEach(s -> assertThat(plan(s).uses("primary_key")).isTrue());
+    }
+
+    @Test @DisplayName("bulk update, distinct changes: one JDBC batch of UPDATEs by id, no load")
+    void bulkUpdate_rowByRow_isBatched() {
+        var reqs = new ArrayList<UpdateClientRequest>();
+        for (int i = 0; i < 10; i++) {
+            var r = upd(ids.get(i));
+            r.setFullName("Renamed " + i);
+            reqs.add(r);
+        }
+        service.updateClients(reqs);
+
+        assertThat(sql.statements()).as(sql.describe()).extracting(RecordedStatement::kind)
+                .containsExactly(SELECT, UPDATE, SELECT);
+        var update = sql.statements(UPDATE).getFirst();
+        assertThat(update.batched()).isTrue();
+        assertThat(update.batchSize()).isEqualTo(10);
+    }
+
+    @Test @DisplayName("delete by ids: one DELETE, however many ids")
+    void delete_oneStatement() {
+        var req = new DeleteMultipleClientRequest();
+        req.setIds(ids.subList(0, 30));
+        service.deleteMultipleClientsAndReturnIds(req);
+
+        assertThat(onlyStatement().kind()).isEqualTo(DELETE);
+    }
+
+    @Test @DisplayName("email lookup of the import path is served by the unique email index")
+    void existingEmails_usesUniqueIndex() {
+        repo.findExistingEmails(List.of("u1@x.com", "u2@x.com", "nobody@x.com"));
+
+        var plan = plan(onlyStatement());
+        assertThat(plan.scansTable()).as(plan.toString()).isFalse();
+    }
+}
@@ -1,19 +1,31 @@
 
 package com.furqonajiy.crudclient.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.furqonajiy.crudclient.config.ClientProperties;
+import com.furqonajiy.crudclient.eventservice.ClientEvent;
+import com.furqonajiy.crudclient.eventservice.ClientEventType;
 import com.furqonajiy.crudclient.model.*;
 import com.furqonajiy.crudclient.repository.ClientEntity;
 import com.furqonajiy.crudclient.repository.ClientRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.Tuple;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +38,12 @@ import static org.mockito.Mockito.*;
 class ClientServiceUnitTest {
 
     @Mock ClientRepository repo;
+    @Spy ClientProperties props = new ClientProperties();
+    @Mock ApplicationEventPublisher events;
+    @Mock ClientSearchIndex searchIndex;
+    @Mock PlatformTransactionManager txManager;
+    @Spy ObjectMapper mapper = new ObjectMapper();
+    @Spy MeterRegistry meters = new SimpleMeterRegistry();
     @InjectMocks ClientService svc;
 
     private ClientEntity entity(long id, String email) {
@@ -61,6 +79,12 @@ class ClientServiceUnitTest {
         ArgumentCaptor<ClientEntity> cap = ArgumentCaptor.forClass(ClientEntity.class);
         verify(repo).save(cap.capture());
         assertThat(cap.getValue().getEmail()).isEqualTo("john@email.com");
+        ArgumentCaptor<Object> ev = ArgumentCaptor.forClass(Object.class);
+        verify(events).publishEvent(ev.capture());
+        assertThat(ev.getValue()).isInstanceOfSatisfying(ClientEvent.class, e -> {
+            assertThat(e.getType()).isEqualTo(ClientEventType.CREATED);
+            assertThat(e.getClient().getEmail()).isEqualTo("john@email.com");
+        });
     }
 
     @Test @DisplayName("createClients saveAll mapped list")
@@ -95,6 +119,13 @@ class ClientServiceUnitTest {
         assertThat(existing.getCountry()).isEqualTo("C2");
         assertThat(existing.getDetails()).isEqualTo("d2");
         verify(repo).save(existing);
+        ArgumentCaptor<Object> ev = ArgumentCaptor.forClass(Object.class);
+        verify(events).publishEvent(ev.capture());
+        assertThat(ev.getValue()).isInstanceOfSatisfying(ClientEvent.class, e -> {
+            assertThat(e.getType()).isEqualTo(ClientEventType.UPDATED);
+            assertThat(e.getClientId()).isEqualTo(10L);
+            assertThat(e.getClient().getFullName()).isEqualTo("New Name");
+        });
     }
 
     @Test @DisplayName("updateClient throws when missing")
@@ -115,5 +146,190 @@ class ClientServiceUnitTest {
         ArgumentCaptor<List<Long>> cap = ArgumentCaptor.forClass(List.class);
         verify(repo).deleteAllByIdInBatch(cap.capture());
         assertThat(cap.getValue()).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+        ArgumentCaptor<Object> ev = ArgumentCaptor.forClass(Object.class);
+        verify(events).publishEvent(ev.capture());
+        assertThat(ev.getValue()).isInstanceOfSatisfying(ClientEvent.class, e -> {
+            assertThat(e.getType()).isEqualTo(ClientEventType.BATCH);
+            assertThat(e.getChanges()).extracting(ClientEvent::getClientId).containsExactly(2L, 1L, 4L, 3L);
+        });
+    }
+
+    @Test @DisplayName("getClientsPage returns next cursor when more rows exist")
+    void page_hasMore() {
+        props.getPage().setDefaultSize(2);
+        when(repo.findPageAfter(eq(0L), eq("NL"), eq(true), any(Limit.class)))
+                .thenReturn(List.of(entity(1L, "a@x.com"), entity(2L, "b@x.com"), entity(3L, "c@x.com")));
+        ClientPageResponse res = svc.getClientsPage(null, null, "NL", true);
+        assertThat(res.getClients()).extracting(ClientDto::getId).containsExactly(1L, 2L);
+        assertThat(res.getNextCursor()).isNotBlank();
+
+        ArgumentCaptor<Limit> limitCap = ArgumentCaptor.forClass(Limit.class);
+        verify(repo).findPageAfter(eq(0L), eq("NL"), eq(true), limitCap.capture());
+        assertThat(limitCap.getValue().max()).isEqualTo(3);
+    }
+
+    @Test @DisplayName("searchClients pages by offset, reports hasNext and sorts with an id tie-break")
+    void search_paging() {
+        props.getPage().setDefaultSize(2);
+        when(repo.search(any(), any(Sort.class), eq(2L), eq(3)))
+                .thenReturn(List.of(entity(3L, "c@x.com"), entity(4L, "d@x.com"), entity(5L, "e@x.com")));
+        ClientSearchRequest req = new ClientSearchRequest();
+        req.setPage(1); req.setSort("email,desc");
+        ClientSearchResponse res = svc.searchClients(req);
+        assertThat(res.getClients()).extracting(ClientDto::getId).containsExactly(3L, 4L);
+        assertThat(res.isHasNext()).isTrue();
+
+        ArgumentCaptor<Sort> sortCap = ArgumentCaptor.forClass(Sort.class);
+        verify(repo).search(any(), sortCap.capture(), eq(2L), eq(3));
+        assertThat(sortCap.getValue()).isEqualTo(Sort.by(Sort.Direction.DESC, "email").and(Sort.by("id")));
+    }
+
+    @Test @DisplayName("searchClients rejects unknown sort fields and match modes with 400")
+    void search_badParams() {
+        ClientSearchRequest badSort = new ClientSearchRequest();
+        badSort.setSort("password");
+        assertThatThrownBy(() -> svc.searchClients(badSort))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode().value()).isEqualTo(400));
+        ClientSearchRequest badMatch = new ClientSearchRequest();
+        badMatch.setMatch("regex");
+        assertThatThrownBy(() -> svc.searchClients(badMatch))
+                .isInstanceOf(ResponseStatusException.class);
+        verify(repo, never()).search(any(), any(), anyLong(), anyInt());
+    }
+
+    @Test @DisplayName("searchClients with q pages through the index ranking and keeps its order")
+    void search_ranked() {
+        props.getPage().setDefaultSize(2);
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.search("smith", "NL", null, 5)).thenReturn(List.of(9L, 4L, 7L, 2L, 5L));
+        when(repo.search(any(), eq(Sort.unsorted()), eq(0L), eq(2))).thenReturn(List.of(entity(2L, "b@x.com"), entity(7L, "g@x.com")));
+        ClientSearchRequest req = new ClientSearchRequest();
+        req.setQ("smith"); req.setCountry("NL"); req.setPage(1); req.setSort("email");
+        ClientSearchResponse res = svc.searchClients(req);
+        assertThat(res.getClients()).extracting(ClientDto::getId).containsExactly(7L, 2L);
+        assertThat(res.isHasNext()).isTrue();
+        // only the page rows are loaded, by id; the ranking comes from the index
+        verify(repo).search(any(), any(), anyLong(), anyInt());
+    }
+
+    @Test @DisplayName("searchClients with q falls back to the database until the index is ready")
+    void search_rankedFallback() {
+        when(searchIndex.isReady()).thenReturn(false);
+        when(repo.search(any(), any(Sort.class), eq(0L), anyInt())).thenReturn(List.of(entity(1L, "a@x.com")));
+        ClientSearchRequest req = new ClientSearchRequest();
+        req.setQ("smith");
+        assertThat(svc.searchClients(req).getClients()).extracting(ClientDto::getId).containsExactly(1L);
+        verify(searchIndex, never()).search(any(), any(), any(), anyInt());
+    }
+
+    @Test @DisplayName("getAllClients(fields) selects only the requested columns, id first")
+    void getAll_fields() {
+        Tuple row = mock(Tuple.class);
+        when(row.get("id")).thenReturn(1L);
+        when(row.get("email")).thenReturn("a@x.com");
+        when(repo.searchColumns(any(), eq(Sort.by("id")), eq(List.of("id", "email", "country")), eq(0L), eq(-1)))
+                .thenReturn(List.of(row));
+        ClientResponse res = svc.getAllClients("country, email");
+        assertThat(res.getClients()).singleElement().satisfies(c -> {
+            assertThat(c.getId()).isEqualTo(1L);
+            assertThat(c.getEmail()).isEqualTo("a@x.com");
+            assertThat(c.getDetails()).isNull();
+            assertThat(c.getActive()).isNull();
+        });
+    }
+
+    @Test @DisplayName("unknown fields are rejected with 400")
+    void fields_unknown() {
+        assertThatThrownBy(() -> svc.getAllClients("id,password"))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode().value()).isEqualTo(400));
+        ClientSearchRequest req = new ClientSearchRequest();
+        req.setFields("secret");
+        assertThatThrownBy(() -> svc.searchClients(req)).isInstanceOf(ResponseStatusException.class);
+        verifyNoInteractions(repo);
+    }
+
+    @Test @DisplayName("deleteClientsMatching deletes chunk by chunk, each in its own transaction, then sends one event")
+    void deleteMatching_chunks() {
+        props.getBulkDelete().setChunkSize(2);
+        when(repo.lockIdsAfter(eq(0L), eq("NL"), eq(false), any(Limit.class))).thenReturn(List.of(1L, 2L));
+        when(repo.lockIdsAfter(eq(2L), eq("NL"), eq(false), any(Limit.class))).thenReturn(List.of(5L));
+
+        assertThat(svc.deleteClientsMatching("NL", false)).isEqualTo(3);
+
+        verify(repo).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(repo).deleteAllByIdInBatch(List.of(5L));
+        verify(txManager, times(2)).commit(any());
+        ArgumentCaptor<Object> ev = ArgumentCaptor.forClass(Object.class);
+        verify(events).publishEvent(ev.capture());
+        assertThat(ev.getValue()).isInstanceOfSatisfying(ClientEvent.class,
+                e -> assertThat(e.getChanges()).extracting(ClientEvent::getClientId).containsExactly(1L, 2L, 5L));
+    }
+
+    @Test @DisplayName("deleteClientsMatching still announces the committed chunks when a later chunk fails")
+    void deleteMatching_partialFailure() {
+        props.getBulkDelete().setChunkSize(2);
+        when(repo.lockIdsAfter(eq(0L), eq("NL"), any(), any(Limit.class))).thenReturn(List.of(1L, 2L));
+        when(repo.lockIdsAfter(eq(2L), eq("NL"), any(), any(Limit.class))).thenReturn(List.of(3L, 4L));
+        doNothing().doThrow(new IllegalStateException("deadlock")).when(repo).deleteAllByIdInBatch(any());
+
+        assertThatThrownBy(() -> svc.deleteClientsMatching("NL", null)).isInstanceOf(IllegalStateException.class);
+
+        verify(txManager).commit(any());
+        verify(txManager).rollback(any());
+        ArgumentCaptor<Object> ev = ArgumentCaptor.forClass(Object.class);
+        verify(events).publishEvent(ev.capture());
+        assertThat(ev.getValue()).isInstanceOfSatisfying(ClientEvent.class,
+                e -> assertThat(e.getChanges()).extracting(ClientEvent::getClientId).containsExactly(1L, 2L));
+        assertThat(meters.get("clients.bulk.batch.size").tag("operation", "purge").summary().totalAmount()).isEqualTo(2);
+    }
+
+    @Test @DisplayName("deleteClientsMatching refuses to run without a filter and stays silent when nothing matches")
+    void deleteMatching_guards() {
+        assertThatThrownBy(() -> svc.deleteClientsMatching(null, null))
+                .isInstanceOf(ResponseStatusException.class);
+        when(repo.lockIdsAfter(anyLong(), any(), any(), any(Limit.class))).thenReturn(List.of());
+        assertThat(svc.deleteClientsMatching("DE", null)).isZero();
+        verify(repo, never()).deleteAllByIdInBatch(any());
+        verifyNoInteractions(events);
+    }
+
+    @Test @DisplayName("getClientsPage continues after cursor and clamps size")
+    void page_cursorRoundTrip() {
+        when(repo.findPageAfter(anyLong(), isNull(), isNull(), any(Limit.class)))
+                .thenReturn(List.of(entity(1L, "a@x.com"), entity(2L, "b@x.com")))
+                .thenReturn(List.of(entity(3L, "c@x.com")));
+        int maxSize = props.getPage().getMaxSize();
+        String cursor = svc.getClientsPage(null, 1, null, null).getNextCursor();
+        ClientPageResponse last = svc.getClientsPage(cursor, 10_000, null, null);
+        assertThat(last.getClients()).extracting(ClientDto::getId).containsExactly(3L);
+        assertThat(last.getNextCursor()).isNull();
+        verify(repo).findPageAfter(eq(1L), isNull(), isNull(), eq(Limit.of(maxSize + 1)));
+    }
+
+    @Test @DisplayName("getClientsPage rejects a malformed cursor")
+    void page_badCursor() {
+        assertThatThrownBy(() -> svc.getClientsPage("not-a-cursor", null, null, null))
+                .isInstanceOf(ResponseStatusException.class);
+        verifyNoInteractions(repo);
+    }
+
+    @Test @DisplayName("createClientsAndReturn maps saved rows without reading the table")
+    void createManyAndReturn_noSnapshot() {
+        CreateClientRequest a = new CreateClientRequest();
+        a.setFullName("A"); a.setDisplayName("AA"); a.setEmail(" A@X.com"); a.setCountry("NL");
+        List<ClientDto> res = svc.createClientsAndReturn(List.of(a));
+        assertThat(res).singleElement().extracting(ClientDto::getEmail).isEqualTo("a@x.com");
+        verify(repo).saveAll(anyList());
+        verify(repo, never()).findAll(any(Sort.class));
+    }
+
+    @Test @DisplayName("deleteMultipleClientsAndReturnIds returns distinct ids without reading the table")
+    void deleteManyAndReturnIds_noSnapshot() {
+        DeleteMultipleClientRequest req = new DeleteMultipleClientRequest();
+        req.setIds(Arrays.asList(2L, null, 2L, 3L));
+        assertThat(svc.deleteMultipleClientsAndReturnIds(req)).containsExactly(2L, 3L);
+        verify(repo, never()).findAll(any(Sort.class));
     }
 }
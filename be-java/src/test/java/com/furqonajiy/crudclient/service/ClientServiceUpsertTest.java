@@ -0,0 +1,93 @@
+package com.furqonajiy.crudclient.service;
+
+import com.furqonajiy.crudclient.config.ClientProperties;
+import com.furqonajiy.crudclient.eventservice.ClientEvent;
+import com.furqonajiy.crudclient.eventservice.ClientEventType;
+import com.furqonajiy.crudclient.eventservice.InProcessClientEventBus;
+import com.furqonajiy.crudclient.model.CreateClientRequest;
+import com.furqonajiy.crudclient.repository.ClientEntity;
+import com.furqonajiy.crudclient.repository.ClientRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Upsert by email through the portable (persistence context) path that H2 takes. */
+@DataJpaTest
+@RecordApplicationEvents
+@ImportAutoConfiguration({ValidationAutoConfiguration.class, JacksonAutoConfiguration.class})
+@Import({ClientService.class, ClientSearchIndex.class, InProcessClientEventBus.class, ClientProperties.class, SimpleMeterRegistry.class})
+class ClientServiceUpsertTest {
+
+    @Autowired ClientService service;
+    @Autowired ClientRepository repo;
+    @Autowired EntityManager em;
+    @Autowired ApplicationEvents events;
+
+    private static CreateClientRequest req(String email, String fullName, boolean active) {
+        CreateClientRequest r = new CreateClientRequest();
+        r.setFullName(fullName); r.setDisplayName("D"); r.setEmail(email);
+        r.setActive(active); r.setCountry("NL");
+        return r;
+    }
+
+    @Test @DisplayName("new emails are inserted, changed rows updated, identical rows left alone")
+    void upsert_mixed() {
+        service.createClientsAndReturn(List.of(req("kept@x.com", "Kept", true), req("moved@x.com", "Moved", true)));
+        em.flush();
+        em.clear();
+        events.clear();
+
+        var report = service.upsertClients(List.of(
+                req("KEPT@x.com", "Kept", true),
+                req("moved@x.com", "Moved", false),
+                req("new@x.com", "First", true),
+                req(" New@X.com ", "Second", true)));
+        em.flush();
+        em.clear();
+
+        assertThat(report.getReceived()).isEqualTo(4);
+        assertThat(report.getDuplicates()).isEqualTo(1);
+        assertThat(report.getInserted()).isEqualTo(1);
+        assertThat(report.getUpdated()).isEqualTo(1);
+        assertThat(report.getUnchanged()).isEqualTo(1);
+
+        assertThat(repo.count()).isEqualTo(3);
+        var all = repo.findAll();
+        assertThat(all).filteredOn(e -> e.getEmail().equals("new@x.com"))
+                .singleElement().extracting(ClientEntity::getFullName).isEqualTo("Second");
+        assertThat(all).filteredOn(e -> e.getEmail().equals("moved@x.com"))
+                .singleElement().satisfies(e -> {
+                    assertThat(e.isActive()).isFalse();
+                    assertThat(e.getVersion()).isEqualTo(1);
+                });
+        assertThat(all).filteredOn(e -> e.getEmail().equals("kept@x.com"))
+                .singleElement().extracting(ClientEntity::getVersion).isEqualTo(0L);
+
+        assertThat(events.stream(ClientEvent.class)).singleElement().satisfies(e ->
+                assertThat(e.getChanges()).extracting(ClientEvent::getType)
+                        .containsExactlyInAnyOrder(ClientEventType.CREATED, ClientEventType.UPDATED));
+    }
+
+    @Test @DisplayName("a request that changes nothing publishes nothing")
+    void upsert_noop() {
+        service.createClientsAndReturn(List.of(req("kept@x.com", "Kept", true)));
+        em.flush();
+        events.clear();
+        var report = service.upsertClients(List.of(req("kept@x.com", "Kept", true)));
+        assertThat(report.getUnchanged()).isEqualTo(1);
+        assertThat(events.stream(ClientEvent.class)).isEmpty();
+    }
+}
@@ -0,0 +1,122 @@
+package com.furqonajiy.crudclient.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.furqonajiy.crudclient.eventservice.ClientEvent;
+import com.furqonajiy.crudclient.eventservice.InProcessClientEventBus;
+import com.furqonajiy.crudclient.model.ClientDto;
+import com.furqonajiy.crudclient.model.ClientResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ClientSnapshotCacheTest {
+
+    private final ClientService service = mock(ClientService.class);
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final InProcessClientEventBus bus = new InProcessClientEventBus();
+    private final ClientSnapshotCache cache = new ClientSnapshotCache(service, new ObjectMapper(), bus, meters);
+
+    private ClientResponse response(long id) {
+        return new ClientResponse(List.of(new ClientDto(id, "F", "D", "e@x.com", null, true, null, "NL")));
+    }
+
+    @Test @DisplayName("repeat reads are served from memory")
+    void hit_doesNotReload() {
+        when(service.getAllClients(anyString())).thenReturn(response(1L));
+        SerializedSnapshot first = cache.get();
+        SerializedSnapshot second = cache.get();
+        assertThat(second).isSameAs(first);
+        verify(service, times(1)).getAllClients(anyString());
+    }
+
+    @Test @DisplayName("a rebuild records its row count and payload sizes")
+    void rebuild_recordsMetrics() {
+        when(service.getAllClients(anyString())).thenReturn(response(1L));
+        SerializedSnapshot snap = cache.get();
+        cache.get();
+        var rows = meters.get("clients.snapshot.rows").summary();
+        assertThat(rows.count()).isEqualTo(1);
+        assertThat(rows.totalAmount()).isEqualTo(1);
+        assertThat(meters.get("clients.snapshot.bytes").tag("format", "json").tag("encoding", "identity").summary().totalAmount())
+                .isEqualTo(snap.body().length);
+        assertThat(meters.get("clients.snapshot.build").timer().count()).isEqualTo(1);
+    }
+
+    @Test @DisplayName("a change event bumps the version and the ETag")
+    void change_rebuilds() {
+        when(service.getAllClients(anyString())).thenReturn(response(1L), response(2L));
+        SerializedSnapshot before = cache.get();
+        cache.onClientEvent(ClientEvent.deleted(1L));
+        SerializedSnapshot after = cache.get();
+        assertThat(after.version()).isGreaterThan(before.version());
+        assertThat(after.etag()).isNotEqualTo(before.etag());
+        assertThat(new String(after.body())).contains("\"id\":2");
+        assertThat(after.matches(before.etag())).isFalse();
+        assertThat(after.matches("W/" + after.etag() + ", \"other\"")).isTrue();
+    }
+
+    @Test @DisplayName("a write releases the variants built for the previous version")
+    void change_releasesOldVariants() {
+        when(service.getAllClients(anyString())).thenReturn(response(1L));
+        cache.get(null, WireFormat.JSON);
+        cache.get("id,email", WireFormat.JSON);
+        cache.get(null, WireFormat.SMILE);
+        assertThat(cache.size()).isEqualTo(3);
+
+        cache.onClientEvent(ClientEvent.deleted(1L));
+        assertThat(cache.size()).isZero();
+        cache.get();
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test @DisplayName("a snapshot built while a write commits is served once but not kept")
+    void change_duringBuild_notKept() {
+        when(service.getAllClients(anyString())).thenAnswer(inv -> {
+            cache.invalidate();
+            return response(1L);
+        }).thenReturn(response(2L));
+        SerializedSnapshot raced = cache.get();
+        assertThat(cache.size()).isZero();
+        SerializedSnapshot next = cache.get();
+        assertThat(next.version()).isGreaterThan(raced.version());
+        assertThat(new String(next.body())).contains("\"id\":2");
+    }
+
+    @Test @DisplayName("an event from another node, delivered by the bus, also invalidates")
+    void busEvent_invalidates() {
+        when(service.getAllClients(anyString())).thenReturn(response(1L), response(2L));
+        SerializedSnapshot before = cache.get();
+        bus.publish(ClientEvent.deleted(1L));
+        assertThat(cache.get().version()).isGreaterThan(before.version());
+    }
+
+    @Test @DisplayName("each wire format is its own snapshot, with its own ETag, built from the same rows")
+    void formats_areSeparateVariants() throws Exception {
+        when(service.getAllClients(anyString())).thenReturn(response(1L));
+        SerializedSnapshot json = cache.get(null, WireFormat.JSON);
+        SerializedSnapshot cbor = cache.get(null, WireFormat.CBOR);
+        assertThat(cache.get(null, WireFormat.CBOR)).isSameAs(cbor);
+        assertThat(cbor.format()).isEqualTo(WireFormat.CBOR);
+        assertThat(cbor.etag()).isNotEqualTo(json.etag());
+        assertThat(cbor.body()).isNotEqualTo(json.body());
+        var decoded = WireFormat.CBOR.mapper(new ObjectMapper()).readValue(cbor.body(), ClientResponse.class);
+        assertThat(decoded.getClients()).extracting(ClientDto::getId).containsExactly(1L);
+        verify(service, times(2)).getAllClients(anyString());
+    }
+
+    @Test @DisplayName("gzip variant inflates to the JSON bytes")
+    void gzip_roundTrip() throws Exception {
+        when(service.getAllClients(anyString())).thenReturn(response(1L));
+        SerializedSnapshot snap = cache.get();
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(snap.gzip()))) {
+            assertThat(in.readAllBytes()).isEqualTo(snap.body());
+        }
+    }
+}
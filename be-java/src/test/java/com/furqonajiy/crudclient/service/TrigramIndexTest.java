@@ -0,0 +1,74 @@
+package com.furqonajiy.crudclient.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrigramIndexTest {
+
+    private static String[] fields(String fullName, String displayName, String email, String details) {
+        return new String[]{fullName, displayName, email, details};
+    }
+
+    private static TrigramIndex sample() {
+        var idx = new TrigramIndex();
+        idx.put(1, fields("John Smith", "Johnny", "john@acme.io", "likes golf"), true, "NL");
+        idx.put(2, fields("Jane Doe", "JD", "jane@smithson.com", null), true, "DE");
+        idx.put(3, fields("Ann Blacksmith", "Ann", "ann@x.io", "ex smith"), false, "NL");
+        return idx;
+    }
+
+    @Test @DisplayName("substring matches rank word starts and heavier fields first, then by id")
+    void search_ranked() {
+        var idx = sample();
+        assertThat(idx.search("smith", null, null, 10)).containsExactly(1L, 2L, 3L);
+        assertThat(idx.search("ann", null, null, 10)).containsExactly(3L);
+        assertThat(idx.search("john", null, null, 10)).containsExactly(1L);
+    }
+
+    @Test @DisplayName("every query word must match, case-insensitively")
+    void search_allWords() {
+        var idx = sample();
+        assertThat(idx.search("JOHN golf", null, null, 10)).containsExactly(1L);
+        assertThat(idx.search("john tennis", null, null, 10)).isEmpty();
+    }
+
+    @Test @DisplayName("two-letter words match word starts only; single letters are ignored")
+    void search_shortWords() {
+        var idx = sample();
+        assertThat(idx.search("jd", null, null, 10)).containsExactly(2L);
+        assertThat(idx.search("an", null, null, 10)).containsExactly(3L);
+        assertThat(idx.search("a", null, null, 10)).isEmpty();
+    }
+
+    @Test @DisplayName("a field holding all of a word's trigrams out of order is not a match")
+    void search_confirmsSubstring() {
+        var idx = new TrigramIndex();
+        idx.put(1, fields("abax bab", null, null, null), true, "NL");
+        idx.put(2, fields("Xabab", null, null, null), true, "NL");
+        idx.put(3, fields("Ma Sam", null, null, null), true, "NL");
+        assertThat(idx.search("abab", null, null, 10)).containsExactly(2L);
+        assertThat(idx.search("sa", null, null, 10)).containsExactly(3L);
+    }
+
+    @Test @DisplayName("country and active filters and the limit apply after ranking")
+    void search_filtersAndLimit() {
+        var idx = sample();
+        assertThat(idx.search("smith", "NL", null, 10)).containsExactly(1L, 3L);
+        assertThat(idx.search("smith", null, true, 10)).containsExactly(1L, 2L);
+        assertThat(idx.search("smith", "FR", null, 10)).isEmpty();
+        assertThat(idx.search("smith", null, null, 1)).containsExactly(1L);
+    }
+
+    @Test @DisplayName("re-indexing and removing tombstone the old entry")
+    void putAndRemove() {
+        var idx = sample();
+        idx.put(1, fields("Johann Bach", null, "jb@x.io", null), true, "DE");
+        idx.remove(2);
+        assertThat(idx.search("smith", null, null, 10)).containsExactly(3L);
+        assertThat(idx.search("bach", "DE", null, 10)).containsExactly(1L);
+        assertThat(idx.size()).isEqualTo(2);
+        assertThat(idx.tombstones()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,25 @@
+package com.furqonajiy.crudclient.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WireFormatTest {
+
+    @Test @DisplayName("no header, wildcards, browsers and garbage get JSON")
+    void negotiate_defaultsToJson() {
+        assertThat(WireFormat.negotiate(null)).isEqualTo(WireFormat.JSON);
+        assertThat(WireFormat.negotiate("*/*")).isEqualTo(WireFormat.JSON);
+        assertThat(WireFormat.negotiate("application/*")).isEqualTo(WireFormat.JSON);
+        assertThat(WireFormat.negotiate("text/html,application/xhtml+xml,*/*;q=0.8")).isEqualTo(WireFormat.JSON);
+        assertThat(WireFormat.negotiate("not a media type")).isEqualTo(WireFormat.JSON);
+    }
+
+    @Test @DisplayName("an explicit binary type wins over wildcards, unless its quality is zero")
+    void negotiate_binary() {
+        assertThat(WireFormat.negotiate("application/cbor")).isEqualTo(WireFormat.CBOR);
+        assertThat(WireFormat.negotiate("*/*;q=0.1, application/x-jackson-smile")).isEqualTo(WireFormat.SMILE);
+        assertThat(WireFormat.negotiate("application/cbor;q=0, application/json")).isEqualTo(WireFormat.JSON);
+    }
+}
@@ -0,0 +1,50 @@
+package com.furqonajiy.crudclient.support;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * H2's {@code EXPLAIN} of a recorded statement, with its recorded parameters bound. H2 names the access
+ * path of every table in a comment after it: the index with the condition it serves
+ * ({@code public.clients_active_id_idx: active = ?1}), or {@code public.clients.tableScan}.
+ */
+public record QueryPlan(String sql, String plan) {
+
+    public static QueryPlan explain(DataSource dataSource, SqlRecorder.RecordedStatement statement) {
+        // straight to the target, so explaining does not show up in the recording
+        var ds = dataSource instanceof ProxyDataSource proxy ? proxy.getDataSource() : dataSource;
+        try (var conn = ds.getConnection();
+             var ps = conn.prepareStatement("EXPLAIN " + statement.sql())) {
+            var params = statement.parameters();
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            try (var rs = ps.executeQuery()) {
+                var plan = new StringBuilder();
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append('\n');
+                }
+                return new QueryPlan(statement.sql(), plan.toString());
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot explain: " + statement.sql(), e);
+        }
+    }
+
+    public boolean scansTable() {
+        return plan.contains(".tableScan");
+    }
+
+    /** Whether the named index (or, for {@code "primary_key"}, the primary key) is an access path. */
+    public boolean uses(String index) {
+        return plan.toLowerCase(Locale.ROOT).contains("." + index.toLowerCase(Locale.ROOT));
+    }
+
+    @Override
+    public String toString() {
+        return plan;
+    }
+}
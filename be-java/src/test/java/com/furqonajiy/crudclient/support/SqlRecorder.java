@@ -0,0 +1,107 @@
+package com.furqonajiy.crudclient.support;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Records every JDBC statement that reaches the database through the proxied DataSource of
+ * {@link SqlRecorderConfig}. One {@link RecordedStatement} is one round trip, so a JDBC batch counts once
+ * with its batch size, and N single-row statements count N times.
+ * <p>
+ * Typical use: {@link #reset()}, call the service, flush the persistence context, then assert on
+ * {@link #count(SqlKind)} and {@link #statements(SqlKind)}.
+ */
+public class SqlRecorder implements QueryExecutionListener {
+
+    /** What a statement does, judged from its leading keyword. */
+    public enum SqlKind {
+        SELECT, INSERT, UPDATE, DELETE, SEQUENCE, OTHER;
+
+        static SqlKind of(String sql) {
+            var s = sql.stripLeading().toLowerCase(Locale.ROOT);
+            if (s.contains("next value for") || s.contains("nextval(")) {
+                return SEQUENCE;
+            }
+            for (var kind : List.of(SELECT, INSERT, UPDATE, DELETE)) {
+                if (s.startsWith(kind.name().toLowerCase(Locale.ROOT))) {
+                    return kind;
+                }
+            }
+            return OTHER;
+        }
+    }
+
+    /**
+     * One round trip. {@code batchSize} is the number of parameter sets sent with it (1 unless batched);
+     * {@code parameters} are the values of the first set, in index order.
+     */
+    public record RecordedStatement(SqlKind kind, String sql, boolean batched, int batchSize, List<Object> parameters) {
+    }
+
+    private final List<RecordedStatement> statements = new ArrayList<>();
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        synchronized (statements) {
+            for (var q : queryInfoList) {
+                var sets = q.getParametersList();
+                var size = execInfo.isBatch() ? Math.max(1, sets.size()) : 1;
+                statements.add(new RecordedStatement(SqlKind.of(q.getQuery()), q.getQuery(), execInfo.isBatch(), size,
+                        sets.isEmpty() ? List.of() : values(sets.getFirst())));
+            }
+        }
+    }
+
+    public void reset() {
+        synchronized (statements) {
+            statements.clear();
+        }
+    }
+
+    public List<RecordedStatement> statements() {
+        synchronized (statements) {
+            return List.copyOf(statements);
+        }
+    }
+
+    public List<RecordedStatement> statements(SqlKind kind) {
+        return statements().stream().filter(s -> s.kind() == kind).toList();
+    }
+
+    /** Round trips of {@code kind}. */
+    public long count(SqlKind kind) {
+        return statements(kind).size();
+    }
+
+    /** Rows sent by statements of {@code kind}, counting every parameter set of a batch. */
+    public long rows(SqlKind kind) {
+        return statements(kind).stream().mapToLong(RecordedStatement::batchSize).sum();
+    }
+
+    /** One line per statement, for assertion messages. */
+    public String describe() {
+        return statements().stream()
+                .map(s -> s.kind() + (s.batched() ? " x" + s.batchSize() : "") + ": " + s.sql())
+                .collect(Collectors.joining("\n", "\n", "\n"));
+    }
+
+    private static List<Object> values(List<ParameterSetOperation> ops) {
+        return ops.stream()
+                .filter(op -> op.getArgs().length >= 2 && op.getArgs()[0] instanceof Integer)
+                .sorted(Comparator.comparingInt(op -> (Integer) op.getArgs()[0]))
+                .map(op -> op.getArgs()[1])
+                .toList();
+    }
+}
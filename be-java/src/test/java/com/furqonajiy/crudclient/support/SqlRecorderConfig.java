@@ -0,0 +1,39 @@
+package com.furqonajiy.crudclient.support;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * Import into a test slice to route the DataSource through a {@link SqlRecorder}:
+ * {@code @Import(SqlRecorderConfig.class)}, then autowire the recorder.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class SqlRecorderConfig {
+
+    @Bean
+    SqlRecorder sqlRecorder() {
+        return new SqlRecorder();
+    }
+
+    @Bean
+    static BeanPostProcessor sqlRecordingDataSourcePostProcessor(ObjectProvider<SqlRecorder> recorder) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource ds) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(ds)
+                        .name(beanName)
+                        .listener(recorder.getObject())
+                        .build();
+            }
+        };
+    }
+}
@@ -0,0 +1,14 @@
+package com.furqonajiy.crudclient.model;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class BulkUpdateReport {
+    private long updated;
+    private long unchanged;
+    private long notFound;
+    private List<BulkUpdateResult> results = new ArrayList<>();    // in request order
+}
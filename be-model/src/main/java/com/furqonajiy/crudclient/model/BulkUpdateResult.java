@@ -0,0 +1,13 @@
+package com.furqonajiy.crudclient.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateResult {
+    private Long id;
+    private BulkUpdateStatus status;
+}
@@ -0,0 +1,9 @@
+package com.furqonajiy.crudclient.model;
+
+/** Outcome of one item of {@code PUT /api/v1/clients/bulk}. */
+public enum BulkUpdateStatus {
+    UPDATED,
+    /** The item named no field to change. */
+    UNCHANGED,
+    NOT_FOUND
+}
@@ -3,9 +3,11 @@ package com.furqonajiy.crudclient.model;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
 @AllArgsConstructor
+@NoArgsConstructor
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class ClientDto {
     private Long id;
@@ -13,7 +15,8 @@ public class ClientDto {
     private String displayName;
     private String email;
     private String details;
-    private boolean active;
+    /** Boxed so a {@code fields} projection without it leaves it out of the JSON. */
+    private Boolean active;
     private String location;
     private String country;
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.furqonajiy.crudclient.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientIdsResponse {
+    private List<Long> ids;
+}
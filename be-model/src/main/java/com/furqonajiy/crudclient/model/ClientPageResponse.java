@@ -0,0 +1,17 @@
+package com.furqonajiy.crudclient.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ClientPageResponse {
+    private List<ClientDto> clients;
+    private String nextCursor;     // null on the last page
+}
@@ -0,0 +1,22 @@
+package com.furqonajiy.crudclient.model;
+
+import lombok.Data;
+
+/** Query parameters of {@code GET /api/v1/clients/search}; every filter is optional. */
+@Data
+public class ClientSearchRequest {
+    private String country;
+    private Boolean active;
+    /** Ranked free-text search over names, email and details; overrides {@code prefix} and {@code sort}. */
+    private String q;
+    /** Case-insensitive match on full name, display name or email. */
+    private String prefix;
+    /** {@code prefix} (default) or {@code contains}. */
+    private String match;
+    /** {@code field} or {@code field,desc}; fields: id, fullName, displayName, email, country. */
+    private String sort;
+    /** Comma-separated subset of the client fields to return; {@code id} is always included. */
+    private String fields;
+    private Integer page;
+    private Integer size;
+}
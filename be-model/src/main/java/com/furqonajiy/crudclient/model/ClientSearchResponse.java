@@ -0,0 +1,17 @@
+package com.furqonajiy.crudclient.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientSearchResponse {
+    private List<ClientDto> clients;
+    private int page;
+    private int size;
+    private boolean hasNext;       // no count query: one extra row is fetched instead
+}
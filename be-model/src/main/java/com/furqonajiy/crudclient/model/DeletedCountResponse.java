@@ -0,0 +1,12 @@
+package com.furqonajiy.crudclient.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeletedCountResponse {
+    private long deleted;
+}
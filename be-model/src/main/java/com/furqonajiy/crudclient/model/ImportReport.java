@@ -0,0 +1,15 @@
+package com.furqonajiy.crudclient.model;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ImportReport {
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private List<ImportRowError> errors = new ArrayList<>();
+    private boolean errorsTruncated;    // true when more errors occurred than are listed
+}
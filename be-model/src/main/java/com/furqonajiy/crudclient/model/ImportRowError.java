@@ -0,0 +1,13 @@
+package com.furqonajiy.crudclient.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowError {
+    private long row;           // 1-based, header is row 1 (matches spreadsheet numbering)
+    private String message;
+}
@@ -12,7 +12,7 @@ public class UpdateClientRequest {
     private String displayName;
     private String email;
     private String details;
-    private boolean active;    // boxed for nullability
+    private Boolean active;    // null leaves the flag unchanged
     private String location;
     private String country;
 }
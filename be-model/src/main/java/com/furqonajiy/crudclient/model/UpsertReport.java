@@ -0,0 +1,12 @@
+package com.furqonajiy.crudclient.model;
+
+import lombok.Data;
+
+@Data
+public class UpsertReport {
+    private long received;
+    private long inserted;
+    private long updated;
+    private long unchanged;     // existing rows that already held the same values
+    private long duplicates;    // items repeating an earlier email of the same request; the last one wins
+}
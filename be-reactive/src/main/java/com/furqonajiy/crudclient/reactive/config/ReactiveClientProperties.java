@@ -0,0 +1,31 @@
+package com.furqonajiy.crudclient.reactive.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/** Tunables under the {@code clients.*} prefix; same keys and defaults as in be-java. */
+@Data
+@ConfigurationProperties(prefix = "clients")
+public class ReactiveClientProperties {
+
+    private Page page = new Page();
+    private Events events = new Events();
+
+    @Data
+    public static class Page {
+        /** Page size used when the caller does not ask for one. */
+        private int defaultSize = 50;
+        /** Upper bound for a requested page size. */
+        private int maxSize = 500;
+    }
+
+    @Data
+    public static class Events {
+        /** Frames buffered per SSE subscriber; when full they are replaced by one RESYNC frame and the stream ends. */
+        private int queueCapacity = 256;
+        /** Comment frame sent on idle connections to detect dead ones; 0 disables. */
+        private Duration heartbeatInterval = Duration.ofSeconds(15);
+    }
+}
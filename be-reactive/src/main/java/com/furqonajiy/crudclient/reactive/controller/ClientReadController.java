@@ -0,0 +1,82 @@
+package com.furqonajiy.crudclient.reactive.controller;
+
+import com.furqonajiy.crudclient.model.ClientPageResponse;
+import com.furqonajiy.crudclient.model.ClientResponse;
+import com.furqonajiy.crudclient.reactive.eventservice.ClientEventStream;
+import com.furqonajiy.crudclient.reactive.service.ClientReadService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/** Read endpoints of {@code /api/v1/clients}, served without a thread per request. Writes stay on be-java. */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/clients")
+public class ClientReadController {
+
+    static final MediaType NDJSON = MediaType.APPLICATION_NDJSON;
+    static final MediaType CSV = MediaType.parseMediaType("text/csv");
+
+    private final ClientReadService service;
+    private final ClientEventStream events;
+
+    public ClientReadController(ClientReadService service, ClientEventStream events) {
+        this.service = service;
+        this.events = events;
+    }
+
+    @GetMapping
+    public Mono<ClientResponse> getAll() {
+        log.debug("Start Get All Clients API");
+        return service.getAllClients();
+    }
+
+    @GetMapping("/page")
+    public Mono<ClientPageResponse> getPage(@RequestParam(name = "cursor", required = false) String cursor,
+                                            @RequestParam(name = "size", required = false) Integer size,
+                                            @RequestParam(name = "country", required = false) String country,
+                                            @RequestParam(name = "active", required = false) Boolean active) {
+        log.debug("Start Get Clients Page API");
+        return service.getClientsPage(cursor, size, country, active);
+    }
+
+    /**
+     * Streams every client as NDJSON (default) or CSV. Rows are read only as fast as the client takes them.
+     * Lines are written as raw buffers, so the codec choice cannot re-encode them.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<Flux<DataBuffer>> export(@RequestParam(name = "format", defaultValue = "ndjson") String format) {
+        log.debug("Start Export Clients API ({})", format);
+        var ext = format.trim().toLowerCase(Locale.ROOT);
+        var lines = switch (ext) {
+            case "ndjson" -> service.exportNdjson();
+            case "csv" -> service.exportCsv();
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported export format: " + format);
+        };
+        return ResponseEntity.ok()
+                .contentType(ext.equals("csv") ? CSV : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"clients." + ext + "\"")
+                .body(lines.map(line -> DefaultDataBufferFactory.sharedInstance.wrap(line.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> stream() {
+        log.debug("Start SSE Subscribe API");
+        return events.subscribe();
+    }
+}
@@ -0,0 +1,13 @@
+package com.furqonajiy.crudclient.reactive.eventservice;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Committed client changes, as the JSON {@code ClientEvent} payloads that be-java publishes on its event bus.
+ * Selected with {@code clients.events.bus}, like be-java's {@code ClientEventBus}.
+ */
+public interface ClientChangeFeed {
+
+    /** Hot stream of event payloads; subscribers only see changes committed after they subscribe. */
+    Flux<String> changes();
+}
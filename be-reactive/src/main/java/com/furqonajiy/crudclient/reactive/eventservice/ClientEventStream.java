@@ -0,0 +1,78 @@
+package com.furqonajiy.crudclient.reactive.eventservice;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.furqonajiy.crudclient.reactive.config.ReactiveClientProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * SSE fan-out on Reactor. All subscribers share one {@link ClientChangeFeed}. Each gets its own bounded
+ * buffer of {@code clients.events.queue-capacity} frames. When a subscriber falls behind far enough to
+ * fill it, the backlog is discarded for a single RESYNC frame and the stream ends, so the client reloads
+ * instead of silently missing changes. Nobody else is slowed down, and no thread is parked per connection.
+ * <p>
+ * Frames are named by event type, like be-java's. Event ids and {@code Last-Event-ID} replay are
+ * not offered: a client that reconnects here reloads instead.
+ */
+@Slf4j
+@Service
+public class ClientEventStream {
+
+    /** Same name and data as be-java's RESYNC frame: the client should reload the list. */
+    static final ServerSentEvent<String> RESYNC = ServerSentEvent.builder("resync required").event("RESYNC").build();
+
+    private final ClientChangeFeed feed;
+    private final ObjectMapper mapper;
+    private final ReactiveClientProperties.Events cfg;
+
+    public ClientEventStream(ClientChangeFeed feed, ObjectMapper mapper, ReactiveClientProperties props) {
+        this.feed = feed;
+        this.mapper = mapper;
+        this.cfg = props.getEvents();
+    }
+
+    public Flux<ServerSentEvent<String>> subscribe() {
+        var init = Flux.just(ServerSentEvent.builder("connected").event("INIT").build());
+        var every = cfg.getHeartbeatInterval();
+        Flux<ServerSentEvent<String>> heartbeats = every.isZero() || every.isNegative()
+                ? Flux.empty()
+                : Flux.interval(every).map(i -> ServerSentEvent.<String>builder().comment("heartbeat").build());
+        var live = Flux.defer(() -> {
+            // the buffer drains what it holds before any error, so the overflow is flagged instead and
+            // the next frame it hands out is swapped for the RESYNC, which also cancels the backlog
+            var overflowed = new AtomicBoolean();
+            return Flux.merge(feed.changes().map(this::toFrame), heartbeats)
+                    .onBackpressureBuffer(cfg.getQueueCapacity(), dropped -> {
+                        if (overflowed.compareAndSet(false, true)) {
+                            log.debug("Slow SSE subscriber overflowed at {}, sending RESYNC", dropped.event());
+                        }
+                    }, BufferOverflowStrategy.DROP_OLDEST)
+                    .<ServerSentEvent<String>>handle((frame, out) -> {
+                        if (overflowed.get()) {
+                            out.next(RESYNC);
+                            out.complete();
+                        } else {
+                            out.next(frame);
+                        }
+                    });
+        });
+        return init.concatWith(live);
+    }
+
+    /** The payload is already the event's JSON; only its type is read to name the frame. */
+    private ServerSentEvent<String> toFrame(String json) {
+        String type;
+        try {
+            type = mapper.readTree(json).path("type").asText("MESSAGE");
+        } catch (JsonProcessingException e) {
+            type = "MESSAGE";
+        }
+        return ServerSentEvent.builder(json).event(type).build();
+    }
+}
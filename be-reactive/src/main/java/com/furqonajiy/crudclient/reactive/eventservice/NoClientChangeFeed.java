@@ -0,0 +1,19 @@
+package com.furqonajiy.crudclient.reactive.eventservice;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+/**
+ * With be-java's in-process bus, changes never leave the writing node, so this node has nothing to relay.
+ * The events stream then carries only its INIT frame and heartbeats.
+ */
+@Component
+@ConditionalOnProperty(prefix = "clients.events", name = "bus", havingValue = "in-process", matchIfMissing = true)
+public class NoClientChangeFeed implements ClientChangeFeed {
+
+    @Override
+    public Flux<String> changes() {
+        return Flux.never();
+    }
+}
@@ -0,0 +1,116 @@
+package com.furqonajiy.crudclient.reactive.eventservice;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Wrapped;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/**
+ * Listens on be-java's {@code client_events} channel ({@code LISTEN/NOTIFY}). One connection per node is
+ * held while at least one SSE client is subscribed, and is reopened with backoff when it drops. It is
+ * opened from {@code spring.r2dbc.url} outside the pool: it takes no pool slot, and closing it really
+ * closes it, so no connection goes back to the pool still listening.
+ * Payloads too large for a notification arrive as {@code {"ref": id}} and are read from
+ * {@code client_event_log}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "clients.events", name = "bus", havingValue = "postgres")
+public class PostgresClientChangeFeed implements ClientChangeFeed {
+
+    static final String CHANNEL = "client_events";
+
+    private final ObjectMapper mapper;
+    private final Flux<String> changes;
+
+    public PostgresClientChangeFeed(R2dbcProperties r2dbc, ObjectMapper mapper) {
+        this.mapper = mapper;
+        var connectionFactory = listenerConnectionFactory(r2dbc);
+        this.changes = Flux.usingWhen(Mono.from(connectionFactory.create()), this::listen, Connection::close)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(2))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        // events committed while disconnected are lost; SSE clients catch up by reloading
+                        .doBeforeRetry(s -> log.warn("Client change feed lost its connection, retrying: {}", s.failure().toString())))
+                .publish()
+                .refCount();
+    }
+
+    @Override
+    public Flux<String> changes() {
+        return changes;
+    }
+
+    /** A plain driver factory for {@code spring.r2dbc.url}; a {@code r2dbc:pool:} url drops the pool. */
+    static ConnectionFactory listenerConnectionFactory(R2dbcProperties r2dbc) {
+        var options = ConnectionFactoryOptions.parse(r2dbc.getUrl());
+        var builder = options.mutate();
+        if ("pool".equals(options.getValue(ConnectionFactoryOptions.DRIVER))) {
+            builder.option(ConnectionFactoryOptions.DRIVER, (String) options.getRequiredValue(ConnectionFactoryOptions.PROTOCOL));
+        }
+        if (r2dbc.getUsername() != null) {
+            builder.option(ConnectionFactoryOptions.USER, r2dbc.getUsername());
+        }
+        if (r2dbc.getPassword() != null) {
+            builder.option(ConnectionFactoryOptions.PASSWORD, r2dbc.getPassword());
+        }
+        return ConnectionFactories.get(builder.build());
+    }
+
+    private Flux<String> listen(Connection connection) {
+        var con = unwrap(connection);
+        return con.createStatement("LISTEN " + CHANNEL).execute()
+                .flatMap(r -> r.getRowsUpdated())
+                .doOnComplete(() -> log.info("Listening for client events on channel {}", CHANNEL))
+                .thenMany(con.getNotifications())
+                .concatMap(n -> resolve(con, n.getParameter()));
+    }
+
+    /** Inline payloads pass through; references are loaded from the event log. */
+    private Mono<String> resolve(PostgresqlConnection con, String payload) {
+        Long ref = reference(payload);
+        if (ref == null) {
+            return Mono.justOrEmpty(payload);
+        }
+        return con.createStatement("select payload from client_event_log where id = $1").bind("$1", ref).execute()
+                .flatMap(r -> r.map((row, meta) -> row.get("payload", String.class)))
+                .next()
+                .doOnError(e -> log.warn("Dropping undeliverable client event {}: {}", ref, e.toString()))
+                .onErrorResume(e -> Mono.empty());
+    }
+
+    Long reference(String payload) {
+        if (payload == null || !payload.startsWith("{\"ref\"")) {
+            return null;
+        }
+        try {
+            var node = mapper.readTree(payload);
+            return node.size() == 1 && node.has("ref") ? node.get("ref").asLong() : null;
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private static PostgresqlConnection unwrap(Connection con) {
+        Object c = con;
+        while (!(c instanceof PostgresqlConnection) && c instanceof Wrapped<?> w) {
+            c = w.unwrap();
+        }
+        if (c instanceof PostgresqlConnection pg) {
+            return pg;
+        }
+        throw new IllegalStateException("clients.events.bus=postgres needs an r2dbc:postgresql connection, got " + con);
+    }
+}
@@ -0,0 +1,29 @@
+package com.furqonajiy.crudclient.reactive.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.Map;
+
+/** Same error body as be-java's handler, so clients parse errors alike on either backend. */
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<Map<String, Object>> handleStatus(ResponseStatusException ex) {
+        var status = HttpStatus.valueOf(ex.getStatusCode().value());
+        return ResponseEntity.status(status)
+                .body(body(status, ex.getReason()));
+    }
+
+    private static Map<String, Object> body(HttpStatus status, String message) {
+        return Map.of(
+                "timestamp", Instant.now().toString(),
+                "error", status.getReasonPhrase(),
+                "message", message == null ? "" : message
+        );
+    }
+}
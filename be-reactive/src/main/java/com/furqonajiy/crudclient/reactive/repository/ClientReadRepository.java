@@ -0,0 +1,66 @@
+package com.furqonajiy.crudclient.reactive.repository;
+
+import com.furqonajiy.crudclient.model.ClientDto;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Read-only queries on the {@code clients} table, whose schema is owned by be-java's Flyway migrations.
+ * Rows are mapped straight to {@link ClientDto}; there are no entities and no persistence context.
+ */
+@Repository
+public class ClientReadRepository {
+
+    private static final String COLUMNS = "id, full_name, display_name, email, details, active, location, country";
+
+    private final DatabaseClient db;
+
+    public ClientReadRepository(DatabaseClient db) {
+        this.db = db;
+    }
+
+    /**
+     * Every row ordered by id. Rows are pulled from the driver only as fast as the subscriber
+     * requests them, so a slow client slows the read instead of filling the heap.
+     */
+    public Flux<ClientDto> findAll() {
+        return db.sql("select " + COLUMNS + " from clients order by id")
+                .map(ClientReadRepository::toDto)
+                .all();
+    }
+
+    /** Up to {@code limit} rows with an id above {@code afterId}, ordered by id; null filters are ignored. */
+    public Flux<ClientDto> findPageAfter(long afterId, String country, Boolean active, int limit) {
+        var sql = new StringBuilder("select ").append(COLUMNS).append(" from clients where id > :afterId");
+        if (country != null) {
+            sql.append(" and country = :country");
+        }
+        if (active != null) {
+            sql.append(" and active = :active");
+        }
+        sql.append(" order by id limit :limit");
+
+        var spec = db.sql(sql.toString()).bind("afterId", afterId).bind("limit", limit);
+        if (country != null) {
+            spec = spec.bind("country", country);
+        }
+        if (active != null) {
+            spec = spec.bind("active", active);
+        }
+        return spec.map(ClientReadRepository::toDto).all();
+    }
+
+    private static ClientDto toDto(Readable row) {
+        return new ClientDto(
+                row.get("id", Long.class),
+                row.get("full_name", String.class),
+                row.get("display_name", String.class),
+                row.get("email", String.class),
+                row.get("details", String.class),
+                row.get("active", Boolean.class),
+                row.get("location", String.class),
+                row.get("country", String.class));
+    }
+}
@@ -0,0 +1,103 @@
+package com.furqonajiy.crudclient.reactive.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.furqonajiy.crudclient.model.ClientDto;
+import com.furqonajiy.crudclient.model.ClientPageResponse;
+import com.furqonajiy.crudclient.model.ClientResponse;
+import com.furqonajiy.crudclient.reactive.config.ReactiveClientProperties;
+import com.furqonajiy.crudclient.reactive.repository.ClientReadRepository;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.UncheckedIOException;
+
+/** Read side of the clients API: same responses as be-java's, produced without blocking a thread. */
+@Service
+public class ClientReadService {
+
+    static final String CSV_HEADER = "id,fullName,displayName,email,details,active,location,country";
+
+    private final ClientReadRepository repo;
+    private final ReactiveClientProperties props;
+    private final ObjectMapper mapper;
+
+    public ClientReadService(ClientReadRepository repo, ReactiveClientProperties props, ObjectMapper mapper) {
+        this.repo = repo;
+        this.props = props;
+        this.mapper = mapper;
+    }
+
+    public Mono<ClientResponse> getAllClients() {
+        return repo.findAll().collectList().map(ClientResponse::new);
+    }
+
+    /** Keyset page; reads one extra row to learn whether another page follows. */
+    public Mono<ClientPageResponse> getClientsPage(String cursor, Integer size, String country, Boolean active) {
+        var pageSize = resolvePageSize(size);
+        return repo.findPageAfter(ClientCursor.decode(cursor), country, active, pageSize + 1)
+                .collectList()
+                .map(rows -> {
+                    var hasMore = rows.size() > pageSize;
+                    var page = hasMore ? rows.subList(0, pageSize) : rows;
+                    var next = hasMore ? ClientCursor.encode(page.getLast().getId()) : null;
+                    return new ClientPageResponse(page, next);
+                });
+    }
+
+    /** Every client ordered by id, one JSON object per line. */
+    public Flux<String> exportNdjson() {
+        return repo.findAll().map(c -> {
+            try {
+                return mapper.writeValueAsString(c) + "\n";
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /** Every client as CSV lines (header first), each ending in a newline. */
+    public Flux<String> exportCsv() {
+        return Flux.just(CSV_HEADER + "\n").concatWith(repo.findAll().map(ClientReadService::csvLine));
+    }
+
+    static String csvLine(ClientDto c) {
+        var sb = new StringBuilder(128);
+        sb.append(c.getId()).append(',');
+        appendCsvField(sb, c.getFullName());
+        sb.append(',');
+        appendCsvField(sb, c.getDisplayName());
+        sb.append(',');
+        appendCsvField(sb, c.getEmail());
+        sb.append(',');
+        appendCsvField(sb, c.getDetails());
+        sb.append(',').append(Boolean.TRUE.equals(c.getActive())).append(',');
+        appendCsvField(sb, c.getLocation());
+        sb.append(',');
+        appendCsvField(sb, c.getCountry());
+        return sb.append('\n').toString();
+    }
+
+    /** RFC 4180: quote when the value has a comma, quote or line break; double embedded quotes. */
+    private static void appendCsvField(StringBuilder sb, String value) {
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            sb.append(value);
+            return;
+        }
+        sb.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private int resolvePageSize(Integer size) {
+        var cfg = props.getPage();
+        if (size == null || size < 1) {
+            return cfg.getDefaultSize();
+        }
+        return Math.min(size, cfg.getMaxSize());
+    }
+}
@@ -0,0 +1,96 @@
+package com.furqonajiy.crudclient.reactive.controller;
+
+import com.furqonajiy.crudclient.model.ClientDto;
+import com.furqonajiy.crudclient.model.ClientPageResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ClientReadControllerTest {
+
+    @Autowired WebTestClient web;
+    @Autowired DatabaseClient db;
+
+    @BeforeEach
+    void seed() {
+        db.sql("delete from clients").then()
+                .thenMany(Flux.range(1, 5).concatMap(i -> db.sql("""
+                        insert into clients (id, full_name, display_name, email, details, active, location, country)
+                        values (:id, :fullName, :displayName, :email, :details, :active, 'Somewhere', :country)
+                        """)
+                        .bind("id", (long) i)
+                        .bind("fullName", "Client " + i)
+                        .bind("displayName", "C" + i)
+                        .bind("email", "c" + i + "@x.com")
+                        .bind("details", i == 1 ? "says \"hi\", twice" : "plain")
+                        .bind("active", i % 2 == 1)
+                        .bind("country", i <= 3 ? "NL" : "DE")
+                        .then()))
+                .blockLast();
+    }
+
+    @Test @DisplayName("GET /api/v1/clients -> snapshot wrapper ordered by id")
+    void getAll() {
+        web.get().uri("/api/v1/clients").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.clients.length()").isEqualTo(5)
+                .jsonPath("$.clients[0].id").isEqualTo(1)
+                .jsonPath("$.clients[0].active").isEqualTo(true);
+    }
+
+    @Test @DisplayName("GET /page walks keyset pages with filters and the be-java cursor format")
+    void pages() {
+        var first = web.get().uri("/api/v1/clients/page?size=1&country=NL&active=true").exchange()
+                .expectStatus().isOk()
+                .expectBody(ClientPageResponse.class).returnResult().getResponseBody();
+        assertThat(first.getClients()).extracting(ClientDto::getId).containsExactly(1L);
+        assertThat(first.getNextCursor()).isEqualTo("aWQ6MQ");
+
+        var second = web.get().uri("/api/v1/clients/page?size=1&country=NL&active=true&cursor=" + first.getNextCursor())
+                .exchange()
+                .expectBody(ClientPageResponse.class).returnResult().getResponseBody();
+        assertThat(second.getClients()).extracting(ClientDto::getId).containsExactly(3L);
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test @DisplayName("GET /page with a forged cursor -> 400")
+    void badCursor() {
+        web.get().uri("/api/v1/clients/page?cursor=garbage").exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Invalid cursor: garbage");
+    }
+
+    @Test @DisplayName("GET /export streams one JSON object per line")
+    void exportNdjson() {
+        var body = web.get().uri("/api/v1/clients/export").exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class).returnResult().getResponseBody();
+        assertThat(body.lines()).hasSize(5).first().asString().startsWith("{\"id\":1,");
+    }
+
+    @Test @DisplayName("GET /export?format=csv quotes fields like be-java")
+    void exportCsv() {
+        var body = web.get().uri("/api/v1/clients/export?format=csv").exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).returnResult().getResponseBody();
+        assertThat(body.lines()).hasSize(6);
+        assertThat(body.lines().toList().get(1))
+                .isEqualTo("1,Client 1,C1,c1@x.com,\"says \"\"hi\"\", twice\",true,Somewhere,NL");
+    }
+
+    @Test @DisplayName("GET /export?format=xml -> 400")
+    void exportUnknownFormat() {
+        web.get().uri("/api/v1/clients/export?format=xml").exchange().expectStatus().isBadRequest();
+    }
+}
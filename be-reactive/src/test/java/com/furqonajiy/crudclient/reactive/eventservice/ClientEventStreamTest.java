@@ -0,0 +1,67 @@
+package com.furqonajiy.crudclient.reactive.eventservice;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.furqonajiy.crudclient.reactive.config.ReactiveClientProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+class ClientEventStreamTest {
+
+    private final Sinks.Many<String> sink = Sinks.many().multicast().directBestEffort();
+
+    private ClientEventStream stream(int capacity) {
+        var props = new ReactiveClientProperties();
+        props.getEvents().setQueueCapacity(capacity);
+        props.getEvents().setHeartbeatInterval(Duration.ZERO);
+        ClientChangeFeed feed = sink::asFlux;
+        return new ClientEventStream(feed, new ObjectMapper(), props);
+    }
+
+    private static String event(String type, long id) {
+        return "{\"type\":\"" + type + "\",\"clientId\":" + id + "}";
+    }
+
+    @Test @DisplayName("INIT first, then each change named by its type with the payload as data")
+    void initThenEvents() {
+        StepVerifier.create(stream(16).subscribe())
+                .expectNextMatches(f -> "INIT".equals(f.event()) && "connected".equals(f.data()))
+                .then(() -> sink.tryEmitNext(event("CREATED", 7)))
+                .expectNextMatches(f -> "CREATED".equals(f.event()) && event("CREATED", 7).equals(f.data()))
+                .then(() -> sink.tryEmitNext("not json"))
+                .expectNextMatches(f -> "MESSAGE".equals(f.event()))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test @DisplayName("a subscriber that overflows its buffer gets one RESYNC instead of the backlog, then the stream ends")
+    void slowSubscriberGetsResync() {
+        StepVerifier.create(stream(2).subscribe(), 1)
+                .expectNextMatches(f -> "INIT".equals(f.event()))
+                .then(() -> {
+                    for (long id = 1; id <= 5; id++) {
+                        sink.tryEmitNext(event("DELETED", id));
+                    }
+                })
+                .thenRequest(10)
+                .expectNextMatches(f -> "RESYNC".equals(f.event()))
+                .verifyComplete();
+    }
+
+    @Test @DisplayName("heartbeats are comment frames")
+    void heartbeats() {
+        var props = new ReactiveClientProperties();
+        props.getEvents().setHeartbeatInterval(Duration.ofMillis(10));
+        Flux<ServerSentEvent<String>> frames = new ClientEventStream(Flux::never, new ObjectMapper(), props).subscribe();
+        StepVerifier.create(frames)
+                .expectNextMatches(f -> "INIT".equals(f.event()))
+                .expectNextMatches(f -> "heartbeat".equals(f.comment()))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+}
@@ -0,0 +1,27 @@
+package com.furqonajiy.crudclient.reactive.eventservice;
+
+import io.r2dbc.postgresql.PostgresqlConnectionFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostgresClientChangeFeedTest {
+
+    private static R2dbcProperties props(String url) {
+        var props = new R2dbcProperties();
+        props.setUrl(url);
+        props.setUsername("postgres");
+        props.setPassword("admin");
+        return props;
+    }
+
+    @Test @DisplayName("the listener connection comes from the driver, never from a pool")
+    void listenerConnectionFactory_unpooled() {
+        assertThat(PostgresClientChangeFeed.listenerConnectionFactory(props("r2dbc:postgresql://localhost:5433/postgres")))
+                .isInstanceOf(PostgresqlConnectionFactory.class);
+        assertThat(PostgresClientChangeFeed.listenerConnectionFactory(props("r2dbc:pool:postgresql://localhost:5433/postgres")))
+                .isInstanceOf(PostgresqlConnectionFactory.class);
+    }
+}
@@ -0,0 +1,11 @@
+CREATE TABLE IF NOT EXISTS clients (
+    id           BIGINT       PRIMARY KEY,
+    full_name    VARCHAR(120) NOT NULL,
+    display_name VARCHAR(80)  NOT NULL,
+    email        VARCHAR(255) NOT NULL UNIQUE,
+    details      TEXT,
+    active       BOOLEAN      NOT NULL DEFAULT FALSE,
+    location     VARCHAR(255),
+    country      VARCHAR(255),
+    version      BIGINT       NOT NULL DEFAULT 0
+);
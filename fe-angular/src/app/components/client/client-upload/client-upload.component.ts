@@ -19,6 +19,14 @@ type NewClient = {
   country: string;
 };
 
+type ImportReport = {
+  totalRows: number;
+  imported: number;
+  failed: number;
+  errors: { row: number; message: string }[];
+  errorsTruncated?: boolean;
+};
+
 /* ===== Constants ===== */
 const CLIENTS_API = 'http://localhost:8080/api/v1/clients';
 const TEMPLATE_PATH = '/assets/xlsx/client-upload-template.xlsx';
@@ -43,6 +51,8 @@ export class ClientUploadComponent {
 
   /* ===== State (signals) ===== */
   readonly fileName = signal<string>('');
+  // The original upload; the server parses and imports it in one request
+  private file: File | null = null;
   readonly rows = signal<NewClient[]>([]);
   readonly loading = signal(false);
   readonly imported = signal(0);
@@ -63,6 +73,7 @@ export class ClientUploadComponent {
     const file = (e.target as HTMLInputElement).files?.[0];
     if (!file) return;
 
+    this.file = file;
     this.fileName.set(file.name);
 
     try {
@@ -150,35 +161,28 @@ export class ClientUploadComponent {
   }
 
   /* ===== Import API ===== */
+  // One multipart request: the backend streams, validates and commits in chunks
   async importNow() {
-    if (!this.canImport()) return;
+    if (!this.canImport() || !this.file) return;
 
     this.loading.set(true);
-    const data = this.rows();
+    const form = new FormData();
+    form.append('file', this.file, this.file.name);
 
-    // 1) Try bulk
     try {
-      await firstValueFrom(this.http.post(`${CLIENTS_API}/bulk`, data));
-      this.imported.set(data.length);
-      this.toast(`Imported ${data.length} clients (bulk)`, 3000);
-      this.ref.close(true);
-      return;
-    } catch {
-      // 2) Fallback: sequential create
-      try {
-        let done = 0;
-        for (const row of data) {
-          await firstValueFrom(this.http.post(CLIENTS_API, row));
-          this.imported.set(++done);
-        }
-        this.toast(`Imported ${this.imported()} clients`, 3000);
-        this.ref.close(true);
-      } catch (err) {
-        console.error(err);
-        this.toast('Import failed. Please check your data.');
-      } finally {
-        this.loading.set(false);
+      const report = await firstValueFrom(this.http.post<ImportReport>(`${CLIENTS_API}/import`, form));
+      this.imported.set(report.imported);
+      if (report.failed > 0) {
+        const first = report.errors[0];
+        const detail = first ? ` (row ${first.row}: ${first.message})` : '';
+        this.toast(`Imported ${report.imported} clients, ${report.failed} failed${detail}`, 6000);
+      } else {
+        this.toast(`Imported ${report.imported} clients`, 3000);
       }
+      if (report.imported > 0) this.ref.close(true);
+    } catch (err) {
+      console.error(err);
+      this.toast('Import failed. Please check your data.');
     } finally {
       this.loading.set(false);
     }
@@ -44,11 +44,13 @@ export interface Client {
 interface ClientsResponse { clients: Client[]; }
 
 type ClientEventMsg = {
-  type: 'CREATED' | 'UPDATED' | 'DELETED';
+  type: 'CREATED' | 'UPDATED' | 'DELETED' | 'BATCH';
   clientId?: number;
   displayName?: string;
   message?: string;
   at?: string;
+  client?: Client;            // CREATED / UPDATED: the committed row
+  changes?: ClientEventMsg[]; // BATCH only
 };
 
 // ===== Constants =====
@@ -131,6 +133,7 @@ export class ClientComponent implements OnInit, AfterViewInit, OnDestroy {
 
   // ===== Realtime (SSE) =====
   private es?: EventSource;
+  private lastEventId?: string;
 
   // ===== DI (inject() – idiomatic in v17) =====
   private readonly http = inject(HttpClient);
@@ -172,16 +175,26 @@ export class ClientComponent implements OnInit, AfterViewInit, OnDestroy {
 
   // ===== Realtime SSE =====
   private connectToEvents(): void {
-    const es = new EventSource(CLIENTS_EVENTS);
+    // a new EventSource does not send Last-Event-ID by itself, so resume through the query param
+    const url = this.lastEventId
+      ? `${CLIENTS_EVENTS}?lastEventId=${encodeURIComponent(this.lastEventId)}`
+      : CLIENTS_EVENTS;
+    const es = new EventSource(url);
 
     const parse = (e: MessageEvent): ClientEventMsg | null => {
+      if (e.lastEventId) this.lastEventId = e.lastEventId;
       try { return JSON.parse(e.data) as ClientEventMsg; } catch { return null; }
     };
     const run = (fn: () => void) => this.zone.run(fn);
 
     es.addEventListener('INIT', () => { /* connected */ });
+    // missed more than the server can replay (or we were too slow): reload the list
+    es.addEventListener('RESYNC', (e: MessageEvent) => {
+      if (e.lastEventId) this.lastEventId = e.lastEventId;
+      run(() => this.refresh());
+    });
 
-    for (const name of ['CREATED', 'UPDATED', 'DELETED'] as const) {
+    for (const name of ['CREATED', 'UPDATED', 'DELETED', 'BATCH'] as const) {
       es.addEventListener(name, (e: MessageEvent) => {
         const ev = parse(e); if (!ev) return;
         run(() => this.handleEvent(ev));
@@ -208,24 +221,69 @@ export class ClientComponent implements OnInit, AfterViewInit, OnDestroy {
       case 'CREATED': {
         const name = ev.displayName ? `: ${ev.displayName}` : '';
         this.showSnack(`New client added${name}`, 'View');
-        this.refresh({ goLast: true });
+        this.sync([ev], { goLast: true });
         break;
       }
       case 'UPDATED': {
         const name = ev.displayName ? `: ${ev.displayName}` : '';
         this.showSnack(`Client updated${name}`);
-        this.refresh({ keepPage: true });
+        this.sync([ev], { keepPage: true });
         break;
       }
       case 'DELETED': {
         const idPart = ev.clientId ? ` #${ev.clientId}` : '';
         this.showSnack(`Client deleted${idPart}`);
-        this.refresh({ keepPage: true });
+        this.sync([ev], { keepPage: true });
+        break;
+      }
+      case 'BATCH': {
+        // one snack and one table update for the whole burst
+        const changes = ev.changes ?? [];
+        if (changes.length === 1) { this.handleEvent(changes[0]); break; }
+        const created = changes.filter(c => c.type === 'CREATED').length;
+        const updated = changes.filter(c => c.type === 'UPDATED').length;
+        const deleted = changes.filter(c => c.type === 'DELETED').length;
+        const parts = [
+          created ? `${created} added` : '',
+          updated ? `${updated} updated` : '',
+          deleted ? `${deleted} deleted` : '',
+        ].filter(Boolean);
+        this.showSnack(`Clients changed: ${parts.join(', ')}`);
+        this.sync(changes, { keepPage: true, goLast: created > 0 && !deleted });
         break;
       }
     }
   }
 
+  /** Patches the local list from the event payloads; reloads only if an event carries no row. */
+  private sync(changes: ClientEventMsg[], reloadOpts: { keepPage?: boolean; goLast?: boolean }): void {
+    const upserts = new Map<number, Client>();
+    const deletes = new Set<number>();
+    for (const c of changes) {
+      if ((c.type === 'CREATED' || c.type === 'UPDATED') && c.client) {
+        upserts.set(c.client.id, c.client);
+        deletes.delete(c.client.id);
+      } else if (c.type === 'DELETED' && c.clientId != null) {
+        deletes.add(c.clientId);
+        upserts.delete(c.clientId);
+      } else {
+        this.refresh(reloadOpts);
+        return;
+      }
+    }
+    this.allClients.update(list => {
+      const next = list
+        .filter(row => !deletes.has(row.id))
+        .map(row => {
+          const u = upserts.get(row.id);
+          if (u) upserts.delete(row.id);
+          return u ?? row;
+        });
+      // whatever is left is new; the list is kept in id order like GET /clients
+      return upserts.size ? [...next, ...upserts.values()].sort((a, b) => a.id - b.id) : next;
+    });
+  }
+
   // ===== Data loading =====
   private loadClients(opts: { keepPage?: boolean; goLast?: boolean } = {}): void {
     const prevIndex = this.paginator()?.pageIndex ?? 0;